@@ -0,0 +1,202 @@
+package com.Gaming.Backend.benchmark;
+
+import com.Gaming.Backend.BackendApplication;
+import com.Gaming.Backend.security.JwtTokenProvider;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency percentiles of the hot read endpoints against the synthetic dataset
+ *
+ * Boots the application with the "synthetic" profile (generating the H2 dataset on first use,
+ * see application-synthetic.properties) and calls each endpoint over HTTP as random users with
+ * random games. SampleTime reports p50/p90/p99/p99.9 per endpoint; on teardown the SQL statements
+ * per request recorded by SqlStatementCountFilter are printed per route as well.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="EndpointBenchmark -t 4"
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="EndpointBenchmark.forYou -t 8 -jvmArgs -Dsynthetic.users=20000"
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class EndpointBenchmark {
+
+    private static final String[] GENRES = {"Action", "RPG", "Strategy", "Shooter", "Puzzle", "Horror"};
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        ConfigurableApplicationContext context;
+        HttpClient client;
+        String baseUrl;
+        long[] userIds;
+        String[] tokens;
+        long[] gameIds;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(BackendApplication.class)
+                    .profiles("synthetic")
+                    // Lazy repositories: UserAchievementRepository's derived query doesn't validate yet
+                    .run("--server.port=0",
+                            "--spring.data.jpa.repositories.bootstrap-mode=lazy",
+                            "--spring.devtools.restart.enabled=false",
+                            "--logging.level.root=WARN");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            JwtTokenProvider tokenProvider = context.getBean(JwtTokenProvider.class);
+            userIds = jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM user_activity", Long.class)
+                    .stream().mapToLong(Long::longValue).toArray();
+            tokens = new String[userIds.length];
+            for (int i = 0; i < userIds.length; i++) {
+                tokens[i] = tokenProvider.generateTokenFromUserId(userIds[i]);
+            }
+            gameIds = jdbcTemplate.queryForList("SELECT id FROM games WHERE active = TRUE", Long.class)
+                    .stream().mapToLong(Long::longValue).toArray();
+            if (userIds.length == 0 || gameIds.length == 0) {
+                throw new IllegalStateException("No synthetic users or games; is the synthetic profile's database empty?");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            System.out.println();
+            System.out.println("SQL statements per request");
+            registry.find("http.server.sql.statements").summaries().stream()
+                    .sorted(Comparator.comparing((DistributionSummary summary) -> summary.getId().getTag("uri")))
+                    .forEach(summary -> System.out.printf("  %-60s mean %6.2f  max %4.0f  (%d requests)%n",
+                            summary.getId().getTag("method") + " " + summary.getId().getTag("uri"),
+                            summary.mean(), summary.max(), summary.count()));
+            context.close();
+        }
+    }
+
+    /**
+     * Per-thread random user and game, seeded so runs pick the same sequence
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private static int threads;
+        private final SplittableRandom random = new SplittableRandom(42 + nextThread());
+
+        int user;
+        long gameId;
+
+        private static synchronized int nextThread() {
+            return threads++;
+        }
+
+        @Setup(Level.Invocation)
+        public void pick(Application application) {
+            user = random.nextInt(application.userIds.length);
+            gameId = application.gameIds[random.nextInt(application.gameIds.length)];
+        }
+
+        String genre() {
+            return GENRES[random.nextInt(GENRES.length)];
+        }
+    }
+
+    @Benchmark
+    public int home(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/api/recommendations/home");
+    }
+
+    @Benchmark
+    public int forYou(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/api/recommendations/for-you");
+    }
+
+    @Benchmark
+    public int continuePlaying(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/api/recommendations/continue-playing");
+    }
+
+    @Benchmark
+    public int becauseYouViewed(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/api/recommendations/because-you-viewed/" + caller.gameId);
+    }
+
+    @Benchmark
+    public int personalizedDeals(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/api/recommendations/personalized-deals");
+    }
+
+    @Benchmark
+    public int trending(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/api/recommendations/trending");
+    }
+
+    @Benchmark
+    public int catalogPage(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/games?page=" + caller.gameId % 20 + "&size=12");
+    }
+
+    @Benchmark
+    public int gameDetails(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/games/" + caller.gameId);
+    }
+
+    @Benchmark
+    public int similar(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/games/" + caller.gameId + "/similar");
+    }
+
+    @Benchmark
+    public int search(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/games/search?keyword=" + encode(caller.genre()));
+    }
+
+    @Benchmark
+    public int filter(Application application, Caller caller) throws Exception {
+        return get(application, caller, "/games/filter?onSale=true&genre=" + encode(caller.genre()));
+    }
+
+    private static int get(Application application, Caller caller, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(application.baseUrl + path))
+                .header("Authorization", "Bearer " + application.tokens[caller.user])
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = application.client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " answered " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,157 @@
+package com.Gaming.Backend.benchmark;
+
+import com.Gaming.Backend.dto.game.GameDTO;
+import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.entity.Publisher;
+import com.Gaming.Backend.mapper.GameMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a page of games with the old ModelMapper setup and with {@link GameMapper}
+ * Run with -prof gc to compare allocation per operation as well as throughput
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameMapperBenchmark {
+
+    @Param({"12", "48"})
+    int pageSize;
+
+    private List<Game> games;
+    private ModelMapper modelMapper;
+    private GameMapper gameMapper;
+
+    @Setup
+    public void setUp() {
+        // Same configuration the application used before the hand-written mappers
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true);
+        gameMapper = new GameMapper();
+
+        games = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            games.add(game(i));
+        }
+        for (Game game : games) {
+            if (!modelMapperCatalog(game).equals(gameMapper.toDTO(game))
+                    || !modelMapperCard(game).equals(gameMapper.toCardDTO(game))) {
+                throw new IllegalStateException("Mappers disagree for game " + game.getId());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<GameDTO> catalogModelMapper() {
+        List<GameDTO> page = new ArrayList<>(games.size());
+        for (Game game : games) {
+            page.add(modelMapperCatalog(game));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<GameDTO> catalogHandWritten() {
+        List<GameDTO> page = new ArrayList<>(games.size());
+        for (Game game : games) {
+            page.add(gameMapper.toDTO(game));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<com.Gaming.Backend.dto.GameDTO> cardModelMapper() {
+        List<com.Gaming.Backend.dto.GameDTO> page = new ArrayList<>(games.size());
+        for (Game game : games) {
+            page.add(modelMapperCard(game));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<com.Gaming.Backend.dto.GameDTO> cardHandWritten() {
+        List<com.Gaming.Backend.dto.GameDTO> page = new ArrayList<>(games.size());
+        for (Game game : games) {
+            page.add(gameMapper.toCardDTO(game));
+        }
+        return page;
+    }
+
+    /**
+     * The former GameService.convertToDTO
+     */
+    private GameDTO modelMapperCatalog(Game game) {
+        GameDTO dto = modelMapper.map(game, GameDTO.class);
+        dto.setDiscountedPrice(game.getDiscountedPrice());
+        if (game.getPublisher() != null) {
+            dto.setPublisherName(game.getPublisher().getName());
+        }
+        return dto;
+    }
+
+    /**
+     * The former RecommendationService.convertToDTO
+     */
+    private com.Gaming.Backend.dto.GameDTO modelMapperCard(Game game) {
+        com.Gaming.Backend.dto.GameDTO dto = modelMapper.map(game, com.Gaming.Backend.dto.GameDTO.class);
+        if (game.getPublisher() != null) {
+            dto.setPublisher(game.getPublisher().getName());
+        }
+        if (game.getImages() != null && !game.getImages().isEmpty()) {
+            dto.setImageUrl(game.getImages().iterator().next());
+        }
+        dto.setRating(game.getAverageRating());
+        dto.setReviewCount(game.getReviewCount());
+        dto.setEffectivePrice(game.getDiscountedPrice());
+        return dto;
+    }
+
+    private static Game game(int i) {
+        Publisher publisher = new Publisher();
+        publisher.setId((long) (i % 5));
+        publisher.setName("Publisher " + (i % 5));
+
+        Game game = new Game();
+        game.setId((long) i);
+        game.setTitle("Game " + i);
+        game.setDescription("Description of game " + i);
+        game.setPrice(10.0 + i);
+        game.setDiscount(i % 3 == 0 ? 25.0 : 0.0);
+        game.setGenre(i % 2 == 0 ? "RPG" : "Action");
+        game.setTags(new HashSet<>(List.of("tag" + (i % 7), "tag" + (i % 11), "multiplayer")));
+        game.setPublisher(publisher);
+        game.setReleaseDate(LocalDate.of(2024, 1, 1).plusDays(i));
+        game.setImages(new HashSet<>(Set.of("https://cdn.example.com/" + i + "/cover.jpg")));
+        game.setTrailerLink("https://video.example.com/" + i);
+        game.setDownloads(i * 100);
+        game.setAverageRating(3.5 + (i % 3) * 0.5);
+        game.setReviewCount(i * 3);
+        game.setFeatured(i % 4 == 0);
+        game.setEditorPick(i % 6 == 0);
+        return game;
+    }
+}
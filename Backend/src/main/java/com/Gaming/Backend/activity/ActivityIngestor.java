@@ -0,0 +1,334 @@
+package com.Gaming.Backend.activity;
+
+import com.Gaming.Backend.catalog.GameMetadataIndex;
+import com.Gaming.Backend.event.UserActivityEvent;
+import com.Gaming.Backend.repository.GameRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind ingestion of tracked user activity
+ *
+ * Tracking only enqueues the activity. A single flusher thread drains the bounded queue in batches
+ * and, in one transaction per batch, looks up the games' genres in the {@link GameMetadataIndex}
+ * (one query for any it doesn't know yet), inserts the user_activity rows with a JDBC batch and publishes the {@link UserActivityEvent}s, so listeners
+ * still see activity after it is committed; committed activities are then counted towards genre
+ * preferences by the {@link GenrePreferenceAggregator}. A batch is written once
+ * activity.ingest.batch-size activities are queued or activity.ingest.linger after its first one;
+ * activities still queued on shutdown are written before the datasource closes.
+ *
+ * When the queue is full, activity.ingest.overflow decides what gives: DROP_NEWEST drops the
+ * incoming activity, DROP_OLDEST the oldest queued one, BLOCK waits up to
+ * activity.ingest.block-timeout for room before dropping the incoming one, and REJECT tells the
+ * client to retry later. Metrics: activity.ingest.queue.depth, activity.ingest.flush,
+ * activity.ingest.batch.size and activity.ingest.dropped (by reason).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityIngestor {
+
+    private static final String INSERT_ACTIVITY =
+            "INSERT INTO user_activity (user_id, game_id, activity_type, timestamp) VALUES (?, ?, ?, ?)";
+    // How often an idle flusher checks whether it should stop
+    private static final long IDLE_POLL_MS = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GameRepository gameRepository;
+    private final GameMetadataIndex gameMetadataIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GenrePreferenceAggregator genrePreferenceAggregator;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Value("${activity.ingest.capacity:50000}")
+    private final int capacity;
+
+    @Value("${activity.ingest.batch-size:500}")
+    private final int batchSize;
+
+    @Value("${activity.ingest.linger:50ms}")
+    private final Duration linger;
+
+    @Value("${activity.ingest.overflow:DROP_NEWEST}")
+    private final OverflowPolicy overflow;
+
+    @Value("${activity.ingest.block-timeout:100ms}")
+    private final Duration blockTimeout;
+
+    private BlockingQueue<PendingActivity> queue;
+    private Thread flusher;
+    private volatile boolean running;
+    private Timer flushTimer;
+    private DistributionSummary batchSizes;
+    private final Map<DropReason, Counter> dropped = new EnumMap<>(DropReason.class);
+
+    public enum OverflowPolicy {
+        DROP_NEWEST, DROP_OLDEST, BLOCK, REJECT
+    }
+
+    /**
+     * What became of a submitted activity
+     */
+    public enum Admission {
+        ACCEPTED, DROPPED, REJECTED
+    }
+
+    private enum DropReason {
+        EVICTED, OVERFLOW, REJECTED, FAILED
+    }
+
+    record PendingActivity(Long userId, Long gameId, String activityType, LocalDateTime timestamp) {
+    }
+
+    @PostConstruct
+    public void start() {
+        open();
+        running = true;
+        flusher = Thread.ofPlatform().name("activity-flusher").daemon().start(this::run);
+    }
+
+    /**
+     * Create the queue and register the meters, without starting the flusher
+     */
+    void open() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        Gauge.builder("activity.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Tracked activities waiting to be written")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("activity.ingest.flush")
+                .description("Time to write one batch of tracked activities")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("activity.ingest.batch.size")
+                .description("Tracked activities written per batch")
+                .register(meterRegistry);
+        for (DropReason reason : DropReason.values()) {
+            dropped.put(reason, Counter.builder("activity.ingest.dropped")
+                    .description("Tracked activities not written")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * The queue the flusher drains, for tests that stand in for it
+     */
+    BlockingQueue<PendingActivity> queue() {
+        return queue;
+    }
+
+    /**
+     * Queue an activity for writing; returns at once unless the queue is full and the policy is BLOCK
+     */
+    public Admission submit(Long userId, Long gameId, String activityType) {
+        PendingActivity activity = new PendingActivity(userId, gameId, activityType, LocalDateTime.now(clock));
+        if (queue.offer(activity)) {
+            return Admission.ACCEPTED;
+        }
+        switch (overflow) {
+            case DROP_OLDEST -> {
+                // Another producer may take the freed slot first, then this activity is dropped after all
+                if (queue.poll() != null) {
+                    dropped.get(DropReason.EVICTED).increment();
+                }
+                if (queue.offer(activity)) {
+                    return Admission.ACCEPTED;
+                }
+            }
+            case BLOCK -> {
+                try {
+                    if (queue.offer(activity, blockTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        return Admission.ACCEPTED;
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            case REJECT -> {
+                dropped.get(DropReason.REJECTED).increment();
+                return Admission.REJECTED;
+            }
+            case DROP_NEWEST -> {
+            }
+        }
+        dropped.get(DropReason.OVERFLOW).increment();
+        return Admission.DROPPED;
+    }
+
+    private void run() {
+        List<PendingActivity> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingActivity first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingActivity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Write a batch; if that fails, write its activities one by one so one bad row doesn't lose the rest
+     */
+    private void flush(List<PendingActivity> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            countPreferences(batch, transactionTemplate.execute(status -> write(batch)));
+        } catch (RuntimeException ex) {
+            log.warn("Writing {} activities failed, retrying them one at a time", batch.size(), ex);
+            for (PendingActivity activity : batch) {
+                try {
+                    List<PendingActivity> single = List.of(activity);
+                    countPreferences(single, transactionTemplate.execute(status -> write(single)));
+                } catch (RuntimeException failure) {
+                    dropped.get(DropReason.FAILED).increment();
+                    log.warn("Dropping {} activity of user {} on game {}: {}", activity.activityType(),
+                            activity.userId(), activity.gameId(), failure.getMessage());
+                }
+            }
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+    }
+
+    /**
+     * Insert the batch's rows and publish its events; returns the activity genres for preference counting
+     */
+    private List<String> write(List<PendingActivity> batch) {
+        Map<Long, String> genres = genres(batch);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_ACTIVITY, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PendingActivity activity = batch.get(i);
+                        ps.setLong(1, activity.userId());
+                        ps.setLong(2, activity.gameId());
+                        ps.setString(3, activity.activityType());
+                        ps.setTimestamp(4, Timestamp.valueOf(activity.timestamp()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keys);
+
+        List<String> activityGenres = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingActivity activity = batch.get(i);
+            String genre = genres.get(activity.gameId());
+            activityGenres.add(genre);
+            // Drivers name the generated key differently (ID, GENERATED_KEY), there is only one
+            Long activityId = ((Number) keys.getKeyList().get(i).values().iterator().next()).longValue();
+            // Delivered to the @TransactionalEventListeners once this batch commits
+            eventPublisher.publishEvent(new UserActivityEvent(activityId, activity.userId(), activity.gameId(),
+                    activity.activityType(), genre, activity.timestamp()));
+        }
+        return activityGenres;
+    }
+
+    /**
+     * Count committed activities towards their user's genre preferences
+     */
+    private void countPreferences(List<PendingActivity> batch, List<String> genres) {
+        for (int i = 0; i < batch.size(); i++) {
+            String genre = genres.get(i);
+            if (genre != null && !genre.isEmpty()) {
+                genrePreferenceAggregator.add(batch.get(i).userId(), genre, 1);
+            }
+        }
+    }
+
+    /**
+     * Genres of the batch's games from the metadata dictionary; games it doesn't know are looked up in SQL
+     */
+    private Map<Long, String> genres(List<PendingActivity> batch) {
+        Map<Long, String> genres = new HashMap<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long gameId : batch.stream().map(PendingActivity::gameId).distinct().toList()) {
+            GameMetadataIndex.GameMetadata metadata = gameMetadataIndex.get(gameId);
+            if (metadata != null) {
+                genres.put(gameId, metadata.genre());
+            } else {
+                unknown.add(gameId);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (Object[] row : gameRepository.findGenresByIdIn(unknown)) {
+                genres.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return genres;
+    }
+
+    /**
+     * Stop the flusher, then write whatever is still queued
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join();
+        List<PendingActivity> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+        log.info("Activity ingestion stopped");
+    }
+}
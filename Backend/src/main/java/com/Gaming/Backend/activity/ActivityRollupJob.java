@@ -0,0 +1,237 @@
+package com.Gaming.Backend.activity;
+
+import com.Gaming.Backend.config.SchedulingConfig;
+import com.Gaming.Backend.entity.JobWatermark;
+import com.Gaming.Backend.repository.JobWatermarkRepository;
+import com.Gaming.Backend.repository.UserActivityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily rollups of user_activity and retention of its raw rows
+ *
+ * Every activity.rollup.interval-ms the rows past the watermark are counted per game, day and
+ * type into game_activity_daily and per user, genre and day into user_genre_activity_daily.
+ * Each range of activity.rollup.batch-size IDs is upserted (count = count + n) in one transaction
+ * that locks the watermark row first (SELECT ... FOR UPDATE) and moves it last, so runs on
+ * several instances take turns and every row is counted exactly once. The watermark never passes
+ * rows that may still be in flight: it only moves up to the highest ID seen at least
+ * activity.rollup.safety-lag ago (see {@link RollupHorizon}). Readers take the rollups up to
+ * {@link #rolledUpTo()}, read from the watermark row, and the raw rows after it.
+ *
+ * Every activity.retention.purge-interval-ms raw rows older than activity.retention.days (and
+ * already rolled up) are deleted, activity.retention.chunk-size rows per statement with a short
+ * pause in between, so no delete holds locks for long; a run stops after
+ * activity.retention.max-run-time and the next one carries on. Both jobs run on their own
+ * scheduler thread. Metrics: activity.rollup and activity.retention.purged.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityRollupJob {
+
+    public static final String JOB_NAME = "activity-rollup";
+
+    private static final String GAME_DAY_COUNTS =
+            "SELECT ua.game_id, CAST(ua.timestamp AS DATE), ua.activity_type, COUNT(*) FROM user_activity ua " +
+            "WHERE ua.id > ? AND ua.id <= ? GROUP BY ua.game_id, CAST(ua.timestamp AS DATE), ua.activity_type";
+    private static final String USER_GENRE_DAY_COUNTS =
+            "SELECT ua.user_id, g.genre, CAST(ua.timestamp AS DATE), COUNT(*) FROM user_activity ua " +
+            "JOIN games g ON g.id = ua.game_id WHERE ua.id > ? AND ua.id <= ? AND g.genre IS NOT NULL " +
+            "GROUP BY ua.user_id, g.genre, CAST(ua.timestamp AS DATE)";
+    // Last ID of the oldest chunk of purgeable rows (MySQL allows LIMIT in a derived table, not in IN)
+    private static final String PURGE_CHUNK_END =
+            "SELECT MAX(oldest.id) FROM (SELECT ua.id FROM user_activity ua WHERE ua.id <= ? AND ua.timestamp < ? " +
+            "ORDER BY ua.id LIMIT ?) oldest";
+    private static final String PURGE_CHUNK =
+            "DELETE FROM user_activity WHERE id <= ? AND timestamp < ?";
+    private static final int UPSERT_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserActivityRepository userActivityRepository;
+    private final JobWatermarkRepository jobWatermarkRepository;
+    private final UpsertStatements upsertStatements;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${activity.rollup.batch-size:50000}")
+    private int batchSize;
+
+    @Value("${activity.rollup.safety-lag:1m}")
+    private Duration safetyLag;
+
+    @Value("${activity.retention.days:120}")
+    private int retentionDays;
+
+    @Value("${activity.retention.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${activity.retention.chunk-pause:100ms}")
+    private Duration chunkPause;
+
+    @Value("${activity.retention.max-run-time:10m}")
+    private Duration maxPurgeTime;
+
+    private RollupHorizon horizon;
+    private String upsertGameDay;
+    private String upsertUserGenreDay;
+    private Timer rollupTimer;
+    private Counter purged;
+
+    @PostConstruct
+    public void init() {
+        horizon = new RollupHorizon(safetyLag);
+        upsertGameDay = upsertStatements.upsert("game_activity_daily",
+                List.of("game_id", "activity_date", "activity_type", "activity_count"),
+                List.of("activity_count"), List.of());
+        upsertUserGenreDay = upsertStatements.upsert("user_genre_activity_daily",
+                List.of("user_id", "genre", "activity_date", "activity_count"),
+                List.of("activity_count"), List.of());
+        rollupTimer = Timer.builder("activity.rollup")
+                .description("Time to roll up new user activity into the daily counts")
+                .register(meterRegistry);
+        purged = Counter.builder("activity.retention.purged")
+                .description("Raw user_activity rows deleted past the retention horizon")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Highest user_activity ID counted in the rollups (0 before the first run)
+     * Read from the watermark row every time, since a run on another instance may have moved it
+     */
+    public long rolledUpTo() {
+        return jobWatermarkRepository.findById(JOB_NAME)
+                .map(JobWatermark::getLastId)
+                .orElse(0L);
+    }
+
+    @Scheduled(fixedDelayString = "${activity.rollup.interval-ms:300000}",
+            initialDelayString = "${activity.rollup.initial-delay-ms:30000}",
+            scheduler = SchedulingConfig.ACTIVITY_MAINTENANCE_SCHEDULER)
+    public void rollUp() {
+        long start = System.nanoTime();
+        Long maxId = userActivityRepository.findMaxId();
+        long last = horizon.observe(maxId != null ? maxId : 0L, System.currentTimeMillis());
+        if (last <= rolledUpTo()) {
+            return;
+        }
+        createWatermark();
+        long first = -1;
+        Long rolled;
+        while ((rolled = transactionTemplate.execute(status -> rollUpNextRange(last))) != null) {
+            first = first < 0 ? rolled : first;
+        }
+        if (first < 0) {
+            return; // Another instance got there first
+        }
+        long elapsed = System.nanoTime() - start;
+        rollupTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Rolled up user activity {} to {} in {} ms", first, last, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Roll up the next range below last under the watermark row lock, returning where it started
+     * (null once the watermark has reached last)
+     */
+    private Long rollUpNextRange(long last) {
+        JobWatermark watermark = jobWatermarkRepository.findForUpdate(JOB_NAME)
+                .orElseThrow(() -> new IllegalStateException("Watermark row missing: " + JOB_NAME));
+        long after = watermark.getLastId();
+        if (after >= last) {
+            return null;
+        }
+        long upTo = Math.min(last, after + batchSize);
+        rollUp(after, upTo);
+        watermark.setLastId(upTo);
+        watermark.setUpdatedAt(LocalDateTime.now());
+        return after;
+    }
+
+    /**
+     * Insert the watermark row at 0 if no run has yet, so there is always a row to lock
+     */
+    private void createWatermark() {
+        if (jobWatermarkRepository.existsById(JOB_NAME)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jobWatermarkRepository.saveAndFlush(new JobWatermark(JOB_NAME, 0L, LocalDateTime.now())));
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Watermark {} created concurrently", JOB_NAME);
+        }
+    }
+
+    private void rollUp(long after, long upTo) {
+        List<Object[]> gameDays = jdbcTemplate.query(GAME_DAY_COUNTS, (rs, rowNum) -> new Object[]{
+                rs.getLong(1), rs.getDate(2), rs.getString(3), rs.getLong(4)}, after, upTo);
+        jdbcTemplate.batchUpdate(upsertGameDay, gameDays, UPSERT_BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, (Long) row[0]);
+            ps.setDate(2, (Date) row[1]);
+            ps.setString(3, (String) row[2]);
+            ps.setLong(4, (Long) row[3]);
+        });
+
+        List<Object[]> userGenreDays = jdbcTemplate.query(USER_GENRE_DAY_COUNTS, (rs, rowNum) -> new Object[]{
+                rs.getLong(1), rs.getString(2), rs.getDate(3), rs.getLong(4)}, after, upTo);
+        jdbcTemplate.batchUpdate(upsertUserGenreDay, userGenreDays, UPSERT_BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, (Long) row[0]);
+            ps.setString(2, (String) row[1]);
+            ps.setDate(3, (Date) row[2]);
+            ps.setLong(4, (Long) row[3]);
+        });
+    }
+
+    /**
+     * Delete raw rows past the retention horizon, oldest first, one bounded chunk per statement,
+     * until none are left or the run has taken activity.retention.max-run-time
+     */
+    @Scheduled(fixedDelayString = "${activity.retention.purge-interval-ms:3600000}",
+            initialDelayString = "${activity.retention.initial-delay-ms:120000}",
+            scheduler = SchedulingConfig.ACTIVITY_MAINTENANCE_SCHEDULER)
+    public void purge() {
+        long start = System.currentTimeMillis();
+        long deadline = start + maxPurgeTime.toMillis();
+        Timestamp cutoff = Timestamp.valueOf(LocalDate.now().minusDays(retentionDays).atStartOfDay());
+        // Rows not rolled up yet are kept, whatever their age
+        long rolledUp = rolledUpTo();
+        int deleted = 0;
+        Long chunkEnd;
+        while ((chunkEnd = jdbcTemplate.queryForObject(PURGE_CHUNK_END, Long.class, rolledUp, cutoff, chunkSize)) != null) {
+            int chunk = jdbcTemplate.update(PURGE_CHUNK, chunkEnd, cutoff);
+            deleted += chunk;
+            purged.increment(chunk);
+            if (System.currentTimeMillis() >= deadline) {
+                log.info("Purge stopped after {} ms, the next run carries on", maxPurgeTime.toMillis());
+                break;
+            }
+            try {
+                Thread.sleep(chunkPause);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (deleted > 0) {
+            log.info("Purged {} user activities before {} in {} ms", deleted, cutoff, System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.Gaming.Backend.activity;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory genre preference counts, written to user_game_preference as batched upserts
+ *
+ * Interactions are added to counters keyed by (user, genre), spread over lock stripes so
+ * concurrent writers rarely meet. Every activity.preferences.flush-interval-ms the stripes are
+ * swapped for empty ones and each key is written once with an {@link UpsertStatements upsert}
+ * that adds n to interaction_count, so counts are
+ * exact without reading the row first. A flush is one transaction; if it fails its counts are
+ * added back for the next one. Whatever is pending on shutdown is flushed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GenrePreferenceAggregator {
+
+    private static final int STRIPES = 16;
+    private static final int UPSERT_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UpsertStatements upsertStatements;
+    private final MeterRegistry meterRegistry;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private String upsertPreference;
+    private Timer flushTimer;
+
+    private record PreferenceKey(Long userId, String genre) {
+    }
+
+    /**
+     * Pending counts of the keys hashing to one stripe
+     */
+    private static class Stripe {
+
+        private Map<PreferenceKey, Integer> counts = new HashMap<>();
+
+        synchronized void add(PreferenceKey key, int count) {
+            counts.merge(key, count, Integer::sum);
+        }
+
+        synchronized Map<PreferenceKey, Integer> drain() {
+            Map<PreferenceKey, Integer> drained = counts;
+            counts = new HashMap<>();
+            return drained;
+        }
+
+        synchronized int size() {
+            return counts.size();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        upsertPreference = upsertStatements.upsert("user_game_preference",
+                List.of("user_id", "genre", "interaction_count", "last_updated"),
+                List.of("interaction_count"), List.of("last_updated"));
+        Gauge.builder("activity.preferences.pending", this, GenrePreferenceAggregator::pending)
+                .description("(user, genre) preference counts waiting to be written")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("activity.preferences.flush")
+                .description("Time to upsert the pending genre preference counts")
+                .register(meterRegistry);
+    }
+
+    public void add(Long userId, String genre, int count) {
+        PreferenceKey key = new PreferenceKey(userId, genre);
+        stripes[Math.floorMod(key.hashCode(), STRIPES)].add(key, count);
+    }
+
+    @Scheduled(fixedDelayString = "${activity.preferences.flush-interval-ms:5000}")
+    public void flush() {
+        Map<PreferenceKey, Integer> counts = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            counts.putAll(stripe.drain());
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Map.Entry<PreferenceKey, Integer>> entries = new ArrayList<>(counts.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            // One transaction, so a failed flush leaves no count written twice once it is retried
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(upsertPreference, entries, UPSERT_BATCH_SIZE, (ps, entry) -> {
+                        ps.setLong(1, entry.getKey().userId());
+                        ps.setString(2, entry.getKey().genre());
+                        ps.setInt(3, entry.getValue());
+                        ps.setTimestamp(4, now);
+                    }));
+        } catch (RuntimeException ex) {
+            log.warn("Writing {} genre preference counts failed, keeping them for the next flush", entries.size(), ex);
+            entries.forEach(entry -> add(entry.getKey().userId(), entry.getKey().genre(), entry.getValue()));
+            return;
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Upserted {} genre preference counts", entries.size());
+    }
+
+    private int pending() {
+        int pending = 0;
+        for (Stripe stripe : stripes) {
+            pending += stripe.size();
+        }
+        return pending;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,35 @@
+package com.Gaming.Backend.activity;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * How far an incremental reader of user_activity (the rollup, the recommendation precompute) may
+ * go: the highest ID seen at least a lag ago
+ * A visible maximum ID says nothing about lower IDs still being inserted in transactions that
+ * have not committed yet (on another instance, say); once the sighting is lag old, those
+ * transactions have committed or failed, unless one ran longer than the lag.
+ */
+public class RollupHorizon {
+
+    private final long lagMillis;
+    // (time seen, max ID) pairs not yet lag old, oldest first
+    private final Deque<long[]> sightings = new ArrayDeque<>();
+    private long safeId = 0;
+
+    public RollupHorizon(Duration lag) {
+        this.lagMillis = lag.toMillis();
+    }
+
+    /**
+     * Record the current maximum ID and return the highest ID that is safe to roll up
+     */
+    public synchronized long observe(long maxId, long nowMillis) {
+        sightings.addLast(new long[]{nowMillis, maxId});
+        while (!sightings.isEmpty() && sightings.peekFirst()[0] <= nowMillis - lagMillis) {
+            safeId = Math.max(safeId, sightings.pollFirst()[1]);
+        }
+        return safeId;
+    }
+}
@@ -0,0 +1,79 @@
+package com.Gaming.Backend.activity;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * INSERT ... ON DUPLICATE KEY UPDATE statements for the database in use
+ * MySQL 8.0.20 deprecates VALUES(column) in the update clause for a row alias
+ * (INSERT ... VALUES (...) AS new ... column = new.column), which H2's MySQL mode cannot parse;
+ * the alias is used on MySQL 8.0.19 and later, VALUES(column) everywhere else.
+ */
+@Component
+@Slf4j
+public class UpsertStatements {
+
+    private static final Pattern VERSION = Pattern.compile("(\\d+)\\.(\\d+)\\.(\\d+)");
+
+    private final boolean rowAlias;
+
+    @Autowired
+    public UpsertStatements(JdbcTemplate jdbcTemplate) {
+        this(Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return supportsRowAlias(metaData.getDatabaseProductName(), metaData.getDatabaseProductVersion());
+        })));
+        log.info("Upserts refer to the inserted row through {}", rowAlias ? "a row alias" : "VALUES()");
+    }
+
+    UpsertStatements(boolean rowAlias) {
+        this.rowAlias = rowAlias;
+    }
+
+    static boolean supportsRowAlias(String product, String version) {
+        // MariaDB through the MySQL driver reports "5.5.5-10.x", which correctly reads as too old
+        Matcher matcher = VERSION.matcher(version != null ? version : "");
+        if (!"MySQL".equalsIgnoreCase(product) || !matcher.find()) {
+            return false;
+        }
+        int major = Integer.parseInt(matcher.group(1));
+        int minor = Integer.parseInt(matcher.group(2));
+        int patch = Integer.parseInt(matcher.group(3));
+        return major > 8 || (major == 8 && (minor > 0 || patch >= 19));
+    }
+
+    /**
+     * Insert one row of the given columns (one ? each); on a duplicate key, add the new value to
+     * each summed column and overwrite each replaced column
+     */
+    public String upsert(String table, List<String> columns, List<String> summed, List<String> replaced) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES (")
+                .append(String.join(", ", Collections.nCopies(columns.size(), "?"))).append(")");
+        if (rowAlias) {
+            sql.append(" AS new");
+        }
+        List<String> updates = new ArrayList<>();
+        for (String column : summed) {
+            updates.add(column + " = " + column + " + " + inserted(column));
+        }
+        for (String column : replaced) {
+            updates.add(column + " = " + inserted(column));
+        }
+        return sql.append(" ON DUPLICATE KEY UPDATE ").append(String.join(", ", updates)).toString();
+    }
+
+    private String inserted(String column) {
+        return rowAlias ? "new." + column : "VALUES(" + column + ")";
+    }
+}
@@ -0,0 +1,120 @@
+package com.Gaming.Backend.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Minimal growable bitset with allocation-free AND/OR and intersection counting
+ * (java.util.BitSet hides its words, so counting |a AND b| would need a copy)
+ */
+final class Bits {
+
+    private long[] words;
+
+    Bits() {
+        this(64);
+    }
+
+    Bits(int capacity) {
+        words = new long[Math.max(1, (capacity + 63) >>> 6)];
+    }
+
+    private Bits(long[] words) {
+        this.words = words;
+    }
+
+    Bits copy() {
+        return new Bits(words.clone());
+    }
+
+    void set(int bit) {
+        int word = bit >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        words[word] |= 1L << bit;
+    }
+
+    void clear(int bit) {
+        int word = bit >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << bit);
+        }
+    }
+
+    boolean get(int bit) {
+        int word = bit >>> 6;
+        return word < words.length && (words[word] & (1L << bit)) != 0;
+    }
+
+    boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * this = this AND other
+     */
+    void and(Bits other) {
+        int common = Math.min(words.length, other.words.length);
+        for (int i = 0; i < common; i++) {
+            words[i] &= other.words[i];
+        }
+        Arrays.fill(words, common, words.length, 0L);
+    }
+
+    /**
+     * this = this OR other
+     */
+    void or(Bits other) {
+        if (other.words.length > words.length) {
+            words = Arrays.copyOf(words, other.words.length);
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * |this AND other| without materializing the intersection
+     */
+    int andCardinality(Bits other) {
+        int common = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < common; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Index of the first set bit at or after from, or -1
+     */
+    int nextSetBit(int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.config.CacheConfig;
+import com.Gaming.Backend.dto.game.GameDTO;
+import com.Gaming.Backend.entity.Game;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Evicts only the catalog cache entries a game change can affect
+ * Registered as a {@link CatalogIndex} so it sees the committed game state, including
+ * every game of a renamed publisher; list entries are dropped when they contain the game
+ * or when its new sort value would place it in the list
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class CatalogCacheInvalidator implements CatalogIndex {
+
+    private final CacheManager cacheManager;
+    private final AtomicLong detailEvictions = new AtomicLong();
+
+    /**
+     * Moves before every game details eviction; a loader that read it before loading and sees it
+     * unchanged after caching knows no eviction can have missed its entries
+     */
+    public long detailEvictions() {
+        return detailEvictions.get();
+    }
+
+    @Override
+    public void clear() {
+        detailEvictions.incrementAndGet();
+        cache(CacheConfig.GAME_DETAILS).clear();
+        cache(CacheConfig.FEATURED_GAMES).clear();
+        cache(CacheConfig.GAMES_ON_SALE).clear();
+    }
+
+    @Override
+    public void index(Game game) {
+        detailEvictions.incrementAndGet();
+        cache(CacheConfig.GAME_DETAILS).evict(game.getId());
+        boolean active = Boolean.TRUE.equals(game.getActive());
+        double downloads = game.getDownloads() != null ? game.getDownloads() : 0;
+        double discount = game.getDiscount() != null ? game.getDiscount() : 0;
+        evictLists(CacheConfig.FEATURED_GAMES, game.getId(), active, downloads,
+                dto -> dto.getDownloads() != null ? dto.getDownloads() : 0);
+        evictLists(CacheConfig.GAMES_ON_SALE, game.getId(), active && discount > 0, discount,
+                dto -> dto.getDiscount() != null ? dto.getDiscount() : 0);
+    }
+
+    @Override
+    public void remove(Long gameId) {
+        detailEvictions.incrementAndGet();
+        cache(CacheConfig.GAME_DETAILS).evict(gameId);
+        evictLists(CacheConfig.FEATURED_GAMES, gameId, false, 0, dto -> 0);
+        evictLists(CacheConfig.GAMES_ON_SALE, gameId, false, 0, dto -> 0);
+    }
+
+    /**
+     * List caches are keyed by limit and hold games in descending sortValue order
+     */
+    @SuppressWarnings("unchecked")
+    private void evictLists(String cacheName, Long gameId, boolean qualifies, double sortValue,
+                            ToDoubleFunction<GameDTO> sortKey) {
+        Object nativeCache = cache(cacheName).getNativeCache();
+        if (!(nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)) {
+            cache(cacheName).clear();
+            return;
+        }
+        ConcurrentMap<Object, Object> entries = (ConcurrentMap<Object, Object>) caffeine.asMap();
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            List<GameDTO> games = (List<GameDTO>) entry.getValue();
+            boolean contains = games.stream().anyMatch(dto -> gameId.equals(dto.getId()));
+            boolean enters = qualifies && (games.size() < (Integer) entry.getKey()
+                    || sortValue >= sortKey.applyAsDouble(games.get(games.size() - 1)));
+            if (contains || enters) {
+                entries.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + name);
+        }
+        return cache;
+    }
+}
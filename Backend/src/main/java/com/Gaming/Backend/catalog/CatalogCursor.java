@@ -0,0 +1,42 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation tokens for keyset pagination
+ * A token is the URL-safe Base64 of "kind\nvalue\nvalue..."; the kind stops a token issued
+ * by one listing (or sort order) from being replayed against another
+ */
+public final class CatalogCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    private CatalogCursor() {
+    }
+
+    public static String encode(String kind, String... values) {
+        String payload = kind + SEPARATOR + String.join(SEPARATOR, values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token issued for the given kind, returning its values
+     */
+    public static String[] decode(String token, String kind, int arity) {
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = payload.split(SEPARATOR, -1);
+            if (parts.length != arity + 1 || !parts[0].equals(kind)) {
+                throw new BadRequestException("Cursor does not belong to this listing");
+            }
+            String[] values = new String[arity];
+            System.arraycopy(parts, 1, values, 0, arity);
+            return values;
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
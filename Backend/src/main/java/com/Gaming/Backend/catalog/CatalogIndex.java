@@ -0,0 +1,25 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+
+/**
+ * In-memory structure derived from the game catalog
+ * Implementations are fed by {@link CatalogIndexManager} on startup and on every game change
+ */
+public interface CatalogIndex {
+
+    /**
+     * Drop all state ahead of a full rebuild
+     */
+    void clear();
+
+    /**
+     * Add or replace a game (tags and publisher are initialized, game may be inactive)
+     */
+    void index(Game game);
+
+    /**
+     * Remove a game that no longer exists
+     */
+    void remove(Long gameId);
+}
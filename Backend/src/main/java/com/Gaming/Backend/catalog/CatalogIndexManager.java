@@ -0,0 +1,164 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.event.GameChangedEvent;
+import com.Gaming.Backend.event.PublisherChangedEvent;
+import com.Gaming.Backend.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps every {@link CatalogIndex} in sync with the games table
+ * Builds all indexes once the application is ready and then applies
+ * single-game refreshes after each committed Game/Publisher change.
+ * Changes committed while the build runs are remembered and refreshed right after it,
+ * since the build may already have paged past the changed games.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogIndexManager {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final GameRepository gameRepository;
+    private final List<CatalogIndex> indexes;
+    private final PlatformTransactionManager transactionManager;
+
+    private volatile boolean ready = false;
+
+    // Guarded by this; changes seen before ready, refreshed once the build is done
+    private final Set<Long> changedGames = new HashSet<>();
+    private final Set<Long> changedPublishers = new HashSet<>();
+
+    /**
+     * Whether the initial build has completed (callers fall back to SQL until then)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        indexes.forEach(CatalogIndex::clear);
+
+        long lastId = 0L;
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = gameRepository.findIdsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (!ids.isEmpty()) {
+                List<Game> games = new ArrayList<>(gameRepository.findWithTagsByIdIn(ids));
+                games.sort(Comparator.comparing(Game::getId)); // Indexes may rely on ascending ID order
+                for (Game game : games) {
+                    indexes.forEach(index -> index.index(game));
+                }
+                lastId = ids.get(ids.size() - 1);
+                total += ids.size();
+            }
+        } while (ids.size() == LOAD_BATCH_SIZE);
+
+        Set<Long> games;
+        Set<Long> publishers;
+        synchronized (this) {
+            ready = true;
+            games = new HashSet<>(changedGames);
+            publishers = new HashSet<>(changedPublishers);
+            changedGames.clear();
+            changedPublishers.clear();
+        }
+        log.info("Built {} catalog indexes over {} games in {} ms",
+                indexes.size(), total, System.currentTimeMillis() - start);
+        if (!games.isEmpty() || !publishers.isEmpty()) {
+            replay(games, publishers);
+        }
+    }
+
+    /**
+     * Refresh the games changed during the build, in a new transaction so they aren't
+     * read back from the build's persistence context
+     */
+    private void replay(Set<Long> games, Set<Long> publishers) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        Integer refreshed = template.execute(status -> {
+            Set<Long> gameIds = new HashSet<>(games);
+            publishers.forEach(publisherId -> gameIds.addAll(gameRepository.findIdsByPublisherId(publisherId)));
+            refresh(gameIds);
+            return gameIds.size();
+        });
+        log.info("Refreshed {} games changed during the catalog index build", refreshed);
+    }
+
+    /**
+     * Remember a change for after the build; false once the indexes are ready and it can be applied
+     */
+    private synchronized boolean deferred(Long gameId, Long publisherId) {
+        if (ready) {
+            return false;
+        }
+        if (gameId != null) {
+            changedGames.add(gameId);
+        }
+        if (publisherId != null) {
+            changedPublishers.add(publisherId);
+        }
+        return true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onGameChanged(GameChangedEvent event) {
+        if (deferred(event.gameId(), null)) {
+            return;
+        }
+        if (event.removed()) {
+            indexes.forEach(index -> index.remove(event.gameId()));
+        } else {
+            refresh(Set.of(event.gameId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPublisherChanged(PublisherChangedEvent event) {
+        if (deferred(null, event.publisherId())) {
+            return;
+        }
+        refresh(new HashSet<>(gameRepository.findIdsByPublisherId(event.publisherId())));
+    }
+
+    private void refresh(Set<Long> gameIds) {
+        if (gameIds.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(gameIds);
+        List<Game> games = new ArrayList<>(gameRepository.findWithTagsByIdIn(gameIds));
+        games.sort(Comparator.comparing(Game::getId)); // New games get their ordinals in ID order
+        for (Game game : games) {
+            indexes.forEach(index -> index.index(game));
+            missing.remove(game.getId());
+        }
+        missing.forEach(id -> indexes.forEach(index -> index.remove(id)));
+        log.debug("Refreshed {} games in catalog indexes", gameIds.size());
+    }
+}
@@ -0,0 +1,36 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+
+import java.util.function.Predicate;
+
+/**
+ * Catalog-wide game lists that look the same for every visitor
+ * Each section knows which games can appear in it, so a change to any other game
+ * leaves the section's version (and its ETag) untouched
+ */
+public enum CatalogSection {
+
+    FEATURED(game -> true),
+    ON_SALE(game -> game.getDiscount() != null && game.getDiscount() > 0),
+    TRENDING(game -> true),
+    EDITOR_CHOICE(game -> Boolean.TRUE.equals(game.getEditorPick())),
+    RECENTLY_RELEASED(game -> game.getReleaseDate() != null),
+    BUDGET(game -> Boolean.TRUE.equals(game.getIsFreeToPlay())
+            || (game.getPrice() != null && game.getPrice() <= CatalogSection.BUDGET_MAX_PRICE));
+
+    public static final double BUDGET_MAX_PRICE = 20.0;
+
+    private final Predicate<Game> candidate;
+
+    CatalogSection(Predicate<Game> candidate) {
+        this.candidate = candidate;
+    }
+
+    /**
+     * Whether the game can currently be listed in this section
+     */
+    public boolean admits(Game game) {
+        return Boolean.TRUE.equals(game.getActive()) && candidate.test(game);
+    }
+}
@@ -0,0 +1,51 @@
+package com.Gaming.Backend.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Text normalization shared by the in-memory catalog indexes
+ */
+public final class CatalogText {
+
+    private CatalogText() {
+    }
+
+    /**
+     * Lower-case a string and split it into letter/digit tokens
+     * e.g. "Assassin's Creed: Valhalla" -> [assassin, s, creed, valhalla]
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < lower.length(); i++) {
+            if (Character.isLetterOrDigit(lower.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(lower.substring(start));
+        }
+        return tokens;
+    }
+
+    /**
+     * Lower-case and collapse whitespace, keeping punctuation (used for whole-phrase keys)
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
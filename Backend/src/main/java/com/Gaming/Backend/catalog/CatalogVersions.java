@@ -0,0 +1,119 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version counters behind the catalog ETags
+ * Every game and every {@link CatalogSection} carries a version that moves whenever its
+ * content may have changed, so a conditional GET can be answered without building the body.
+ * Ordered after {@link CatalogCacheInvalidator}, so a new tag never points at an evicted-too-late body.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CatalogVersions implements CatalogIndex {
+
+    // Distinguishes this process' counters from those of earlier runs or other instances
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLongArray sections = new AtomicLongArray(CatalogSection.values().length);
+    private final Map<Long, Stamp> games = new ConcurrentHashMap<>();
+
+    /**
+     * Game version plus the sections the game was admitted to at that version
+     */
+    private record Stamp(long version, int sections) {
+    }
+
+    @Override
+    public synchronized void clear() {
+        games.clear();
+        for (int i = 0; i < sections.length(); i++) {
+            sections.set(i, sequence.incrementAndGet());
+        }
+    }
+
+    @Override
+    public synchronized void index(Game game) {
+        int admitted = 0;
+        for (CatalogSection section : CatalogSection.values()) {
+            if (section.admits(game)) {
+                admitted |= 1 << section.ordinal();
+            }
+        }
+        Stamp previous = games.put(game.getId(), new Stamp(sequence.incrementAndGet(), admitted));
+        bump(admitted | (previous != null ? previous.sections() : 0));
+    }
+
+    @Override
+    public synchronized void remove(Long gameId) {
+        Stamp previous = games.remove(gameId);
+        if (previous != null) {
+            bump(previous.sections());
+        }
+    }
+
+    /**
+     * Move a section's version for content that changes outside the catalog (such as trending)
+     */
+    public synchronized void touch(CatalogSection section) {
+        if (sections.get(section.ordinal()) != 0) {
+            sections.set(section.ordinal(), sequence.incrementAndGet());
+        }
+    }
+
+    /**
+     * Strong ETag for a game's detail response, or null while the game is not indexed yet
+     * Read before loading the details it tags: a version bumped after the read only makes the tag
+     * older than the details, never newer
+     */
+    public String gameETag(Long gameId) {
+        Stamp stamp = games.get(gameId);
+        return stamp != null ? tag("game-" + gameId, stamp.version()) : null;
+    }
+
+    /**
+     * Strong ETag for a section; variant separates responses of the same section
+     * that differ by request parameter (such as the limit) or by date
+     */
+    public String sectionETag(CatalogSection section, Object variant) {
+        return sectionETag(section, variant, sectionVersion(section));
+    }
+
+    /**
+     * ETag for a section body that was built at the given version
+     */
+    public String sectionETag(CatalogSection section, Object variant, long version) {
+        if (version == 0) {
+            return null; // Catalog not built yet, changes are not tracked
+        }
+        String name = section.name().toLowerCase() + (variant != null ? "-" + variant : "");
+        return tag(name, version);
+    }
+
+    /**
+     * Current version of a section; 0 until the catalog has been built
+     */
+    public long sectionVersion(CatalogSection section) {
+        return sections.get(section.ordinal());
+    }
+
+    private void bump(int mask) {
+        for (CatalogSection section : CatalogSection.values()) {
+            if ((mask & (1 << section.ordinal())) != 0) {
+                sections.set(section.ordinal(), sequence.incrementAndGet());
+            }
+        }
+    }
+
+    private String tag(String name, long version) {
+        return "\"" + name + "-" + epoch + "." + version + "\"";
+    }
+}
@@ -0,0 +1,425 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitset facet engine behind the store's browse sidebar
+ *
+ * Each game keeps one ordinal for life, allocated when it is first indexed. The full build
+ * indexes in ascending ID order, so ordinal order normally is ID order; once a game arrives
+ * after one with a higher ID (changes commit in any order), keyset pages walk an ID-sorted
+ * list of ordinals instead of the bitset. There is one bitset per genre, tag, publisher and price bucket plus one for the
+ * free-to-play and on-sale flags. Values selected within a facet are OR-ed (tags can be
+ * AND-ed), facets are AND-ed together, and each facet value is counted against the other
+ * facets' selections, so the sidebar shows how many results picking that value would give.
+ */
+@Component
+public class GameFacetIndex implements CatalogIndex {
+
+    public static final String GENRE = "genre";
+    public static final String TAG = "tag";
+    public static final String PUBLISHER = "publisher";
+    public static final String PRICE = "price";
+    public static final String FREE_TO_PLAY = "freeToPlay";
+    public static final String ON_SALE = "onSale";
+
+    private static final int MAX_TAG_VALUES = 50;
+
+    /**
+     * Discounted-price ranges offered in the sidebar
+     */
+    public enum PriceBucket {
+        FREE(0, 0), UNDER_10(0, 10), FROM_10_TO_20(10, 20), FROM_20_TO_40(20, 40),
+        FROM_40_TO_60(40, 60), OVER_60(60, Double.MAX_VALUE);
+
+        private final double min;
+        private final double max;
+
+        PriceBucket(double min, double max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        static PriceBucket of(double price) {
+            if (price <= 0) {
+                return FREE;
+            }
+            for (PriceBucket bucket : values()) {
+                if (price > bucket.min && price <= bucket.max) {
+                    return bucket;
+                }
+            }
+            return OVER_60;
+        }
+    }
+
+    /**
+     * Filter selection; empty sets and null values mean "not filtered"
+     */
+    public record FacetQuery(Set<String> genres, Set<String> tags, boolean matchAllTags,
+                             Set<String> publishers, Set<String> priceBuckets,
+                             Double minPrice, Double maxPrice, Boolean freeToPlay, Boolean onSale) {
+    }
+
+    /**
+     * Page of matching game IDs (ascending ID), total matches and per-facet value counts
+     */
+    public record FacetResult(List<Long> gameIds, long total, Map<String, Map<String, Integer>> facets) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All fields below are guarded by lock
+    private final Map<Long, Integer> ordinalByGameId = new HashMap<>();
+    private long[] gameIds = new long[1024];
+    private double[] prices = new double[1024];
+    private String[][] valuesByOrdinal = new String[1024][];
+    private int ordinalCount = 0;
+    // The first ordinalCount entries: game IDs ascending, with their ordinals
+    private long[] sortedIds = new long[1024];
+    private int[] sortedOrdinals = new int[1024];
+    // Whether sortedOrdinals[i] == i, i.e. ordinals were allocated in ascending ID order
+    private boolean idOrder = true;
+    private Bits live = new Bits();
+    private Bits freeToPlay = new Bits();
+    private Bits onSale = new Bits();
+    private final Map<String, Map<String, Facet>> facets = new HashMap<>();
+
+    /**
+     * Bitset of one facet value plus the label shown to users
+     */
+    private static final class Facet {
+        final String label;
+        final Bits bits = new Bits();
+        int size = 0;
+
+        Facet(String label) {
+            this.label = label;
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinalByGameId.clear();
+            ordinalCount = 0;
+            idOrder = true;
+            Arrays.fill(valuesByOrdinal, null);
+            live = new Bits();
+            freeToPlay = new Bits();
+            onSale = new Bits();
+            facets.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Game game) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinalByGameId.computeIfAbsent(game.getId(), this::allocate);
+            unset(ordinal);
+            if (!Boolean.TRUE.equals(game.getActive())) {
+                return;
+            }
+
+            Set<String> values = new LinkedHashSet<>();
+            if (game.getGenre() != null) {
+                values.add(key(GENRE, game.getGenre()));
+            }
+            if (game.getTags() != null) {
+                game.getTags().stream().filter(t -> t != null && !t.isBlank()).forEach(t -> values.add(key(TAG, t)));
+            }
+            if (game.getPublisher() != null && game.getPublisher().getName() != null) {
+                values.add(key(PUBLISHER, game.getPublisher().getName()));
+            }
+            values.add(key(PRICE, PriceBucket.of(game.getDiscountedPrice()).name()));
+
+            String[] keys = values.toArray(String[]::new);
+            for (String value : keys) {
+                Facet facet = facet(value, label(game, value));
+                facet.bits.set(ordinal);
+                facet.size++;
+            }
+            valuesByOrdinal[ordinal] = keys;
+            prices[ordinal] = game.getPrice() != null ? game.getPrice() : 0.0;
+            live.set(ordinal);
+            if (Boolean.TRUE.equals(game.getIsFreeToPlay())) {
+                freeToPlay.set(ordinal);
+            }
+            if (game.getDiscount() != null && game.getDiscount() > 0) {
+                onSale.set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long gameId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalByGameId.get(gameId);
+            if (ordinal != null) {
+                unset(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply the filter and count every facet value against the other facets' selections
+     */
+    public FacetResult filter(FacetQuery query, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<String, Bits> masks = masks(query);
+            Bits range = priceRange(query.minPrice(), query.maxPrice());
+
+            Bits matches = combine(masks, range, null);
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (String facetName : List.of(GENRE, TAG, PUBLISHER, PRICE)) {
+                counts.put(facetName, countValues(facetName, combine(masks, range, facetName)));
+            }
+            counts.put(FREE_TO_PLAY, Map.of("true", combine(masks, range, FREE_TO_PLAY).andCardinality(freeToPlay)));
+            counts.put(ON_SALE, Map.of("true", combine(masks, range, ON_SALE).andCardinality(onSale)));
+
+            List<Long> page = matchingIds(matches, 0, offset, Math.max(0, limit));
+            return new FacetResult(page, matches.cardinality(), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Matching game IDs after the given ID in ascending ID order (keyset pagination, no counts)
+     * Returns up to limit + 1 IDs so callers can tell whether another page exists
+     */
+    public List<Long> filterAfter(FacetQuery query, Long afterGameId, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<String, Bits> masks = masks(query);
+            Bits matches = combine(masks, priceRange(query.minPrice(), query.maxPrice()), null);
+
+            int from = afterGameId == null ? 0 : firstPositionAfter(afterGameId);
+            return matchingIds(matches, from, 0, limit + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to max matching IDs in ascending ID order, starting at a position in the ID-sorted list
+     * and skipping the first skip matches
+     */
+    private List<Long> matchingIds(Bits matches, int from, int skip, int max) {
+        List<Long> ids = new ArrayList<>(Math.min(max, 1024));
+        int skipped = 0;
+        if (idOrder) {
+            // Positions are ordinals, so the bitset can be scanned directly
+            for (int o = matches.nextSetBit(from); o >= 0 && ids.size() < max; o = matches.nextSetBit(o + 1)) {
+                if (skipped++ >= skip) {
+                    ids.add(gameIds[o]);
+                }
+            }
+        } else {
+            for (int i = from; i < ordinalCount && ids.size() < max; i++) {
+                if (matches.get(sortedOrdinals[i]) && skipped++ >= skip) {
+                    ids.add(sortedIds[i]);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Position of the first game with a higher ID in the ID-sorted list (its ordinal too while idOrder holds)
+     */
+    private int firstPositionAfter(long gameId) {
+        int low = 0;
+        int high = ordinalCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedIds[mid] <= gameId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Selection bitset per facet; null where the facet is not filtered
+     */
+    private Map<String, Bits> masks(FacetQuery query) {
+        Map<String, Bits> masks = new LinkedHashMap<>();
+        masks.put(GENRE, union(GENRE, query.genres()));
+        masks.put(TAG, query.matchAllTags() ? intersection(TAG, query.tags()) : union(TAG, query.tags()));
+        masks.put(PUBLISHER, union(PUBLISHER, query.publishers()));
+        masks.put(PRICE, union(PRICE, query.priceBuckets()));
+        masks.put(FREE_TO_PLAY, flag(freeToPlay, query.freeToPlay()));
+        masks.put(ON_SALE, flag(onSale, query.onSale()));
+        return masks;
+    }
+
+    private Bits combine(Map<String, Bits> masks, Bits range, String excludedFacet) {
+        Bits result = live.copy();
+        masks.forEach((name, mask) -> {
+            if (mask != null && !name.equals(excludedFacet)) {
+                result.and(mask);
+            }
+        });
+        if (range != null) {
+            result.and(range);
+        }
+        return result;
+    }
+
+    private Map<String, Integer> countValues(String facetName, Bits base) {
+        Map<String, Facet> values = facets.getOrDefault(facetName, Map.of());
+        List<Map.Entry<String, Integer>> counted = new ArrayList<>(values.size());
+        for (Facet facet : values.values()) {
+            if (facet.size > 0) {
+                counted.add(Map.entry(facet.label, base.andCardinality(facet.bits)));
+            }
+        }
+        counted.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        int limit = TAG.equals(facetName) ? MAX_TAG_VALUES : counted.size();
+        Map<String, Integer> result = new LinkedHashMap<>();
+        counted.stream().limit(limit).forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
+    private Bits union(String facetName, Collection<String> selected) {
+        if (selected == null || selected.isEmpty()) {
+            return null;
+        }
+        Bits result = new Bits();
+        for (String value : selected) {
+            Facet facet = facets.getOrDefault(facetName, Map.of()).get(key(facetName, value));
+            if (facet != null) {
+                result.or(facet.bits);
+            }
+        }
+        return result;
+    }
+
+    private Bits intersection(String facetName, Collection<String> selected) {
+        if (selected == null || selected.isEmpty()) {
+            return null;
+        }
+        Bits result = live.copy();
+        for (String value : selected) {
+            Facet facet = facets.getOrDefault(facetName, Map.of()).get(key(facetName, value));
+            if (facet == null) {
+                return new Bits();
+            }
+            result.and(facet.bits);
+        }
+        return result;
+    }
+
+    private static Bits flag(Bits bits, Boolean required) {
+        return Boolean.TRUE.equals(required) ? bits : null;
+    }
+
+    /**
+     * List-price range; not a facet, so it is applied by scanning the live ordinals
+     */
+    private Bits priceRange(Double minPrice, Double maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        Bits result = new Bits(ordinalCount);
+        for (int o = live.nextSetBit(0); o >= 0; o = live.nextSetBit(o + 1)) {
+            if ((minPrice == null || prices[o] >= minPrice) && (maxPrice == null || prices[o] <= maxPrice)) {
+                result.set(o);
+            }
+        }
+        return result;
+    }
+
+    private int allocate(Long gameId) {
+        if (ordinalCount == gameIds.length) {
+            gameIds = Arrays.copyOf(gameIds, ordinalCount * 2);
+            prices = Arrays.copyOf(prices, ordinalCount * 2);
+            valuesByOrdinal = Arrays.copyOf(valuesByOrdinal, ordinalCount * 2);
+        }
+        gameIds[ordinalCount] = gameId;
+        if (sortedIds.length == ordinalCount) {
+            sortedIds = Arrays.copyOf(sortedIds, ordinalCount * 2);
+            sortedOrdinals = Arrays.copyOf(sortedOrdinals, ordinalCount * 2);
+        }
+        int position = firstPositionAfter(gameId);
+        if (position < ordinalCount) {
+            // Indexed after a game with a higher ID: keep the sorted list by shifting the tail
+            System.arraycopy(sortedIds, position, sortedIds, position + 1, ordinalCount - position);
+            System.arraycopy(sortedOrdinals, position, sortedOrdinals, position + 1, ordinalCount - position);
+            idOrder = false;
+        }
+        sortedIds[position] = gameId;
+        sortedOrdinals[position] = ordinalCount;
+        return ordinalCount++;
+    }
+
+    private void unset(int ordinal) {
+        live.clear(ordinal);
+        freeToPlay.clear(ordinal);
+        onSale.clear(ordinal);
+        String[] previous = valuesByOrdinal[ordinal];
+        if (previous == null) {
+            return;
+        }
+        for (String value : previous) {
+            Facet facet = facets.get(facetName(value)).get(value);
+            facet.bits.clear(ordinal);
+            facet.size--;
+        }
+        valuesByOrdinal[ordinal] = null;
+    }
+
+    private Facet facet(String value, String label) {
+        return facets.computeIfAbsent(facetName(value), f -> new HashMap<>())
+                .computeIfAbsent(value, v -> new Facet(label));
+    }
+
+    private static String key(String facetName, String value) {
+        return facetName + ":" + value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String facetName(String key) {
+        return key.substring(0, key.indexOf(':'));
+    }
+
+    private static String label(Game game, String key) {
+        String value = key.substring(key.indexOf(':') + 1);
+        return switch (facetName(key)) {
+            case GENRE -> game.getGenre();
+            case PUBLISHER -> game.getPublisher().getName();
+            case PRICE -> value.toUpperCase(Locale.ROOT);
+            default -> game.getTags().stream()
+                    .filter(t -> t != null && t.trim().equalsIgnoreCase(value))
+                    .findFirst()
+                    .orElse(value);
+        };
+    }
+}
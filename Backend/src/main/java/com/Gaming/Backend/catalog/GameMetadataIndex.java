@@ -0,0 +1,86 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resident dictionary of the few game facts hot paths need: genre, publisher, active, price, discount
+ *
+ * Holds every game, active or not, as one small immutable entry (genre strings are shared), so
+ * activity tracking and the like can read a game's genre or state without loading the entity.
+ * Reads are lock-free; an entry is replaced as a whole when its game changes. Until
+ * {@link CatalogIndexManager#isReady()} the dictionary is empty and callers fall back to SQL.
+ */
+@Component
+public class GameMetadataIndex implements CatalogIndex {
+
+    private final Map<Long, GameMetadata> games = new ConcurrentHashMap<>();
+    private final Map<String, String> genres = new ConcurrentHashMap<>();
+
+    public record GameMetadata(String genre, Long publisherId, boolean active, double price, double discount) {
+
+        public boolean onSale() {
+            return discount > 0;
+        }
+
+        public double discountedPrice() {
+            return discount > 0 ? price - (price * discount / 100) : price;
+        }
+    }
+
+    /**
+     * A game's metadata, or null if the game is unknown
+     */
+    public GameMetadata get(Long gameId) {
+        return gameId != null ? games.get(gameId) : null;
+    }
+
+    public boolean contains(Long gameId) {
+        return gameId != null && games.containsKey(gameId);
+    }
+
+    /**
+     * Metadata of those of the given games that are known, by game ID
+     */
+    public Map<Long, GameMetadata> getAll(Collection<Long> gameIds) {
+        Map<Long, GameMetadata> found = new HashMap<>();
+        for (Long gameId : gameIds) {
+            GameMetadata metadata = get(gameId);
+            if (metadata != null) {
+                found.put(gameId, metadata);
+            }
+        }
+        return found;
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    @Override
+    public void clear() {
+        games.clear();
+        genres.clear();
+    }
+
+    @Override
+    public void index(Game game) {
+        String genre = game.getGenre() != null ? genres.computeIfAbsent(game.getGenre(), g -> g) : null;
+        games.put(game.getId(), new GameMetadata(
+                genre,
+                game.getPublisher() != null ? game.getPublisher().getId() : null,
+                Boolean.TRUE.equals(game.getActive()),
+                game.getPrice() != null ? game.getPrice() : 0,
+                game.getDiscount() != null ? game.getDiscount() : 0));
+    }
+
+    @Override
+    public void remove(Long gameId) {
+        games.remove(gameId);
+    }
+}
@@ -0,0 +1,429 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tokenized inverted index over game title, description, tags and publisher name
+ * Replaces the LIKE '%keyword%' table scan behind keyword search.
+ *
+ * Every indexed game gets a dense document ordinal; each term keeps a postings list of
+ * (ordinal, field-weighted term frequency). Updates retire the old ordinal and append a new
+ * one, and dead ordinals are compacted away once they make up a quarter of the index.
+ * Every query token must match (AND), either exactly or as a prefix of an indexed term,
+ * and hits are ranked by the sum of weight * idf with downloads as tie-breaker; idf counts
+ * live postings only, so retired games don't weigh on scores before compaction.
+ * Query buffers are sized to the document count and pooled rather than held per thread,
+ * since requests may each run on a fresh virtual thread.
+ */
+@Component
+@Slf4j
+public class GameSearchIndex implements CatalogIndex {
+
+    private static final float TITLE_WEIGHT = 4.0f;
+    private static final float TAG_WEIGHT = 2.0f;
+    private static final float PUBLISHER_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final int MAX_DESCRIPTION_OCCURRENCES = 3;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_COMPACTION_GARBAGE = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Idle query buffers; a search takes one or allocates, and hands it back unless the pool is full
+    private final BlockingQueue<Scratch> scratchPool =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    // All fields below are guarded by lock
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> docByGameId = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] gameIds = new long[1024];
+    private int[] downloads = new int[1024];
+    // Postings lists each document was added to, so retiring it can update their live counts
+    private Postings[][] docTerms = new Postings[1024][];
+    private int docCount = 0;
+
+    /**
+     * A ranked match; score, downloads and ID together form the keyset position
+     */
+    public record Hit(Long gameId, float score, int downloads) {
+    }
+
+    /**
+     * Result page of a search: hits in rank order plus the number of matches from the start
+     * position (whole result set, or everything after the cursor)
+     */
+    public record SearchResult(List<Hit> hits, long total) {
+
+        public List<Long> gameIds() {
+            return hits.stream().map(Hit::gameId).toList();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            docByGameId.clear();
+            live.clear();
+            Arrays.fill(docTerms, 0, docCount, null);
+            docCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Game game) {
+        Map<String, Float> weights = termWeights(game);
+        lock.writeLock().lock();
+        try {
+            retire(game.getId());
+            if (!Boolean.TRUE.equals(game.getActive())) {
+                return;
+            }
+            int doc = allocate(game.getId(), game.getDownloads() != null ? game.getDownloads() : 0);
+            Postings[] added = new Postings[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                Postings postings = terms.computeIfAbsent(entry.getKey(), t -> new Postings());
+                postings.add(doc, entry.getValue());
+                added[i++] = postings;
+            }
+            docTerms[doc] = added;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long gameId) {
+        lock.writeLock().lock();
+        try {
+            retire(gameId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of active games currently searchable
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByGameId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search for games matching every token of the query
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        return search(query, null, offset, limit);
+    }
+
+    /**
+     * Continue a search after a previously returned hit (keyset pagination)
+     */
+    public SearchResult searchAfter(String query, Hit after, int limit) {
+        return search(query, after, 0, limit);
+    }
+
+    private SearchResult search(String query, Hit after, int offset, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(CatalogText.tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        Scratch s = scratchPool.poll();
+        if (s == null) {
+            s = new Scratch();
+        }
+        lock.readLock().lock();
+        try {
+            s.ensureCapacity(docCount);
+            int liveDocs = docByGameId.size();
+            s.firstTouched.clear();
+            IntBuffer candidates = s.firstTouched;
+
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                IntBuffer touched = i == 0 ? s.firstTouched : s.touched;
+                touched.clear();
+                int expansions = 0;
+                for (Map.Entry<String, Postings> entry : terms.tailMap(token, true).entrySet()) {
+                    String term = entry.getKey();
+                    if (!term.startsWith(token) || expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    Postings postings = entry.getValue();
+                    if (postings.live == 0) {
+                        continue;
+                    }
+                    float idf = (float) Math.log(1.0 + (double) liveDocs / postings.live);
+                    float factor = term.length() == token.length() ? 1.0f : PREFIX_MATCH_FACTOR;
+                    for (int p = 0; p < postings.size; p++) {
+                        int doc = postings.docs[p];
+                        if (!live.get(doc) || s.matched[doc] != i) {
+                            continue;
+                        }
+                        float score = postings.weights[p] * idf * factor;
+                        if (s.best[doc] == 0.0f) {
+                            touched.add(doc);
+                        }
+                        if (score > s.best[doc]) {
+                            s.best[doc] = score;
+                        }
+                    }
+                }
+
+                for (int t = 0; t < touched.size; t++) {
+                    int doc = touched.values[t];
+                    s.scores[doc] += s.best[doc];
+                    s.matched[doc]++;
+                    s.best[doc] = 0.0f;
+                }
+                candidates = touched;
+                if (touched.size == 0) {
+                    break;
+                }
+            }
+
+            SearchResult result = rank(s, candidates, after, offset, limit);
+
+            // Only docs touched by the first token can carry state into the next query
+            for (int t = 0; t < s.firstTouched.size; t++) {
+                int doc = s.firstTouched.values[t];
+                s.scores[doc] = 0.0f;
+                s.matched[doc] = 0;
+            }
+            // Only reached when the buffers are clean again; after a failure they are left to the GC
+            scratchPool.offer(s);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchResult rank(Scratch s, IntBuffer candidates, Hit after, int offset, int limit) {
+        Comparator<Integer> byRank = Comparator
+                .comparingDouble((Integer doc) -> s.scores[doc])
+                .thenComparingInt(doc -> downloads[doc])
+                .thenComparingLong(doc -> -gameIds[doc]);
+
+        int count = 0;
+        int keep = offset + limit;
+        PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, Math.min(keep, candidates.size)), byRank);
+        for (int t = 0; t < candidates.size; t++) {
+            int doc = candidates.values[t];
+            if (after != null && !ranksBelow(s, doc, after)) {
+                continue;
+            }
+            count++;
+            if (top.size() < keep) {
+                top.add(doc);
+            } else if (byRank.compare(doc, top.peek()) > 0) {
+                top.poll();
+                top.add(doc);
+            }
+        }
+
+        List<Integer> ranked = new ArrayList<>(top);
+        ranked.sort(byRank.reversed());
+        List<Hit> page = new ArrayList<>(limit);
+        for (int r = offset; r < ranked.size(); r++) {
+            int doc = ranked.get(r);
+            page.add(new Hit(gameIds[doc], s.scores[doc], downloads[doc]));
+        }
+        return new SearchResult(page, count);
+    }
+
+    private boolean ranksBelow(Scratch s, int doc, Hit after) {
+        int byScore = Float.compare(s.scores[doc], after.score());
+        if (byScore != 0) {
+            return byScore < 0;
+        }
+        int byDownloads = Integer.compare(downloads[doc], after.downloads());
+        if (byDownloads != 0) {
+            return byDownloads < 0;
+        }
+        return gameIds[doc] > after.gameId();
+    }
+
+    private Map<String, Float> termWeights(Game game) {
+        Map<String, Float> weights = new HashMap<>();
+        CatalogText.tokenize(game.getTitle()).forEach(t -> weights.merge(t, TITLE_WEIGHT, Float::sum));
+        if (game.getTags() != null) {
+            game.getTags().forEach(tag ->
+                    CatalogText.tokenize(tag).forEach(t -> weights.merge(t, TAG_WEIGHT, Float::sum)));
+        }
+        if (game.getPublisher() != null) {
+            CatalogText.tokenize(game.getPublisher().getName())
+                    .forEach(t -> weights.merge(t, PUBLISHER_WEIGHT, Float::sum));
+        }
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (String t : CatalogText.tokenize(game.getDescription())) {
+            if (occurrences.merge(t, 1, Integer::sum) <= MAX_DESCRIPTION_OCCURRENCES) {
+                weights.merge(t, DESCRIPTION_WEIGHT, Float::sum);
+            }
+        }
+        return weights;
+    }
+
+    private int allocate(Long gameId, int gameDownloads) {
+        if (docCount == gameIds.length) {
+            gameIds = Arrays.copyOf(gameIds, docCount * 2);
+            downloads = Arrays.copyOf(downloads, docCount * 2);
+            docTerms = Arrays.copyOf(docTerms, docCount * 2);
+        }
+        int doc = docCount++;
+        gameIds[doc] = gameId;
+        downloads[doc] = gameDownloads;
+        live.set(doc);
+        docByGameId.put(gameId, doc);
+        return doc;
+    }
+
+    private void retire(Long gameId) {
+        Integer doc = docByGameId.remove(gameId);
+        if (doc != null) {
+            live.clear(doc);
+            for (Postings postings : docTerms[doc]) {
+                postings.live--;
+            }
+            docTerms[doc] = null;
+        }
+    }
+
+    /**
+     * Rewrite postings without dead ordinals once enough garbage has accumulated
+     */
+    private void compactIfNeeded() {
+        int garbage = docCount - docByGameId.size();
+        if (garbage < MIN_COMPACTION_GARBAGE || garbage < docCount / 4) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (live.get(doc)) {
+                gameIds[next] = gameIds[doc];
+                downloads[next] = downloads[doc];
+                docTerms[next] = docTerms[doc];
+                remap[doc] = next++;
+            } else {
+                remap[doc] = -1;
+            }
+        }
+
+        Iterator<Postings> it = terms.values().iterator();
+        while (it.hasNext()) {
+            Postings postings = it.next();
+            postings.remap(remap);
+            if (postings.size == 0) {
+                it.remove();
+            }
+        }
+
+        Arrays.fill(docTerms, next, docCount, null);
+        docByGameId.replaceAll((gameId, doc) -> remap[doc]);
+        live.clear();
+        live.set(0, next);
+        log.debug("Compacted search index from {} to {} documents", docCount, next);
+        docCount = next;
+    }
+
+    /**
+     * Growable parallel arrays of document ordinals and term weights, with the number of live ordinals
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size = 0;
+        int live = 0;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+            live++;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int p = 0; p < size; p++) {
+                int doc = remap[docs[p]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    weights[kept] = weights[p];
+                    kept++;
+                }
+            }
+            size = kept;
+            live = kept;
+        }
+    }
+
+    /**
+     * Query buffers sized to the document count, reused across searches through the pool
+     */
+    private static final class Scratch {
+        float[] scores = new float[0];
+        float[] best = new float[0];
+        int[] matched = new int[0];
+        final IntBuffer firstTouched = new IntBuffer();
+        final IntBuffer touched = new IntBuffer();
+
+        void ensureCapacity(int docCount) {
+            if (scores.length < docCount) {
+                int capacity = Math.max(docCount, scores.length * 2);
+                scores = Arrays.copyOf(scores, capacity);
+                best = Arrays.copyOf(best, capacity);
+                matched = Arrays.copyOf(matched, capacity);
+            }
+        }
+    }
+
+    private static final class IntBuffer {
+        int[] values = new int[16];
+        int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Whitelist of sortable catalog columns
+ * All are non-null, so they can serve as keyset pagination keys together with the ID
+ */
+public enum GameSortField {
+    CREATED_AT("createdAt", Game::getCreatedAt, LocalDateTime::parse),
+    PRICE("price", Game::getPrice, Double::valueOf),
+    DISCOUNT("discount", Game::getDiscount, Double::valueOf),
+    DOWNLOADS("downloads", Game::getDownloads, Integer::valueOf),
+    TITLE("title", Game::getTitle, Function.identity());
+
+    private final String property;
+    private final Function<Game, Object> getter;
+    private final Function<String, Object> parser;
+
+    GameSortField(String property, Function<Game, ?> getter, Function<String, ?> parser) {
+        this.property = property;
+        this.getter = getter::apply;
+        this.parser = parser::apply;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Value of this column for a game, as written into a cursor
+     */
+    public String format(Game game) {
+        return String.valueOf(getter.apply(game));
+    }
+
+    /**
+     * Parse a cursor value back into the column's Java type
+     */
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static GameSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(f -> f.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Unsupported sortBy '" + property + "', expected one of: "
+                        + Arrays.stream(values()).map(f -> f.property).collect(Collectors.joining(", "))));
+    }
+}
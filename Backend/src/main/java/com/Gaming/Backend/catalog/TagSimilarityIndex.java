@@ -0,0 +1,220 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Content-based "similar games" over tag sets, via MinHash signatures and LSH banding
+ *
+ * Each active game with tags gets a {@link #HASHES}-value MinHash signature; the signature is cut
+ * into {@link #BANDS} bands of {@link #ROWS} values and the game is filed under one bucket per band.
+ * Games sharing a bucket are candidates (pairs at Jaccard 0.7 collide with ~98% probability,
+ * at 0.5 with ~64%, at 0.3 with ~12%); the candidates sharing the most bands are then ranked by
+ * the exact Jaccard similarity of their tag sets, so a lookup touches a few buckets instead of
+ * comparing against the whole catalog.
+ */
+@Component
+public class TagSimilarityIndex implements CatalogIndex {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    private static final int MAX_SCANNED = 20000;
+    private static final int MIN_VERIFIED = 64;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All fields below are guarded by lock
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+    /**
+     * A similar game and the Jaccard similarity of its tags to the query game's
+     */
+    public record Match(Long gameId, double similarity) {
+    }
+
+    private record Entry(Set<String> tags, long[] bucketKeys, int downloads) {
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            buckets.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Game game) {
+        Set<String> tags = new HashSet<>();
+        if (Boolean.TRUE.equals(game.getActive()) && game.getTags() != null) {
+            for (String tag : game.getTags()) {
+                String normalized = CatalogText.normalize(tag);
+                if (!normalized.isEmpty()) {
+                    tags.add(normalized);
+                }
+            }
+        }
+        long[] bucketKeys = tags.isEmpty() ? null : bucketKeys(signature(tags));
+        lock.writeLock().lock();
+        try {
+            unfile(game.getId());
+            if (bucketKeys != null) {
+                int downloads = game.getDownloads() != null ? game.getDownloads() : 0;
+                entries.put(game.getId(), new Entry(tags, bucketKeys, downloads));
+                for (long key : bucketKeys) {
+                    buckets.computeIfAbsent(key, k -> new HashSet<>()).add(game.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long gameId) {
+        lock.writeLock().lock();
+        try {
+            unfile(gameId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Games whose tags are most similar to the given game's, best first (ties by downloads)
+     */
+    public List<Match> similar(Long gameId, int limit) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(gameId);
+            if (entry == null || limit <= 0) {
+                return List.of();
+            }
+            // Games sharing more bands are likelier to be similar: count collisions first and
+            // compute exact Jaccard only for the best candidates
+            Map<Long, Integer> collisions = new HashMap<>();
+            int scanned = 0;
+            for (long key : entry.bucketKeys()) {
+                Set<Long> bucket = buckets.getOrDefault(key, Set.of());
+                if (scanned + bucket.size() > MAX_SCANNED) {
+                    continue; // Skip overly common bands rather than cut others short
+                }
+                scanned += bucket.size();
+                for (Long candidate : bucket) {
+                    collisions.merge(candidate, 1, Integer::sum);
+                }
+            }
+            collisions.remove(gameId);
+
+            List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(collisions.entrySet());
+            ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed());
+            int verify = Math.min(ranked.size(), Math.max(limit * 8, MIN_VERIFIED));
+            List<Match> matches = new ArrayList<>(verify);
+            for (Map.Entry<Long, Integer> candidate : ranked.subList(0, verify)) {
+                Long candidateId = candidate.getKey();
+                matches.add(new Match(candidateId, jaccard(entry.tags(), entries.get(candidateId).tags())));
+            }
+            matches.sort((a, b) -> {
+                int bySimilarity = Double.compare(b.similarity(), a.similarity());
+                if (bySimilarity != 0) {
+                    return bySimilarity;
+                }
+                int byDownloads = Integer.compare(entries.get(b.gameId()).downloads(), entries.get(a.gameId()).downloads());
+                return byDownloads != 0 ? byDownloads : a.gameId().compareTo(b.gameId());
+            });
+            return List.copyOf(matches.subList(0, Math.min(limit, matches.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unfile(Long gameId) {
+        Entry previous = entries.remove(gameId);
+        if (previous == null) {
+            return;
+        }
+        for (long key : previous.bucketKeys()) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(gameId) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static long[] signature(Set<String> tags) {
+        long[] signature = new long[HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String tag : tags) {
+            long base = mix(tag.hashCode() * 0xC2B2AE3D27D4EB4FL + tag.length());
+            for (int i = 0; i < HASHES; i++) {
+                long value = mix(base ^ SEEDS[i]);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * One bucket key per band, salted with the band number so bands never share buckets
+     */
+    private static long[] bucketKeys(long[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key * 31 + signature[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int common = 0;
+        for (String tag : smaller) {
+            if (larger.contains(tag)) {
+                common++;
+            }
+        }
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    /**
+     * 64-bit finalizer from MurmurHash3
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85A53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
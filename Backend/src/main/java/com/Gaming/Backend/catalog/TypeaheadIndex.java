@@ -0,0 +1,368 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie over game titles, tags and publisher names for search-box typeahead
+ *
+ * Each suggestion is inserted under its full normalized text and under every word start,
+ * so "wit" finds "The Witcher 3". Every trie node caches the best {@link #MAX_SUGGESTIONS}
+ * suggestions of its subtree, so a lookup is one walk down the prefix with no ranking work.
+ * Games rank by downloads; tags and publishers by the summed downloads of their active games.
+ * Updates re-rank only the nodes on the paths of the suggestions that changed.
+ */
+@Component
+public class TypeaheadIndex implements CatalogIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private static final Comparator<Suggestion> BY_SCORE = Comparator
+            .comparingLong(Suggestion::score).reversed()
+            .thenComparing(Suggestion::text);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All fields below are guarded by lock
+    private Node root = new Node();
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    // Tag/publisher suggestions live as long as at least one active game references them
+    private final Map<String, Integer> references = new HashMap<>();
+
+    /**
+     * What a suggestion refers to
+     */
+    public enum Type {
+        GAME, TAG, PUBLISHER
+    }
+
+    /**
+     * A ranked typeahead entry; gameId is only set for GAME suggestions
+     */
+    public record Suggestion(Type type, String text, Long gameId, long score) {
+    }
+
+    /**
+     * What an indexed game currently adds to tag and publisher scores
+     */
+    private record Contribution(long downloads, Set<String> tags, String publisher) {
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            suggestions.clear();
+            contributions.clear();
+            references.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Game game) {
+        lock.writeLock().lock();
+        try {
+            retire(game.getId());
+            if (!Boolean.TRUE.equals(game.getActive())) {
+                return;
+            }
+            long downloads = game.getDownloads() != null ? game.getDownloads() : 0;
+            Set<String> tags = new HashSet<>();
+            if (game.getTags() != null) {
+                game.getTags().stream().filter(t -> t != null && !t.isBlank()).forEach(tags::add);
+            }
+            String publisher = game.getPublisher() != null ? game.getPublisher().getName() : null;
+            Contribution contribution = new Contribution(downloads, tags, publisher);
+            contributions.put(game.getId(), contribution);
+
+            put(new Suggestion(Type.GAME, game.getTitle(), game.getId(), downloads));
+            adjust(contribution, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long gameId) {
+        lock.writeLock().lock();
+        try {
+            retire(gameId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top suggestions whose text (or one of its words) starts with the prefix
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = CatalogText.normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && i < MAX_KEY_LENGTH && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            Suggestion[] top = node.top;
+            return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void retire(Long gameId) {
+        Contribution previous = contributions.remove(gameId);
+        if (previous == null) {
+            return;
+        }
+        delete(gameKey(gameId));
+        adjust(previous, -1);
+    }
+
+    private void adjust(Contribution contribution, int sign) {
+        for (String tag : contribution.tags()) {
+            addScore(Type.TAG, tag, sign * contribution.downloads(), sign);
+        }
+        if (contribution.publisher() != null) {
+            addScore(Type.PUBLISHER, contribution.publisher(), sign * contribution.downloads(), sign);
+        }
+    }
+
+    private void addScore(Type type, String text, long delta, int referenceDelta) {
+        String id = type + ":" + CatalogText.normalize(text);
+        int refs = references.merge(id, referenceDelta, Integer::sum);
+        if (refs <= 0) {
+            references.remove(id);
+            delete(id);
+            return;
+        }
+        Suggestion current = suggestions.get(id);
+        long score = (current != null ? current.score() : 0) + delta;
+        put(id, new Suggestion(type, current != null ? current.text() : text, null, score));
+    }
+
+    private static String gameKey(Long gameId) {
+        return Type.GAME + ":" + gameId;
+    }
+
+    private void put(Suggestion suggestion) {
+        put(gameKey(suggestion.gameId()), suggestion);
+    }
+
+    private void put(String id, Suggestion suggestion) {
+        Suggestion previous = suggestions.put(id, suggestion);
+        if (previous != null && !previous.text().equals(suggestion.text())) {
+            for (String key : keys(previous.text())) {
+                unlink(key, previous);
+            }
+        }
+        for (String key : keys(suggestion.text())) {
+            link(key, previous, suggestion);
+        }
+    }
+
+    private void delete(String id) {
+        Suggestion previous = suggestions.remove(id);
+        if (previous != null) {
+            for (String key : keys(previous.text())) {
+                unlink(key, previous);
+            }
+        }
+    }
+
+    /**
+     * The full text plus every suffix that starts at a word boundary
+     */
+    private static Set<String> keys(String text) {
+        String normalized = CatalogText.normalize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        boolean wordStart = true;
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean letterOrDigit = Character.isLetterOrDigit(normalized.charAt(i));
+            if (letterOrDigit && wordStart) {
+                String key = normalized.substring(i);
+                keys.add(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key);
+            }
+            wordStart = !letterOrDigit;
+        }
+        return keys;
+    }
+
+    private void link(String key, Suggestion previous, Suggestion suggestion) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].childOrCreate(key.charAt(i));
+        }
+        Node leaf = path[key.length()];
+        if (previous != null) {
+            leaf.terminals.remove(previous);
+        }
+        leaf.terminals.add(suggestion);
+        for (int i = key.length(); i >= 0 && path[i].offer(previous, suggestion); i--) {
+            // Ancestors only change if this node's best list changed
+        }
+    }
+
+    private void unlink(String key, Suggestion suggestion) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        path[key.length()].terminals.remove(suggestion);
+        for (int i = key.length(); i >= 0; i--) {
+            Node node = path[i];
+            if (i > 0 && node.isEmpty()) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            } else if (!node.rerank()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Trie node with sorted child arrays and a cached best-N list for its subtree
+     */
+    private static final class Node {
+        private static final Suggestion[] NONE = new Suggestion[0];
+
+        char[] labels = new char[0];
+        Node[] children = new Node[0];
+        final List<Suggestion> terminals = new ArrayList<>(1);
+        Suggestion[] top = NONE;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newLabels[at] = c;
+            newChildren[at] = new Node();
+            System.arraycopy(labels, at, newLabels, at + 1, labels.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[at];
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(labels, i + 1, newLabels, i, labels.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return terminals.isEmpty() && children.length == 0;
+        }
+
+        /**
+         * Replace previous with next in the best list without a full recompute
+         * Only a demoted entry that was in the list needs children to be consulted again
+         */
+        boolean offer(Suggestion previous, Suggestion next) {
+            int at = previous != null ? indexOf(previous) : -1;
+            if (at >= 0 && BY_SCORE.compare(next, previous) > 0) {
+                return rerank();
+            }
+            Suggestion[] ranked = top;
+            if (at >= 0) {
+                ranked = new Suggestion[top.length - 1];
+                System.arraycopy(top, 0, ranked, 0, at);
+                System.arraycopy(top, at + 1, ranked, at, top.length - at - 1);
+            } else if (indexOf(next) >= 0) {
+                return false;
+            }
+            int insert = 0;
+            while (insert < ranked.length && BY_SCORE.compare(ranked[insert], next) <= 0) {
+                insert++;
+            }
+            if (insert >= MAX_SUGGESTIONS) {
+                if (at < 0) {
+                    return false;
+                }
+                return rerank();
+            }
+            int size = Math.min(ranked.length + 1, MAX_SUGGESTIONS);
+            Suggestion[] updated = new Suggestion[size];
+            System.arraycopy(ranked, 0, updated, 0, insert);
+            updated[insert] = next;
+            System.arraycopy(ranked, insert, updated, insert + 1, size - insert - 1);
+            top = updated;
+            return true;
+        }
+
+        private int indexOf(Suggestion suggestion) {
+            for (int i = 0; i < top.length; i++) {
+                if (top[i].equals(suggestion)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Recompute the subtree's best list from own terminals and the children's best lists
+         * Returns whether the list changed
+         */
+        boolean rerank() {
+            Set<Suggestion> candidates = new HashSet<>(terminals);
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            Suggestion[] ranked = candidates.stream()
+                    .sorted(BY_SCORE)
+                    .limit(MAX_SUGGESTIONS)
+                    .toArray(Suggestion[]::new);
+            if (Arrays.equals(ranked, top)) {
+                return false;
+            }
+            top = ranked;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.Gaming.Backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bounded Caffeine caches for catalog reads and per-user recommendation state
+ * Each cache has its own size and TTL and records stats, which actuator publishes as
+ * cache.gets (hit/miss), cache.evictions and cache.size; catalog entries are invalidated per game
+ * by {@link com.Gaming.Backend.catalog.CatalogCacheInvalidator}, per-user ones are kept current by
+ * {@link com.Gaming.Backend.recommendation.PersonalizedSectionCache},
+ * {@link com.Gaming.Backend.recommendation.OwnershipIndex} and {@link com.Gaming.Backend.recommendation.UserProfileStore}
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String GAME_DETAILS = "gameDetails";
+    public static final String FEATURED_GAMES = "featuredGames";
+    public static final String GAMES_ON_SALE = "gamesOnSale";
+    public static final String PERSONALIZED_SECTIONS = "personalizedSections";
+    public static final String USER_PROFILES = "userProfiles";
+    public static final String OWNED_GAMES = "ownedGames";
+
+    @Value("${catalog.cache.game-details.max-size:10000}")
+    private long gameDetailsMaxSize;
+
+    @Value("${catalog.cache.game-details.ttl:10m}")
+    private Duration gameDetailsTtl;
+
+    @Value("${catalog.cache.lists.max-size:64}")
+    private long listsMaxSize;
+
+    @Value("${catalog.cache.lists.ttl:60s}")
+    private Duration listsTtl;
+
+    @Value("${recommendations.cache.personalized.max-size:50000}")
+    private long personalizedMaxSize;
+
+    @Value("${recommendations.cache.personalized.ttl:10m}")
+    private Duration personalizedTtl;
+
+    @Value("${recommendations.profile.max-size:100000}")
+    private long profilesMaxSize;
+
+    @Value("${recommendations.profile.ttl:1h}")
+    private Duration profilesTtl;
+
+    @Value("${recommendations.cache.owned-games.max-size:100000}")
+    private long ownedGamesMaxSize;
+
+    @Value("${recommendations.cache.owned-games.ttl:30m}")
+    private Duration ownedGamesTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches registered here exist; an unknown cache name fails fast
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(GAME_DETAILS, cache(gameDetailsMaxSize, gameDetailsTtl));
+        cacheManager.registerCustomCache(FEATURED_GAMES, cache(listsMaxSize, listsTtl));
+        cacheManager.registerCustomCache(GAMES_ON_SALE, cache(listsMaxSize, listsTtl));
+        cacheManager.registerCustomCache(PERSONALIZED_SECTIONS, cache(personalizedMaxSize, personalizedTtl));
+        cacheManager.registerCustomCache(USER_PROFILES, cache(profilesMaxSize, profilesTtl));
+        cacheManager.registerCustomCache(OWNED_GAMES, cache(ownedGamesMaxSize, ownedGamesTtl));
+        return cacheManager;
+    }
+
+    private static Cache<Object, Object> cache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.Gaming.Backend.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Clock;
+
+/**
+ * Scheduled jobs run on the taskScheduler pool (spring.task.scheduling.pool.size); the long
+ * activity rollup and retention jobs get their own thread so they never hold up the short
+ * periodic refreshes and flushes. Components that bucket or stamp events by time read the
+ * shared {@link Clock}, so tests can move time instead of waiting for it.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    public static final String ACTIVITY_MAINTENANCE_SCHEDULER = "activityMaintenanceScheduler";
+
+    /**
+     * Boot's default scheduler, declared here since any other scheduler bean would replace it
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+
+    @Bean(ACTIVITY_MAINTENANCE_SCHEDULER)
+    public ThreadPoolTaskScheduler activityMaintenanceScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("activity-maintenance-");
+        return scheduler;
+    }
+}
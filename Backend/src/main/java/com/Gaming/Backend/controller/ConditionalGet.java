@@ -0,0 +1,47 @@
+package com.Gaming.Backend.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+
+/**
+ * ETag handling for read endpoints whose version is known before the body is built, or cached with it
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Sets ETag and a revalidate-always Cache-Control, and returns true when the client's
+     * If-None-Match matches; the caller then returns null and the response is a bodiless 304
+     */
+    static boolean notModified(NativeWebRequest request, String etag) {
+        return notModified(request, etag, CacheControl.noCache());
+    }
+
+    /**
+     * As {@link #notModified(NativeWebRequest, String)} for responses that differ by user: they vary
+     * on Authorization, and an authenticated one is private so shared caches don't keep it
+     */
+    static boolean notModified(NativeWebRequest request, String etag, boolean authenticated) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        }
+        return notModified(request, etag, authenticated ? CacheControl.noCache().cachePrivate() : CacheControl.noCache());
+    }
+
+    private static boolean notModified(NativeWebRequest request, String etag, CacheControl cacheControl) {
+        if (etag == null) {
+            return false;
+        }
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            // Set explicitly, otherwise Spring Security's default no-store stops clients from revalidating
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        }
+        return request.checkNotModified(etag);
+    }
+}
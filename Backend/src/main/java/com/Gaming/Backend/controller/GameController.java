@@ -1,14 +1,23 @@
 package com.Gaming.Backend.controller;
 
+import com.Gaming.Backend.catalog.CatalogSection;
+import com.Gaming.Backend.catalog.CatalogVersions;
+import com.Gaming.Backend.dto.CursorPage;
 import com.Gaming.Backend.dto.game.GameDTO;
+import com.Gaming.Backend.dto.game.GameFilterRequest;
+import com.Gaming.Backend.dto.game.GameFilterResponse;
+import com.Gaming.Backend.dto.game.GameSuggestionDTO;
+import com.Gaming.Backend.exception.BadRequestException;
 import com.Gaming.Backend.service.GameService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.util.List;
 
@@ -19,29 +28,74 @@ import java.util.List;
 public class GameController {
 
     private final GameService gameService;
+    private final CatalogVersions catalogVersions;
 
     @GetMapping
     @Operation(summary = "Get all games", description = "Get paginated list of all active games")
     public ResponseEntity<Page<GameDTO>> getAllGames(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "12") int size,
-            @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy
+            @Parameter(description = "Sort by field: createdAt, price, discount, downloads, title") @RequestParam(defaultValue = "createdAt") String sortBy
     )  {
         Page<GameDTO> games = gameService.getAllGames(page, size, sortBy);
         return ResponseEntity.ok(games);
     }
 
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get all games (cursor)", description = "Keyset-paginated list of active games without a count query; pass an empty cursor for the first slice")
+    public ResponseEntity<CursorPage<GameDTO>> getAllGamesByCursor(
+            @Parameter(description = "Continuation token from the previous slice") @RequestParam String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "12") int size,
+            @Parameter(description = "Sort by field: createdAt, price, discount, downloads, title") @RequestParam(defaultValue = "createdAt") String sortBy
+    ) {
+        CursorPage<GameDTO> games = gameService.getAllGames(cursor, size, sortBy);
+        return ResponseEntity.ok(games);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get game by ID", description = "Get detailed game information")
     public ResponseEntity<GameDTO> getGameById(
-            @Parameter(description = "Game ID") @PathVariable Long id
+            @Parameter(description = "Game ID") @PathVariable Long id,
+            NativeWebRequest request
+    ) {
+        // The tag comes with the cached details, so it always describes the body it revalidates
+        GameService.GameDetails details = gameService.getGameDetails(id);
+        if (ConditionalGet.notModified(request, details.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok(details.game());
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get games by IDs", description = "Games in the order of the given IDs (max " + GameService.MAX_BATCH_IDS + "); unknown IDs are left out")
+    public ResponseEntity<List<GameDTO>> getGamesByIds(
+            @Parameter(description = "Comma-separated game IDs") @RequestParam List<Long> ids
+    ) {
+        List<GameDTO> games = gameService.getGamesByIds(ids);
+        return ResponseEntity.ok(games);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get games by IDs (body)", description = "Same as GET /games/batch, with the IDs as a JSON array for lists too long for a query string")
+    public ResponseEntity<List<GameDTO>> getGamesByIdsPost(
+            @RequestBody List<Long> ids
+    ) {
+        List<GameDTO> games = gameService.getGamesByIds(ids);
+        return ResponseEntity.ok(games);
+    }
+
+    @GetMapping("/{id}/similar")
+    @Operation(summary = "Get similar games", description = "Games with the most similar tags, found through MinHash/LSH")
+    public ResponseEntity<List<GameDTO>> getSimilarGames(
+            @Parameter(description = "Game ID") @PathVariable Long id,
+            @Parameter(description = "Number of games (max 50)") @RequestParam(defaultValue = "6") int limit
     ) {
-        GameDTO game = gameService.getGameById(id);
-        return ResponseEntity.ok(game);
+        List<GameDTO> games = gameService.getSimilarGames(id, Math.min(limit, 50));
+        return ResponseEntity.ok(games);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search games", description = "Search games by title or description")
+    @Operation(summary = "Search games", description = "Search games by title, description, tags or publisher, ranked by relevance")
     public ResponseEntity<Page<GameDTO>> searchGames(
             @Parameter(description = "Search keyword") @RequestParam String keyword,
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
@@ -51,24 +105,62 @@ public class GameController {
         return ResponseEntity.ok(games);
     }
 
+    @GetMapping(value = "/search", params = "cursor")
+    @Operation(summary = "Search games (cursor)", description = "Keyset-paginated relevance search without a total count; pass an empty cursor for the first slice (503 while the search index builds on startup)")
+    public ResponseEntity<CursorPage<GameDTO>> searchGamesByCursor(
+            @Parameter(description = "Search keyword") @RequestParam String keyword,
+            @Parameter(description = "Continuation token from the previous slice") @RequestParam String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "12") int size
+    ) {
+        CursorPage<GameDTO> games = gameService.searchGames(keyword, cursor, size);
+        return ResponseEntity.ok(games);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Search suggestions", description = "Typeahead over game titles, tags and publishers, ranked by downloads")
+    public ResponseEntity<List<GameSuggestionDTO>> suggest(
+            @Parameter(description = "Text typed so far") @RequestParam String prefix,
+            @Parameter(description = "Number of suggestions (max 10)") @RequestParam(defaultValue = "8") int limit
+    ) {
+        List<GameSuggestionDTO> suggestions = gameService.suggest(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     @GetMapping("/filter")
-    @Operation(summary = "Filter games", description = "Filter games by genre and price range")
-    public ResponseEntity<Page<GameDTO>> filterGames(
-            @Parameter(description = "Genre filter") @RequestParam(required = false) String genre,
-            @Parameter(description = "Minimum price") @RequestParam(required = false) Double minPrice,
-            @Parameter(description = "Maximum price") @RequestParam(required = false) Double maxPrice,
+    @Operation(summary = "Filter games", description = "Filter games by facets and price range, with live counts per facet value")
+    public ResponseEntity<GameFilterResponse> filterGames(
+            @ParameterObject GameFilterRequest filter,
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "12") int size
     ) {
-        Page<GameDTO> games = gameService.filterGames(genre, minPrice, maxPrice, page, size);
+        GameFilterResponse games = gameService.filterGames(filter.toQuery(), page, size);
+        return ResponseEntity.ok(games);
+    }
+
+    @GetMapping(value = "/filter", params = "cursor")
+    @Operation(summary = "Filter games (cursor)", description = "Keyset-paginated filtering without counts, always in ascending game ID order (sortBy is rejected); pass an empty cursor for the first slice (503 while the facet index builds on startup)")
+    public ResponseEntity<CursorPage<GameDTO>> filterGamesByCursor(
+            @ParameterObject GameFilterRequest filter,
+            @Parameter(description = "Continuation token from the previous slice") @RequestParam String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "12") int size,
+            @Parameter(hidden = true) @RequestParam(required = false) String sortBy
+    ) {
+        if (sortBy != null) {
+            throw new BadRequestException("Cursor filtering is always in ascending game ID order; sortBy is not supported");
+        }
+        CursorPage<GameDTO> games = gameService.filterGames(filter.toQuery(), cursor, size);
         return ResponseEntity.ok(games);
     }
 
     @GetMapping("/featured")
     @Operation(summary = "Get featured games", description = "Get top featured games by downloads")
     public ResponseEntity<List<GameDTO>> getFeaturedGames(
-            @Parameter(description = "Number of games") @RequestParam(defaultValue = "10") int limit
+            @Parameter(description = "Number of games") @RequestParam(defaultValue = "10") int limit,
+            NativeWebRequest request
     ) {
+        if (ConditionalGet.notModified(request, catalogVersions.sectionETag(CatalogSection.FEATURED, limit))) {
+            return null;
+        }
         List<GameDTO> games = gameService.getFeaturedGames(limit);
         return ResponseEntity.ok(games);
     }
@@ -76,9 +168,14 @@ public class GameController {
     @GetMapping("/on-sale")
     @Operation(summary = "Get games on sale", description = "Get games with active discounts")
     public ResponseEntity<List<GameDTO>> getGamesOnSale(
-            @Parameter(description = "Number of games") @RequestParam(defaultValue = "10") int limit
+            @Parameter(description = "Number of games") @RequestParam(defaultValue = "10") int limit,
+            NativeWebRequest request
     ) {
+        if (ConditionalGet.notModified(request, catalogVersions.sectionETag(CatalogSection.ON_SALE, limit))) {
+            return null;
+        }
         List<GameDTO> games = gameService.getGamesOnSale(limit);
         return ResponseEntity.ok(games);
     }
+
 }
@@ -1,13 +1,21 @@
 package com.Gaming.Backend.controller;
 
+import com.Gaming.Backend.catalog.CatalogSection;
 import com.Gaming.Backend.dto.GameDTO;
-import com.Gaming.Backend.entity.User;
+import com.Gaming.Backend.dto.HomepageDTO;
+import com.Gaming.Backend.recommendation.HomepageAssembler;
+import com.Gaming.Backend.recommendation.HomepageSnapshot;
+import com.Gaming.Backend.recommendation.HomepageSnapshotRefresher;
+import com.Gaming.Backend.recommendation.OwnedGames;
+import com.Gaming.Backend.recommendation.OwnershipIndex;
+import com.Gaming.Backend.security.UserPrincipal;
 import com.Gaming.Backend.service.RecommendationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.util.List;
 
@@ -19,10 +27,27 @@ import java.util.List;
 @RequestMapping("/api/recommendations")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*") // Configure properly in production
 public class RecommendationController {
     
     private final RecommendationService recommendationService;
+    private final HomepageSnapshotRefresher homepageSnapshotRefresher;
+    private final HomepageAssembler homepageAssembler;
+    private final OwnershipIndex ownershipIndex;
+    
+    /**
+     * Get every homepage section in one call
+     * Personalized sections are included for authenticated users; slow sections are omitted
+     */
+    @GetMapping("/home")
+    public ResponseEntity<HomepageDTO> getHome(
+            @AuthenticationPrincipal UserPrincipal user) {
+        
+        Long userId = (user != null) ? user.getId() : null;
+        
+        log.info("Getting homepage for user {}", userId);
+        HomepageDTO home = homepageAssembler.assemble(userId);
+        return ResponseEntity.ok(home);
+    }
     
     /**
      * Get personalized recommendations based on user preferences
@@ -30,7 +55,7 @@ public class RecommendationController {
      */
     @GetMapping("/for-you")
     public ResponseEntity<List<GameDTO>> getRecommendedGames(
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal UserPrincipal user) {
         
         if (user == null) {
             // Return empty for unauthenticated users
@@ -48,7 +73,7 @@ public class RecommendationController {
      */
     @GetMapping("/continue-playing")
     public ResponseEntity<List<GameDTO>> getContinuePlaying(
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal UserPrincipal user) {
         
         if (user == null) {
             return ResponseEntity.ok(List.of());
@@ -65,7 +90,7 @@ public class RecommendationController {
     @GetMapping("/because-you-viewed/{gameId}")
     public ResponseEntity<List<GameDTO>> getBecauseYouViewed(
             @PathVariable Long gameId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal UserPrincipal user) {
         
         Long userId = (user != null) ? user.getId() : null;
         
@@ -79,7 +104,7 @@ public class RecommendationController {
      */
     @GetMapping("/personalized-deals")
     public ResponseEntity<List<GameDTO>> getPersonalizedDeals(
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal UserPrincipal user) {
         
         if (user == null) {
             return ResponseEntity.ok(List.of());
@@ -92,41 +117,58 @@ public class RecommendationController {
     
     /**
      * Get trending games (public endpoint)
+     * Games the user owns are left out
      */
     @GetMapping("/trending")
-    public ResponseEntity<List<GameDTO>> getTrendingGames() {
-        log.info("Getting trending games");
-        List<GameDTO> games = recommendationService.getTrendingGames();
-        return ResponseEntity.ok(games);
+    public ResponseEntity<List<GameDTO>> getTrendingGames(
+            @AuthenticationPrincipal UserPrincipal user,
+            NativeWebRequest request) {
+        return publicSection(CatalogSection.TRENDING, user, request);
     }
     
     /**
      * Get editor's choice games (public endpoint)
+     * Games the user owns are left out
      */
     @GetMapping("/editor-choice")
-    public ResponseEntity<List<GameDTO>> getEditorChoice() {
-        log.info("Getting editor's choice games");
-        List<GameDTO> games = recommendationService.getEditorChoiceGames();
-        return ResponseEntity.ok(games);
+    public ResponseEntity<List<GameDTO>> getEditorChoice(
+            @AuthenticationPrincipal UserPrincipal user,
+            NativeWebRequest request) {
+        return publicSection(CatalogSection.EDITOR_CHOICE, user, request);
     }
     
     /**
      * Get recently released games (public endpoint)
+     * Games the user owns are left out
      */
     @GetMapping("/recently-released")
-    public ResponseEntity<List<GameDTO>> getRecentlyReleased() {
-        log.info("Getting recently released games");
-        List<GameDTO> games = recommendationService.getRecentlyReleasedGames();
-        return ResponseEntity.ok(games);
+    public ResponseEntity<List<GameDTO>> getRecentlyReleased(
+            @AuthenticationPrincipal UserPrincipal user,
+            NativeWebRequest request) {
+        return publicSection(CatalogSection.RECENTLY_RELEASED, user, request);
     }
     
     /**
      * Get budget-friendly games (public endpoint)
+     * Games the user owns are left out
      */
     @GetMapping("/budget-games")
-    public ResponseEntity<List<GameDTO>> getBudgetGames() {
-        log.info("Getting budget games");
-        List<GameDTO> games = recommendationService.getBudgetGames();
-        return ResponseEntity.ok(games);
+    public ResponseEntity<List<GameDTO>> getBudgetGames(
+            @AuthenticationPrincipal UserPrincipal user,
+            NativeWebRequest request) {
+        return publicSection(CatalogSection.BUDGET, user, request);
+    }
+    
+    /**
+     * A snapshot section; anonymous requests share its ETag, authenticated ones get a private
+     * response without the games they own
+     */
+    private ResponseEntity<List<GameDTO>> publicSection(CatalogSection name, UserPrincipal user, NativeWebRequest request) {
+        HomepageSnapshot.Section section = homepageSnapshotRefresher.section(name);
+        OwnedGames owned = ownershipIndex.owned(user != null ? user.getId() : null);
+        if (ConditionalGet.notModified(request, section.etag(owned), user != null)) {
+            return null;
+        }
+        return ResponseEntity.ok(section.games(owned));
     }
 }
@@ -1,17 +1,32 @@
 package com.Gaming.Backend.controller;
 
+import com.Gaming.Backend.activity.ActivityIngestor;
+import com.Gaming.Backend.dto.ActivityBatchResponse;
 import com.Gaming.Backend.dto.ActivityTrackingRequest;
-import com.Gaming.Backend.entity.Game;
-import com.Gaming.Backend.entity.User;
-import com.Gaming.Backend.repository.GameRepository;
+import com.Gaming.Backend.exception.BadRequestException;
+import com.Gaming.Backend.exception.PayloadTooLargeException;
+import com.Gaming.Backend.security.UserPrincipal;
 import com.Gaming.Backend.service.UserActivityService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 /**
  * REST Controller for tracking user activity
  * Receives activity events from frontend
@@ -20,43 +35,119 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/activity")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*") // Configure properly in production
 public class UserActivityController {
     
     private final UserActivityService userActivityService;
-    private final GameRepository gameRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${activity.stream.max-line-length:4096}")
+    private final int maxLineLength;
     
     /**
      * Track user activity (VIEW, CLICK, PURCHASE, WISHLIST)
+     * Accepted once queued; the activity is written in the background
      */
     @PostMapping("/track")
     public ResponseEntity<Void> trackActivity(
             @Valid @RequestBody ActivityTrackingRequest request,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal UserPrincipal user) {
         
         if (user == null) {
             log.warn("Activity tracking attempted without authentication");
             return ResponseEntity.ok().build(); // Silently ignore for unauthenticated users
         }
         
-        log.info("Tracking {} activity for user {} on game {}", 
-                request.getActivityType(), user.getId(), request.getGameId());
+        ActivityIngestor.Admission admission = userActivityService.trackActivity(
+                user.getId(), request.getGameId(), request.getActivityType());
+        if (admission == ActivityIngestor.Admission.REJECTED) {
+            // Ingestion queue full: ask the client to send it again shortly
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+        
+        return ResponseEntity.accepted().build();
+    }
+    
+    /**
+     * Track several activities in one request (at most {@link UserActivityService#MAX_BATCH_ITEMS})
+     * Each item is validated on its own; invalid ones are reported by position and the rest queued
+     */
+    @PostMapping("/track/batch")
+    public ResponseEntity<ActivityBatchResponse> trackActivities(
+            @RequestBody List<ActivityTrackingRequest> requests,
+            @AuthenticationPrincipal UserPrincipal user) {
+        
+        ActivityBatchResponse response = new ActivityBatchResponse();
+        if (user == null) {
+            log.warn("Batch activity tracking attempted without authentication");
+            return ResponseEntity.ok(response);
+        }
+        if (requests.size() > UserActivityService.MAX_BATCH_ITEMS) {
+            throw new BadRequestException("At most " + UserActivityService.MAX_BATCH_ITEMS + " activities per batch");
+        }
         
-        // Get game genre for preference update
-        String genre = null;
-        var gameOpt = gameRepository.findById(request.getGameId());
-        if (gameOpt.isPresent()) {
-            genre = gameOpt.get().getGenre();
+        for (int i = 0; i < requests.size(); i++) {
+            response.record(i, userActivityService.trackBatchItem(user.getId(), requests.get(i)));
         }
+        return ResponseEntity.accepted().body(response);
+    }
+    
+    /**
+     * Track activities sent as newline-delimited JSON, one activity per line
+     * Lines are queued as they arrive, so a client can keep the stream open; the outcome is
+     * returned when the client ends the request. A stream of more than
+     * {@link UserActivityService#MAX_BATCH_ITEMS} activities or with a line longer than
+     * activity.stream.max-line-length is cut off with 413 (activities before it stay queued).
+     */
+    @PostMapping(value = "/track/stream", consumes = "application/x-ndjson")
+    public ResponseEntity<ActivityBatchResponse> trackActivityStream(
+            InputStream body,
+            @AuthenticationPrincipal UserPrincipal user) throws IOException {
         
-        // Track activity
-        userActivityService.trackActivity(
-                user, 
-                request.getGameId(), 
-                request.getActivityType(), 
-                genre
-        );
+        ActivityBatchResponse response = new ActivityBatchResponse();
+        if (user == null) {
+            log.warn("Streamed activity tracking attempted without authentication");
+            return ResponseEntity.ok(response);
+        }
         
-        return ResponseEntity.ok().build();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        int index = 0;
+        String line;
+        while ((line = readLine(reader, index)) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (index == UserActivityService.MAX_BATCH_ITEMS) {
+                throw new PayloadTooLargeException("At most " + UserActivityService.MAX_BATCH_ITEMS + " activities per stream");
+            }
+            String reason;
+            try {
+                reason = userActivityService.trackBatchItem(user.getId(),
+                        objectMapper.readValue(line, ActivityTrackingRequest.class));
+            } catch (JsonProcessingException ex) {
+                reason = "Malformed JSON";
+            }
+            response.record(index++, reason);
+        }
+        return ResponseEntity.accepted().body(response);
+    }
+    
+    /**
+     * Next line without its terminator, or null at the end of the stream; never buffers more than one line's limit
+     */
+    private String readLine(Reader reader, int index) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                return line.toString();
+            }
+            if (line.length() == maxLineLength) {
+                throw new PayloadTooLargeException("Activity " + index + " is longer than " + maxLineLength + " characters");
+            }
+            line.append((char) c);
+        }
+        return line.isEmpty() ? null : line.toString();
     }
 }
@@ -0,0 +1,383 @@
+package com.Gaming.Backend.data;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic production-scale dataset for local load testing (profile "synthetic")
+ *
+ * Generates publishers, games with tags and images, users, and per user: an activity history,
+ * the genre preference counts that history implies, and a library. Popularity is Zipf-distributed
+ * over games and genres; each user has a few favourite genres that most of their activity goes to,
+ * so genre-based and co-occurrence recommendations have structure to find. Activity is heavy-tailed
+ * per user and skewed towards recent days. The same seed and sizes always give the same data.
+ *
+ * Rows are written with JDBC batches and explicit IDs after the existing ones; generation is
+ * skipped when the games table already holds the requested number of games.
+ */
+@Slf4j
+@Component
+@Profile("synthetic")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 5000;
+    private static final String[] GENRES = {
+            "Action", "Adventure", "RPG", "Shooter", "Strategy", "Simulation", "Sports", "Racing",
+            "Puzzle", "Horror", "Platformer", "Fighting", "Survival", "Sandbox", "MMO", "Roguelike",
+            "Stealth", "Rhythm", "Visual Novel", "Card Game"};
+    private static final int TAGS_PER_GENRE = 12;
+    private static final int SHARED_TAGS = 60;
+    private static final String[] ACTIVITY_TYPES = {"VIEW", "CLICK", "WISHLIST", "PURCHASE"};
+    private static final double[] ACTIVITY_TYPE_SHARES = {0.70, 0.20, 0.07, 0.03};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${synthetic.seed:42}")
+    private long seed;
+
+    @Value("${synthetic.publishers:2000}")
+    private int publishers;
+
+    @Value("${synthetic.games:200000}")
+    private int games;
+
+    @Value("${synthetic.users:100000}")
+    private int users;
+
+    @Value("${synthetic.activities:5000000}")
+    private long activities;
+
+    @Value("${synthetic.library-per-user:12}")
+    private int libraryPerUser;
+
+    @Value("${synthetic.history-days:180}")
+    private int historyDays;
+
+    /**
+     * Generated games, in ID order, with what the user generation needs
+     */
+    private long[] gameIds;
+    private int[] gameGenres;
+    // Game indexes per genre and for the whole catalog, most popular first
+    private int[][] genreGames;
+    private int[] popularGames;
+
+    @Override
+    public void run(String... args) {
+        long existing = count("games");
+        if (existing >= games) {
+            log.info("Synthetic data already present ({} games), skipping generation", existing);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        long publisherBase = nextId("publishers");
+        generatePublishers(publisherBase);
+        generateGames(nextId("games"), publisherBase, now);
+        generateUsers(nextId("users"), now);
+        restartIdentities();
+        log.info("Generated synthetic data in {} s", (System.currentTimeMillis() - start) / 1000);
+    }
+
+    private void generatePublishers(long base) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < publishers; i++) {
+            rows.add(new Object[]{base + i, "Synthetic Publisher " + (base + i), true});
+        }
+        insert("INSERT INTO publishers (id, name, active) VALUES (?, ?, ?)", rows);
+        log.info("Generated {} publishers", publishers);
+    }
+
+    private void generateGames(long base, long publisherBase, LocalDateTime now) {
+        SplittableRandom random = new SplittableRandom(seed);
+        gameIds = new long[games];
+        gameGenres = new int[games];
+        double[] genreWeights = zipfWeights(GENRES.length, 1.0);
+        double[] publisherPopularity = cumulative(zipfWeights(publishers, 1.1));
+        // Popularity rank of each game, shuffled so popularity doesn't follow ID order
+        int[] rank = shuffledRange(games, random);
+
+        List<Object[]> gameRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> tagRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> imageRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < games; i++) {
+            long id = base + i;
+            int genre = pick(genreWeights, random);
+            gameIds[i] = id;
+            gameGenres[i] = genre;
+
+            boolean freeToPlay = random.nextDouble() < 0.08;
+            double price = freeToPlay ? 0.0 : Math.round((4.99 + random.nextInt(14) * 5.0) * 100) / 100.0;
+            double discount = random.nextDouble() < 0.25 ? 10 + random.nextInt(14) * 5 : 0.0;
+            int downloads = (int) (5_000_000 / Math.pow(rank[i] + 1, 1.1));
+            double rating = Math.max(1.0, Math.min(5.0, 3.6 + random.nextGaussian() * 0.8));
+            LocalDate releaseDate = random.nextDouble() < 0.05
+                    ? now.toLocalDate().minusDays(random.nextInt(90))
+                    : now.toLocalDate().minusDays(90 + random.nextInt(3650));
+            gameRows.add(new Object[]{
+                    id, "Synthetic Game " + id, "Generated game " + id + " for load testing", price, discount,
+                    GENRES[genre], publisherBase + sample(publisherPopularity, random), releaseDate, random.nextDouble() >= 0.02,
+                    downloads, Math.round(rating * 10) / 10.0, downloads / 100, freeToPlay,
+                    rank[i] < games / 100, random.nextDouble() < 0.005, now.minusDays(random.nextInt(3650))});
+
+            for (String tag : tags(genre, random)) {
+                tagRows.add(new Object[]{id, tag});
+            }
+            int images = 1 + random.nextInt(4);
+            for (int k = 0; k < images; k++) {
+                imageRows.add(new Object[]{id, "https://cdn.example.com/games/" + id + "/" + k + ".jpg"});
+            }
+            if (gameRows.size() == BATCH_SIZE) {
+                flushGames(gameRows, tagRows, imageRows);
+            }
+        }
+        flushGames(gameRows, tagRows, imageRows);
+
+        popularGames = new int[games];
+        for (int i = 0; i < games; i++) {
+            popularGames[rank[i]] = i;
+        }
+        List<List<Integer>> byGenre = new ArrayList<>();
+        for (int g = 0; g < GENRES.length; g++) {
+            byGenre.add(new ArrayList<>());
+        }
+        for (int index : popularGames) {
+            byGenre.get(gameGenres[index]).add(index);
+        }
+        genreGames = byGenre.stream().map(list -> list.stream().mapToInt(Integer::intValue).toArray()).toArray(int[][]::new);
+        log.info("Generated {} games", games);
+    }
+
+    private void flushGames(List<Object[]> gameRows, List<Object[]> tagRows, List<Object[]> imageRows) {
+        insert("INSERT INTO games (id, title, description, price, discount, genre, publisher_id, release_date, active, " +
+                "downloads, average_rating, review_count, is_free_to_play, featured, editor_pick, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", gameRows);
+        insert("INSERT INTO game_tags (game_id, tag) VALUES (?, ?)", tagRows);
+        insert("INSERT INTO game_images (game_id, image_url) VALUES (?, ?)", imageRows);
+    }
+
+    /**
+     * 3 to 8 tags, mostly from the genre's own tags and otherwise from the shared ones
+     */
+    private static Set<String> tags(int genre, SplittableRandom random) {
+        Set<String> tags = new LinkedHashSet<>();
+        int count = 3 + random.nextInt(6);
+        while (tags.size() < count) {
+            if (random.nextDouble() < 0.7) {
+                tags.add(GENRES[genre].toLowerCase().replace(' ', '-') + "-" + random.nextInt(TAGS_PER_GENRE));
+            } else {
+                tags.add("tag-" + random.nextInt(SHARED_TAGS));
+            }
+        }
+        return tags;
+    }
+
+    private void generateUsers(long base, LocalDateTime now) {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        String password = passwordEncoder.encode("synthetic123");
+        double[] genreWeights = zipfWeights(GENRES.length, 1.0);
+        double[] popularity = cumulative(zipfWeights(games, 1.0));
+        double[][] genrePopularity = new double[GENRES.length][];
+        for (int g = 0; g < GENRES.length; g++) {
+            genrePopularity[g] = cumulative(zipfWeights(Math.max(1, genreGames[g].length), 1.0));
+        }
+        // Pareto(1.5) has mean 3, scaled so users average the requested activity count
+        double activityScale = (double) activities / users / 3;
+        long activityId = nextId("user_activity");
+        long libraryId = nextId("user_library");
+        long preferenceId = nextId("user_game_preference");
+        long generated = 0;
+
+        List<Object[]> userRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> activityRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> libraryRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> preferenceRows = new ArrayList<>(BATCH_SIZE);
+        for (int u = 0; u < users; u++) {
+            long userId = base + u;
+            userRows.add(new Object[]{userId, "synthetic" + userId, "synthetic" + userId + "@example.com", password,
+                    "USER", "USA", true, now.minusDays(random.nextInt(1000))});
+
+            int[] favourites = new int[1 + random.nextInt(3)];
+            for (int f = 0; f < favourites.length; f++) {
+                favourites[f] = pick(genreWeights, random);
+            }
+            int count = (int) Math.min(5000, Math.max(1, activityScale / Math.pow(1 - random.nextDouble(), 1 / 1.5)));
+            Map<Integer, Integer> genreCounts = new HashMap<>();
+            Map<Long, LocalDateTime> owned = new HashMap<>();
+            LocalDateTime[] times = new LocalDateTime[count];
+            for (int a = 0; a < count; a++) {
+                // Exponential ages with a mean of a sixth of the history, capped at the history
+                double age = Math.min(historyDays, -Math.log(1 - random.nextDouble()) * historyDays / 6.0);
+                times[a] = now.minusSeconds((long) (age * 86400));
+            }
+            Arrays.sort(times);
+            for (LocalDateTime time : times) {
+                int game = random.nextDouble() < 0.7
+                        ? favouriteGame(favourites, genrePopularity, random)
+                        : popularGames[sample(popularity, random)];
+                String type = ACTIVITY_TYPES[pick(ACTIVITY_TYPE_SHARES, random)];
+                activityRows.add(new Object[]{activityId++, userId, gameIds[game], type, time});
+                genreCounts.merge(gameGenres[game], 1, Integer::sum);
+                if (type.equals("PURCHASE")) {
+                    owned.putIfAbsent(gameIds[game], time);
+                }
+                if (activityRows.size() == BATCH_SIZE) {
+                    // Users first: their activity references them
+                    flushUsers(userRows, activityRows, libraryRows, preferenceRows);
+                }
+            }
+            generated += count;
+
+            int extra = (int) (-Math.log(1 - random.nextDouble()) * libraryPerUser);
+            for (int o = 0; o < extra; o++) {
+                long gameId = gameIds[random.nextDouble() < 0.5
+                        ? favouriteGame(favourites, genrePopularity, random)
+                        : popularGames[sample(popularity, random)]];
+                owned.putIfAbsent(gameId, now.minusDays(random.nextInt(1000)));
+            }
+            for (Map.Entry<Long, LocalDateTime> entry : owned.entrySet()) {
+                libraryRows.add(new Object[]{libraryId++, userId, entry.getKey(), entry.getValue(), random.nextInt(300)});
+            }
+            for (Map.Entry<Integer, Integer> entry : genreCounts.entrySet()) {
+                preferenceRows.add(new Object[]{preferenceId++, userId, GENRES[entry.getKey()], entry.getValue(), now});
+            }
+
+            if (userRows.size() == BATCH_SIZE) {
+                flushUsers(userRows, activityRows, libraryRows, preferenceRows);
+            }
+        }
+        flushUsers(userRows, activityRows, libraryRows, preferenceRows);
+        log.info("Generated {} users with {} activities", users, generated);
+    }
+
+    private void flushUsers(List<Object[]> userRows, List<Object[]> activityRows,
+                            List<Object[]> libraryRows, List<Object[]> preferenceRows) {
+        insert("INSERT INTO users (id, username, email, password, role, country, active, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", userRows);
+        insert("INSERT INTO user_activity (id, user_id, game_id, activity_type, timestamp) VALUES (?, ?, ?, ?, ?)", activityRows);
+        insert("INSERT INTO user_library (id, user_id, game_id, purchase_date, play_time_hours) VALUES (?, ?, ?, ?, ?)", libraryRows);
+        insert("INSERT INTO user_game_preference (id, user_id, genre, interaction_count, last_updated) VALUES (?, ?, ?, ?, ?)", preferenceRows);
+    }
+
+    private int favouriteGame(int[] favourites, double[][] genrePopularity, SplittableRandom random) {
+        int genre = favourites[random.nextInt(favourites.length)];
+        if (genreGames[genre].length == 0) {
+            return popularGames[0];
+        }
+        return genreGames[genre][sample(genrePopularity[genre], random)];
+    }
+
+    /**
+     * Insert the rows in one JDBC batch and clear them
+     */
+    private void insert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max + 1 : 1;
+    }
+
+    /**
+     * H2 identity columns don't move past explicitly inserted IDs (MySQL's AUTO_INCREMENT does)
+     */
+    private void restartIdentities() {
+        String product = jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(product)) {
+            return;
+        }
+        for (String table : List.of("publishers", "games", "users", "user_activity", "user_library", "user_game_preference")) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+        }
+    }
+
+    private static double[] zipfWeights(int n, double exponent) {
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1 / Math.pow(i + 1, exponent);
+        }
+        return weights;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Index drawn in proportion to the weights (linear; for short weight arrays)
+     */
+    private static int pick(double[] weights, SplittableRandom random) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double target = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * Index drawn from cumulative weights by binary search
+     */
+    private static int sample(double[] cumulative, SplittableRandom random) {
+        int at = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        return Math.min(at >= 0 ? at : -at - 1, cumulative.length - 1);
+    }
+
+    private static int[] shuffledRange(int n, SplittableRandom random) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+}
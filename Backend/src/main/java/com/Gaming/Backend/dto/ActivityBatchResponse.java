@@ -0,0 +1,40 @@
+package com.Gaming.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch or NDJSON activity upload
+ * Items are numbered from 0 in the order sent (array position or non-blank line); only rejected ones are listed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityBatchResponse {
+
+    private int accepted;
+    private List<RejectedActivity> rejected = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RejectedActivity {
+        private int index;
+        private String reason;
+    }
+
+    /**
+     * Count an item as accepted when reason is null, otherwise list it as rejected
+     */
+    public void record(int index, String reason) {
+        if (reason == null) {
+            accepted++;
+        } else {
+            rejected.add(new RejectedActivity(index, reason));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.Gaming.Backend.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,7 +20,8 @@ public class ActivityTrackingRequest {
     private Long gameId;
     
     @NotBlank(message = "Activity type is required")
-    private String activityType; // VIEW, CLICK, PURCHASE, WISHLIST
+    @Pattern(regexp = "VIEW|CLICK|PURCHASE|WISHLIST", message = "must be one of VIEW, CLICK, PURCHASE, WISHLIST")
+    private String activityType; // One of ActivityType
     
     /**
      * Enum for valid activity types
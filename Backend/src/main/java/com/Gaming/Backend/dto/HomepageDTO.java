@@ -0,0 +1,22 @@
+package com.Gaming.Backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All homepage sections in one response
+ * Sections that failed or missed their deadline are left out and listed in omittedSections
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomepageDTO {
+
+    private Map<String, List<GameDTO>> sections;
+    private Long becauseYouViewedGameId; // Game the "Because You Viewed" section is based on
+    private List<String> omittedSections;
+}
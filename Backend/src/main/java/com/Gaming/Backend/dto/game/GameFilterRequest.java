@@ -0,0 +1,50 @@
+package com.Gaming.Backend.dto.game;
+
+import com.Gaming.Backend.catalog.GameFacetIndex;
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Query parameters of GET /games/filter (bound from the query string)
+ */
+@Data
+public class GameFilterRequest {
+
+    @Parameter(description = "Genres (any of)")
+    private Set<String> genre;
+
+    @Parameter(description = "Tags")
+    private Set<String> tag;
+
+    @Parameter(description = "Tag matching: any or all")
+    private String tagMatch = "any";
+
+    @Parameter(description = "Publisher names (any of)")
+    private Set<String> publisher;
+
+    @Parameter(description = "Price buckets, e.g. FREE, UNDER_10, FROM_10_TO_20")
+    private Set<String> price;
+
+    @Parameter(description = "Minimum price")
+    private Double minPrice;
+
+    @Parameter(description = "Maximum price")
+    private Double maxPrice;
+
+    @Parameter(description = "Only free-to-play games")
+    private Boolean freeToPlay;
+
+    @Parameter(description = "Only discounted games")
+    private Boolean onSale;
+
+    public GameFacetIndex.FacetQuery toQuery() {
+        return new GameFacetIndex.FacetQuery(orEmpty(genre), orEmpty(tag), "all".equalsIgnoreCase(tagMatch),
+                orEmpty(publisher), orEmpty(price), minPrice, maxPrice, freeToPlay, onSale);
+    }
+
+    private static Set<String> orEmpty(Set<String> values) {
+        return values != null ? values : Set.of();
+    }
+}
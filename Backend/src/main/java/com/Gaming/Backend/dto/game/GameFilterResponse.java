@@ -0,0 +1,20 @@
+package com.Gaming.Backend.dto.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.Map;
+
+/**
+ * Filtered page of games plus facet counts for the browse sidebar
+ * facets: facet name (genre, tag, publisher, price, freeToPlay, onSale) -> value -> matching games
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameFilterResponse {
+    private Page<GameDTO> games;
+    private Map<String, Map<String, Integer>> facets;
+}
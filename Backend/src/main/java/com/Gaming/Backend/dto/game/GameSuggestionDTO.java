@@ -0,0 +1,14 @@
+package com.Gaming.Backend.dto.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameSuggestionDTO {
+    private String text;
+    private String type; // GAME, TAG, PUBLISHER
+    private Long gameId; // Only set for GAME suggestions
+}
@@ -1,5 +1,6 @@
 package com.Gaming.Backend.entity;
 
+import com.Gaming.Backend.event.CatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,6 +13,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@EntityListeners(CatalogEntityListener.class)
 @Table(name = "games")
 @Data
 @NoArgsConstructor
@@ -0,0 +1,41 @@
+package com.Gaming.Backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Daily rollup of user_activity: how often a game was viewed, clicked, etc. on one day
+ * Maintained by the activity rollup job, so it outlives the purged raw rows
+ */
+@Entity
+@Table(name = "game_activity_daily",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"game_id", "activity_date", "activity_type"}),
+    indexes = {
+        @Index(name = "idx_game_activity_date", columnList = "activity_date")
+    }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameActivityDaily {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+    
+    @Column(name = "activity_date", nullable = false)
+    private LocalDate activityDate;
+    
+    @Column(name = "activity_type", nullable = false, length = 20)
+    private String activityType;
+    
+    @Column(name = "activity_count", nullable = false)
+    private Long activityCount;
+}
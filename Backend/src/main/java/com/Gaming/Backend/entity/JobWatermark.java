@@ -0,0 +1,29 @@
+package com.Gaming.Backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far an incremental background job has processed its source table
+ */
+@Entity
+@Table(name = "job_watermark")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobWatermark {
+    
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+    
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.Gaming.Backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A personalized section computed offline for one user
+ * Stores the ranked game IDs together with the top genres they were computed for,
+ * so a row can be recognized as outdated once the user's genres move on
+ */
+@Entity
+@Table(name = "precomputed_recommendation",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "section"})
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrecomputedRecommendation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "section", nullable = false, length = 32)
+    private String section;
+    
+    @Column(name = "genres", nullable = false, length = 200)
+    private String genres; // Comma-separated, sorted
+    
+    @Column(name = "game_ids", nullable = false, length = 1000)
+    private String gameIds; // Comma-separated, best first
+    
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
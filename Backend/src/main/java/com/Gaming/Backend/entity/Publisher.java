@@ -1,11 +1,13 @@
 package com.Gaming.Backend.entity;
 
+import com.Gaming.Backend.event.CatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(CatalogEntityListener.class)
 @Table(name = "publishers")
 @Data
 @NoArgsConstructor
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "user_activity", indexes = {
     @Index(name = "idx_user_timestamp", columnList = "user_id,timestamp"),
-    @Index(name = "idx_user_activity_type", columnList = "user_id,activity_type")
+    @Index(name = "idx_user_activity_type", columnList = "user_id,activity_type"),
+    @Index(name = "idx_activity_timestamp", columnList = "timestamp")
 })
 @Data
 @NoArgsConstructor
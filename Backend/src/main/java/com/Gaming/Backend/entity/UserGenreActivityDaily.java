@@ -0,0 +1,38 @@
+package com.Gaming.Backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Daily rollup of user_activity: how often a user interacted with games of one genre on one day
+ * Maintained by the activity rollup job, so it outlives the purged raw rows
+ */
+@Entity
+@Table(name = "user_genre_activity_daily",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "activity_date", "genre"})
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserGenreActivityDaily {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "genre", nullable = false, length = 100)
+    private String genre;
+    
+    @Column(name = "activity_date", nullable = false)
+    private LocalDate activityDate;
+    
+    @Column(name = "activity_count", nullable = false)
+    private Long activityCount;
+}
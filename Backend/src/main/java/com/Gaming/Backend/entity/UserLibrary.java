@@ -1,5 +1,6 @@
 package com.Gaming.Backend.entity;
 
+import com.Gaming.Backend.event.LibraryEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,6 +10,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(LibraryEntityListener.class)
 @Table(name = "user_library", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "game_id"})
 })
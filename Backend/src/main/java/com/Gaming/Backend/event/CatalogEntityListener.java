@@ -0,0 +1,41 @@
+package com.Gaming.Backend.event;
+
+import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.entity.Publisher;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener for catalog entities
+ * Turns Game/Publisher lifecycle callbacks into application events so that
+ * in-memory catalog structures stay in sync no matter which code path saved the entity
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        publish(entity, false);
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        publish(entity, true);
+    }
+
+    private void publish(Object entity, boolean removed) {
+        if (entity instanceof Game game) {
+            eventPublisher.publishEvent(new GameChangedEvent(game.getId(), removed));
+        } else if (entity instanceof Publisher publisher) {
+            eventPublisher.publishEvent(new PublisherChangedEvent(publisher.getId()));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.Gaming.Backend.event;
+
+/**
+ * Published whenever a Game row is inserted, updated or deleted
+ * Listeners that keep in-memory catalog state use it to refresh a single game
+ */
+public record GameChangedEvent(Long gameId, boolean removed) {
+}
@@ -0,0 +1,7 @@
+package com.Gaming.Backend.event;
+
+/**
+ * Published whenever a game is added to a user's library
+ */
+public record GameOwnedEvent(Long userId, Long gameId) {
+}
@@ -0,0 +1,23 @@
+package com.Gaming.Backend.event;
+
+import com.Gaming.Backend.entity.UserLibrary;
+import jakarta.persistence.PostPersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener for UserLibrary
+ * Publishes ownership as an application event whichever code path adds the library entry
+ */
+@Component
+@RequiredArgsConstructor
+public class LibraryEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onAdded(UserLibrary entry) {
+        eventPublisher.publishEvent(new GameOwnedEvent(entry.getUser().getId(), entry.getGame().getId()));
+    }
+}
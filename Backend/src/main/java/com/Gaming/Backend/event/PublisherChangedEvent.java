@@ -0,0 +1,8 @@
+package com.Gaming.Backend.event;
+
+/**
+ * Published whenever a Publisher row is inserted, updated or deleted
+ * Games denormalize the publisher name, so listeners refresh every game of the publisher
+ */
+public record PublisherChangedEvent(Long publisherId) {
+}
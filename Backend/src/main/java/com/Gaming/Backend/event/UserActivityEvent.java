@@ -0,0 +1,12 @@
+package com.Gaming.Backend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published for every tracked user interaction (VIEW, CLICK, PURCHASE, WISHLIST)
+ * Listeners that keep in-memory behavioural state apply it after the activity is committed;
+ * activityId is the user_activity row's, so state loaded from the table can skip rows it already read
+ */
+public record UserActivityEvent(Long activityId, Long userId, Long gameId, String activityType, String genre,
+                                LocalDateTime timestamp) {
+}
@@ -0,0 +1,98 @@
+package com.Gaming.Backend.mapper;
+
+import com.Gaming.Backend.dto.game.GameDTO;
+import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.repository.projection.GameCardView;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hand-written Game mappers for the catalog and recommendation DTOs
+ * Field-for-field equivalent to the previous ModelMapper (STRICT, skip nulls) setup, without reflection
+ */
+@Component
+public class GameMapper {
+
+    /**
+     * Catalog/store view of a game
+     */
+    public GameDTO toDTO(Game game) {
+        GameDTO dto = new GameDTO();
+        dto.setId(game.getId());
+        dto.setTitle(game.getTitle());
+        dto.setDescription(game.getDescription());
+        dto.setPrice(game.getPrice());
+        dto.setDiscount(game.getDiscount());
+        dto.setDiscountedPrice(game.getDiscountedPrice());
+        dto.setGenre(game.getGenre());
+        dto.setTags(copy(game.getTags()));
+        if (game.getPublisher() != null) {
+            dto.setPublisherName(game.getPublisher().getName());
+        }
+        dto.setReleaseDate(game.getReleaseDate());
+        dto.setImages(copy(game.getImages()));
+        dto.setTrailerLink(game.getTrailerLink());
+        dto.setAverageRating(game.getAverageRating());
+        dto.setReviewCount(game.getReviewCount());
+        dto.setDownloads(game.getDownloads());
+        return dto;
+    }
+
+    /**
+     * Homepage card view of a game, with the first image as the primary one
+     */
+    public com.Gaming.Backend.dto.GameDTO toCardDTO(Game game) {
+        com.Gaming.Backend.dto.GameDTO dto = new com.Gaming.Backend.dto.GameDTO();
+        dto.setId(game.getId());
+        dto.setTitle(game.getTitle());
+        dto.setDescription(game.getDescription());
+        dto.setPrice(game.getPrice());
+        dto.setDiscount(game.getDiscount());
+        dto.setEffectivePrice(game.getDiscountedPrice());
+        dto.setGenre(game.getGenre());
+        if (game.getPublisher() != null) {
+            dto.setPublisher(game.getPublisher().getName());
+        }
+        dto.setReleaseDate(game.getReleaseDate());
+        if (game.getImages() != null && !game.getImages().isEmpty()) {
+            dto.setImageUrl(game.getImages().iterator().next());
+        }
+        dto.setTrailerLink(game.getTrailerLink());
+        dto.setRating(game.getAverageRating());
+        dto.setReviewCount(game.getReviewCount());
+        dto.setIsFreeToPlay(game.getIsFreeToPlay());
+        dto.setFeatured(game.getFeatured());
+        dto.setEditorPick(game.getEditorPick());
+        dto.setDownloads(game.getDownloads());
+        return dto;
+    }
+
+    /**
+     * Homepage card view from a projection row (description and trailer are not part of a card)
+     */
+    public com.Gaming.Backend.dto.GameDTO toCardDTO(GameCardView card, String imageUrl) {
+        com.Gaming.Backend.dto.GameDTO dto = new com.Gaming.Backend.dto.GameDTO();
+        dto.setId(card.id());
+        dto.setTitle(card.title());
+        dto.setPrice(card.price());
+        dto.setDiscount(card.discount());
+        dto.setEffectivePrice(card.effectivePrice());
+        dto.setGenre(card.genre());
+        dto.setPublisher(card.publisherName());
+        dto.setReleaseDate(card.releaseDate());
+        dto.setImageUrl(imageUrl);
+        dto.setRating(card.averageRating());
+        dto.setReviewCount(card.reviewCount());
+        dto.setIsFreeToPlay(card.isFreeToPlay());
+        dto.setFeatured(card.featured());
+        dto.setEditorPick(card.editorPick());
+        dto.setDownloads(card.downloads());
+        return dto;
+    }
+
+    private static Set<String> copy(Set<String> values) {
+        return values != null ? new HashSet<>(values) : null;
+    }
+}
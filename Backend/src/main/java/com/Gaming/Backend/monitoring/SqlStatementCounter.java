@@ -0,0 +1,49 @@
+package com.Gaming.Backend.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread
+ * Registered as Hibernate's statement inspector; {@link SqlStatementCountFilter} resets it per request.
+ * Work fanned out to other threads counts towards the request when wrapped with {@link #propagate}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNT = ThreadLocal.withInitial(AtomicInteger::new);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get().incrementAndGet();
+        return sql;
+    }
+
+    /**
+     * Start a fresh count; tasks still running for the previous request keep the old one
+     */
+    public static void reset() {
+        COUNT.set(new AtomicInteger());
+    }
+
+    public static int current() {
+        return COUNT.get().get();
+    }
+
+    /**
+     * Wrap a task so the statements it runs on a worker thread count towards the caller's count
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicInteger count = COUNT.get();
+        return () -> {
+            AtomicInteger previous = COUNT.get();
+            COUNT.set(count);
+            try {
+                return task.get();
+            } finally {
+                COUNT.set(previous);
+            }
+        };
+    }
+}
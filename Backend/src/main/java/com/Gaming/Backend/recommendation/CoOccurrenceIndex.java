@@ -0,0 +1,245 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.event.GameOwnedEvent;
+import com.Gaming.Backend.event.UserActivityEvent;
+import com.Gaming.Backend.repository.UserActivityRepository;
+import com.Gaming.Backend.repository.UserLibraryRepository;
+import com.Gaming.Backend.repository.projection.ActivityRow;
+import com.Gaming.Backend.repository.projection.OwnershipRow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Item-to-item co-occurrence over user behaviour, for "Because You Viewed"
+ *
+ * A user's affinity to a game is the strongest signal seen for it (view 1, click 2, purchase or
+ * ownership 5), so replays and repeated views are idempotent. Two games co-occur with weight
+ * sum over users of min(affinity a, affinity b), updated on every event against the user's last
+ * {@link #USER_HISTORY} games. The weights are approximate: histories are dropped after
+ * recommendations.co-occurrence.user-idle without events (and beyond user-max-size users), after
+ * which a returning user's games count again, and each row keeps only its {@link #MAX_ROW}
+ * strongest pairs once it doubles, so long-tail weights are lower bounds. Neighbours are ranked
+ * by co-occurrence normalized by both games' total affinity (cosine-like, so blockbusters don't
+ * top every list), recomputed in the background for the games that changed and published as
+ * immutable arrays for lock-free reads.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CoOccurrenceIndex {
+
+    public static final int MAX_NEIGHBOURS = 20;
+    private static final int USER_HISTORY = 50;
+    private static final int MAX_ROW = 256;
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final List<String> ACTIVITY_TYPES = List.of("VIEW", "CLICK", "PURCHASE");
+    private static final int OWNED_WEIGHT = 5;
+
+    private final UserActivityRepository userActivityRepository;
+    private final UserLibraryRepository userLibraryRepository;
+
+    @Value("${recommendations.co-occurrence.history-days:90}")
+    private final int historyDays;
+
+    @Value("${recommendations.co-occurrence.user-idle:30d}")
+    private final Duration userIdle;
+
+    @Value("${recommendations.co-occurrence.user-max-size:500000}")
+    private final long userMaxSize;
+
+    // Guarded by this (the cache only drops idle histories)
+    private Cache<Long, LinkedHashMap<Long, Integer>> histories;
+    private final Map<Long, LongIntHashMap> rows = new HashMap<>();
+    private final Map<Long, Integer> totals = new HashMap<>();
+    private final Set<Long> dirty = new HashSet<>();
+
+    private final Map<Long, long[]> neighbours = new ConcurrentHashMap<>();
+
+    /**
+     * Best co-occurring games for a game, most similar first (empty for unseen games)
+     */
+    public List<Long> neighbours(Long gameId, int limit) {
+        long[] ids = neighbours.get(gameId);
+        if (ids == null) {
+            return List.of();
+        }
+        return Arrays.stream(ids, 0, Math.min(limit, ids.length)).boxed().toList();
+    }
+
+    /**
+     * Current co-occurrence weight of a pair of games (0 if never seen together)
+     */
+    synchronized int coOccurrence(Long gameId, Long otherId) {
+        LongIntHashMap row = rows.get(gameId);
+        return row != null ? row.get(otherId) : 0;
+    }
+
+    public static int weight(String activityType) {
+        return switch (activityType) {
+            case "VIEW" -> 1;
+            case "CLICK" -> 2;
+            case "PURCHASE" -> OWNED_WEIGHT;
+            default -> 0;
+        };
+    }
+
+    @PostConstruct
+    void init() {
+        histories = Caffeine.newBuilder()
+                .maximumSize(userMaxSize)
+                .expireAfterAccess(userIdle)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.now().minusDays(historyDays);
+        long lastId = 0L;
+        int activities = 0;
+        List<ActivityRow> batch;
+        do {
+            batch = userActivityRepository.findActivityRowsAfter(lastId, since, ACTIVITY_TYPES,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (ActivityRow row : batch) {
+                record(row.userId(), row.gameId(), weight(row.activityType()));
+                lastId = row.id();
+            }
+            activities += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        lastId = 0L;
+        int owned = 0;
+        List<OwnershipRow> ownership;
+        do {
+            ownership = userLibraryRepository.findOwnershipRowsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (OwnershipRow row : ownership) {
+                record(row.userId(), row.gameId(), OWNED_WEIGHT);
+                lastId = row.id();
+            }
+            owned += ownership.size();
+        } while (ownership.size() == LOAD_BATCH_SIZE);
+
+        publishNeighbours();
+        log.info("Built co-occurrence index from {} activities and {} library entries in {} ms",
+                activities, owned, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(UserActivityEvent event) {
+        record(event.userId(), event.gameId(), weight(event.activityType()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameOwned(GameOwnedEvent event) {
+        record(event.userId(), event.gameId(), OWNED_WEIGHT);
+    }
+
+    /**
+     * Raise the user's affinity to a game and update every co-occurrence pair it affects
+     */
+    public synchronized void record(Long userId, Long gameId, int weight) {
+        if (userId == null || gameId == null || weight <= 0) {
+            return;
+        }
+        LinkedHashMap<Long, Integer> history = histories.get(userId, id -> new LinkedHashMap<>(16, 0.75f, true));
+        Integer existing = history.get(gameId); // Access order: also marks the game as most recent
+        int previous = existing != null ? existing : 0;
+        if (weight <= previous) {
+            return;
+        }
+        history.put(gameId, weight);
+        if (history.size() > USER_HISTORY) {
+            Iterator<Long> eldest = history.keySet().iterator();
+            eldest.next();
+            eldest.remove(); // Past co-occurrences stay counted
+        }
+        totals.merge(gameId, weight - previous, Integer::sum);
+        dirty.add(gameId);
+
+        for (Map.Entry<Long, Integer> other : history.entrySet()) {
+            if (other.getKey().equals(gameId)) {
+                continue;
+            }
+            int delta = Math.min(weight, other.getValue()) - Math.min(previous, other.getValue());
+            if (delta > 0) {
+                add(gameId, other.getKey(), delta);
+                add(other.getKey(), gameId, delta);
+                dirty.add(other.getKey());
+            }
+        }
+    }
+
+    /**
+     * Recompute and publish neighbour lists of the games that changed since the last run
+     */
+    @Scheduled(fixedDelayString = "${recommendations.co-occurrence.refresh-interval-ms:5000}")
+    public synchronized void publishNeighbours() {
+        for (Long gameId : dirty) {
+            LongIntHashMap row = rows.get(gameId);
+            if (row == null || row.size() == 0) {
+                continue;
+            }
+            double total = totals.getOrDefault(gameId, 1);
+            // Insertion into a sorted top-K buffer: rows are long, K is small
+            long[] top = new long[Math.min(MAX_NEIGHBOURS, row.size())];
+            double[] topScores = new double[top.length];
+            int n = 0;
+            for (int slot = 0; slot < row.capacity(); slot++) {
+                long otherId = row.keyAt(slot);
+                if (otherId == LongIntHashMap.EMPTY) {
+                    continue;
+                }
+                double score = row.valueAt(slot) / Math.sqrt(total * totals.getOrDefault(otherId, 1));
+                if (n == top.length && !ranksBefore(score, otherId, topScores[n - 1], top[n - 1])) {
+                    continue;
+                }
+                int i = n < top.length ? n++ : n - 1;
+                while (i > 0 && ranksBefore(score, otherId, topScores[i - 1], top[i - 1])) {
+                    top[i] = top[i - 1];
+                    topScores[i] = topScores[i - 1];
+                    i--;
+                }
+                top[i] = otherId;
+                topScores[i] = score;
+            }
+            neighbours.put(gameId, top);
+        }
+        dirty.clear();
+    }
+
+    private static boolean ranksBefore(double score, long id, double otherScore, long otherId) {
+        return score > otherScore || (score == otherScore && id < otherId);
+    }
+
+    private void add(Long gameId, Long otherId, int delta) {
+        LongIntHashMap row = rows.computeIfAbsent(gameId, id -> new LongIntHashMap());
+        row.add(otherId, delta);
+        if (row.size() > 2 * MAX_ROW) {
+            // Keep the strongest pairs only; weak long-tail pairs never reach the top neighbours
+            row.retainTop(MAX_ROW);
+        }
+    }
+}
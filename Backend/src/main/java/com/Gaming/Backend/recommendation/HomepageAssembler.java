@@ -0,0 +1,126 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.catalog.CatalogSection;
+import com.Gaming.Backend.dto.GameDTO;
+import com.Gaming.Backend.dto.HomepageDTO;
+import com.Gaming.Backend.monitoring.SqlStatementCounter;
+import com.Gaming.Backend.recommendation.pipeline.RecommendationPipeline;
+import com.Gaming.Backend.service.RecommendationService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the whole homepage in one call
+ *
+ * The user's recent games are read once from the {@link UserProfileStore} and shared by the
+ * personalized sections (genre-based ones come from the {@link PersonalizedSectionCache}), which
+ * run concurrently on virtual threads. Each section has its own deadline
+ * (recommendations.home.timeout.&lt;section&gt;, default recommendations.home.timeout); a section
+ * that misses it or fails is dropped from the response instead of holding up the page; the
+ * connections its queries hold are bounded and timed out by the {@link RecommendationPipeline}.
+ * Public sections come straight from the {@link HomepageSnapshot}, minus the games the user owns.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HomepageAssembler {
+
+    private static final int RECENT_GAMES = 4;
+
+    private final RecommendationService recommendationService;
+    private final UserProfileStore userProfileStore;
+    private final HomepageSnapshotRefresher homepageSnapshotRefresher;
+    private final OwnershipIndex ownershipIndex;
+    private final Environment environment;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("homepage-", 0).factory());
+
+    @Value("${recommendations.home.timeout:400ms}")
+    private final Duration defaultTimeout;
+
+    /**
+     * Homepage for a user, or only the public sections when userId is null
+     */
+    public HomepageDTO assemble(Long userId) {
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<List<GameDTO>>> pending = new LinkedHashMap<>();
+        Long becauseYouViewed = null;
+
+        if (userId != null) {
+            List<Long> recent = userProfileStore.recentGameIds(userId, RECENT_GAMES);
+            becauseYouViewed = recent.isEmpty() ? null : recent.get(0);
+            Long viewedGameId = becauseYouViewed;
+
+            pending.put("continuePlaying", submit(() -> recommendationService.getContinueWhereYouLeftOff(recent)));
+            pending.put("recommended", submit(() -> recommendationService.getRecommendedGames(userId)));
+            if (viewedGameId != null) {
+                pending.put("becauseYouViewed",
+                        submit(() -> recommendationService.getBecauseYouViewedGames(userId, viewedGameId)));
+            }
+            pending.put("personalizedDeals", submit(() -> recommendationService.getPersonalizedDeals(userId)));
+        }
+
+        Map<String, List<GameDTO>> sections = new LinkedHashMap<>();
+        List<String> omitted = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<List<GameDTO>>> entry : pending.entrySet()) {
+            List<GameDTO> games = await(entry.getKey(), entry.getValue(), start);
+            if (games != null) {
+                sections.put(entry.getKey(), games);
+            } else {
+                omitted.add(entry.getKey());
+            }
+        }
+        OwnedGames owned = ownershipIndex.owned(userId);
+        sections.put("trending", homepageSnapshotRefresher.section(CatalogSection.TRENDING).games(owned));
+        sections.put("editorChoice", homepageSnapshotRefresher.section(CatalogSection.EDITOR_CHOICE).games(owned));
+        sections.put("recentlyReleased", homepageSnapshotRefresher.section(CatalogSection.RECENTLY_RELEASED).games(owned));
+        sections.put("budget", homepageSnapshotRefresher.section(CatalogSection.BUDGET).games(owned));
+
+        return new HomepageDTO(sections, sections.containsKey("becauseYouViewed") ? becauseYouViewed : null, omitted);
+    }
+
+    private CompletableFuture<List<GameDTO>> submit(Supplier<List<GameDTO>> section) {
+        return CompletableFuture.supplyAsync(SqlStatementCounter.propagate(section), executor);
+    }
+
+    /**
+     * Wait until the section's own deadline (measured from the start of the request), or give up on it
+     */
+    private List<GameDTO> await(String name, CompletableFuture<List<GameDTO>> future, long start) {
+        Duration timeout = environment.getProperty("recommendations.home.timeout." + name, Duration.class, defaultTimeout);
+        long remaining = timeout.toNanos() - (System.nanoTime() - start);
+        try {
+            return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            log.warn("Homepage section {} missed its {} ms deadline, omitting it", name, timeout.toMillis());
+        } catch (ExecutionException ex) {
+            log.warn("Homepage section {} failed, omitting it", name, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
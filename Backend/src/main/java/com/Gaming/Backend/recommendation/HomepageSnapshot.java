@@ -0,0 +1,71 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.catalog.CatalogSection;
+import com.Gaming.Backend.dto.GameDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable copy of the homepage sections that are the same for every visitor
+ * Built off the request path and published as a whole; the DTOs are shared and must not be modified
+ */
+public record HomepageSnapshot(Map<CatalogSection, Section> sections, LocalDate day, Instant builtAt) {
+
+    public HomepageSnapshot {
+        sections = Map.copyOf(sections);
+    }
+
+    /**
+     * One section's games, the next-ranked spares, the catalog version they were read at and the matching ETag
+     */
+    public record Section(List<GameDTO> games, List<GameDTO> spares, long version, String etag) {
+
+        public Section {
+            games = List.copyOf(games);
+            spares = List.copyOf(spares);
+        }
+
+        /**
+         * The section for a user: owned games are dropped and replaced by spares
+         */
+        public List<GameDTO> games(OwnedGames owned) {
+            if (owned.isEmpty()) {
+                return games;
+            }
+            return Stream.concat(games.stream(), spares.stream())
+                    .filter(game -> !owned.contains(game.getId()))
+                    .limit(games.size())
+                    .toList();
+        }
+
+        /**
+         * ETag of the section for a user: the shared one while the user owns none of its games,
+         * otherwise extended by the owned games that were dropped
+         */
+        public String etag(OwnedGames owned) {
+            if (etag == null || owned.isEmpty()) {
+                return etag;
+            }
+            String dropped = Stream.concat(games.stream(), spares.stream())
+                    .map(GameDTO::getId)
+                    .filter(owned::contains)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining("."));
+            return dropped.isEmpty() ? etag : etag.substring(0, etag.length() - 1) + "-owned." + dropped + "\"";
+        }
+    }
+
+    public Section section(CatalogSection section) {
+        return sections.get(section);
+    }
+
+    public boolean isOlderThan(Duration age, Instant now) {
+        return builtAt.plus(age).isBefore(now);
+    }
+}
@@ -0,0 +1,121 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.catalog.CatalogSection;
+import com.Gaming.Backend.catalog.CatalogVersions;
+import com.Gaming.Backend.dto.GameDTO;
+import com.Gaming.Backend.service.RecommendationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the public homepage sections (trending, editor's choice, recently released, budget)
+ * in a {@link HomepageSnapshot} that requests read without locks or queries
+ *
+ * The snapshot is rebuilt in the background when any of its sections' catalog versions moved,
+ * when the day changes, or at least every refresh interval, and replaced by a single reference swap.
+ * If the refresher falls behind by more than the max staleness, requests compute sections live.
+ * Each section keeps a few spare games so a user's homepage can replace the games they own.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HomepageSnapshotRefresher {
+
+    public static final List<CatalogSection> SECTIONS = List.of(
+            CatalogSection.TRENDING, CatalogSection.EDITOR_CHOICE,
+            CatalogSection.RECENTLY_RELEASED, CatalogSection.BUDGET);
+
+    private final RecommendationService recommendationService;
+    private final CatalogVersions catalogVersions;
+    private final Clock clock;
+
+    // Extra games per section, to replace the ones a user already owns
+    private static final int SPARE_GAMES = 10;
+
+    private final AtomicReference<HomepageSnapshot> current = new AtomicReference<>();
+
+    @Value("${recommendations.snapshot.refresh-interval:5m}")
+    private final Duration refreshInterval;
+
+    @Value("${recommendations.snapshot.max-staleness:15m}")
+    private final Duration maxStaleness;
+
+    /**
+     * A public section from the current snapshot, or computed live if there is no usable one
+     */
+    public HomepageSnapshot.Section section(CatalogSection section) {
+        HomepageSnapshot snapshot = current.get();
+        if (snapshot != null && !snapshot.isOlderThan(maxStaleness, clock.instant())) {
+            return snapshot.section(section);
+        }
+        return build(section, LocalDate.now(clock));
+    }
+
+    @Scheduled(fixedDelayString = "${recommendations.snapshot.check-interval-ms:1000}")
+    public void refreshIfNeeded() {
+        HomepageSnapshot snapshot = current.get();
+        if (snapshot == null
+                || snapshot.isOlderThan(refreshInterval, clock.instant())
+                || !snapshot.day().equals(LocalDate.now(clock))
+                || changed(snapshot)) {
+            refresh();
+        }
+    }
+
+    /**
+     * Rebuild every section now and publish the result
+     */
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        LocalDate day = LocalDate.now(clock);
+        Map<CatalogSection, HomepageSnapshot.Section> sections = new EnumMap<>(CatalogSection.class);
+        for (CatalogSection section : SECTIONS) {
+            sections.put(section, build(section, day));
+        }
+        current.set(new HomepageSnapshot(sections, day, clock.instant()));
+        log.debug("Refreshed homepage snapshot in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private boolean changed(HomepageSnapshot snapshot) {
+        for (CatalogSection section : SECTIONS) {
+            if (snapshot.section(section).version() != catalogVersions.sectionVersion(section)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HomepageSnapshot.Section build(CatalogSection section, LocalDate day) {
+        // Read the version first: a change during the query then shows up as outdated, never as current
+        long version = catalogVersions.sectionVersion(section);
+        int size = switch (section) {
+            case TRENDING -> RecommendationService.TRENDING_GAMES;
+            case EDITOR_CHOICE -> RecommendationService.EDITOR_CHOICE_GAMES;
+            case RECENTLY_RELEASED -> RecommendationService.RECENTLY_RELEASED_GAMES;
+            case BUDGET -> RecommendationService.BUDGET_GAMES;
+            default -> throw new IllegalArgumentException("Not a homepage section: " + section);
+        };
+        List<GameDTO> candidates = switch (section) {
+            case TRENDING -> recommendationService.getTrendingGames(size + SPARE_GAMES);
+            case EDITOR_CHOICE -> recommendationService.getEditorChoiceGames(size + SPARE_GAMES);
+            case RECENTLY_RELEASED -> recommendationService.getRecentlyReleasedGames(size + SPARE_GAMES);
+            default -> recommendationService.getBudgetGames(size + SPARE_GAMES);
+        };
+        List<GameDTO> games = candidates.subList(0, Math.min(size, candidates.size()));
+        List<GameDTO> spares = candidates.subList(games.size(), candidates.size());
+        Object variant = section == CatalogSection.RECENTLY_RELEASED ? day : null;
+        return new HomepageSnapshot.Section(games, spares, version, catalogVersions.sectionETag(section, variant, version));
+    }
+}
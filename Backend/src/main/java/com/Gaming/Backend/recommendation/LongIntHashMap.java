@@ -0,0 +1,159 @@
+package com.Gaming.Backend.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing long to int map with linear probing
+ * Keeps co-occurrence rows in two flat arrays instead of boxed HashMap entries,
+ * which is what makes event ingestion memory-bound otherwise. Keys must not be {@link #EMPTY}.
+ */
+final class LongIntHashMap {
+
+    static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap() {
+        this(8);
+    }
+
+    LongIntHashMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Add delta to the key's value (absent keys start at 0) and return the new value
+     */
+    int add(long key, int delta) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return values[i] += delta;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = delta;
+        if (++size * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        return delta;
+    }
+
+    /**
+     * Remove the key if present, shifting back later entries of its probe run
+     */
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != key) {
+            if (keys[i] == EMPTY) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        size--;
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            // Move j into the gap unless its home slot lies cyclically in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+    }
+
+    /**
+     * Slot-indexed access for iteration: skip slots whose key is {@link #EMPTY}
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    int valueAt(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Keep only the limit entries with the highest values
+     */
+    void retainTop(int limit) {
+        if (size <= limit) {
+            return;
+        }
+        int[] sorted = new int[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                sorted[n++] = values[i];
+            }
+        }
+        Arrays.sort(sorted);
+        int threshold = sorted[size - limit];
+        int ties = 0; // Entries equal to the threshold that still fit
+        for (int i = size - limit; i < size && sorted[i] == threshold; i++) {
+            ties++;
+        }
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[keys.length];
+        values = new int[values.length];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY || oldValues[i] < threshold) {
+                continue;
+            }
+            if (oldValues[i] == threshold && ties-- <= 0) {
+                continue;
+            }
+            add(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                add(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
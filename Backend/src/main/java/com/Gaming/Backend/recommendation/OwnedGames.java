@@ -0,0 +1,53 @@
+package com.Gaming.Backend.recommendation;
+
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.Collection;
+
+/**
+ * Immutable set of the game IDs a user owns, as a compressed Roaring bitmap
+ * Updates produce a new instance, so readers never need a lock
+ */
+public final class OwnedGames {
+
+    public static final OwnedGames NONE = new OwnedGames(new Roaring64Bitmap());
+
+    private final Roaring64Bitmap bitmap;
+
+    private OwnedGames(Roaring64Bitmap bitmap) {
+        this.bitmap = bitmap;
+    }
+
+    public static OwnedGames of(Collection<Long> gameIds) {
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        for (Long gameId : gameIds) {
+            bitmap.addLong(gameId);
+        }
+        bitmap.runOptimize();
+        return new OwnedGames(bitmap);
+    }
+
+    public boolean contains(Long gameId) {
+        return gameId != null && bitmap.contains(gameId);
+    }
+
+    public long size() {
+        return bitmap.getLongCardinality();
+    }
+
+    public boolean isEmpty() {
+        return bitmap.isEmpty();
+    }
+
+    /**
+     * This set plus one game
+     */
+    public OwnedGames with(Long gameId) {
+        if (contains(gameId)) {
+            return this;
+        }
+        Roaring64Bitmap copy = bitmap.clone();
+        copy.addLong(gameId);
+        return new OwnedGames(copy);
+    }
+}
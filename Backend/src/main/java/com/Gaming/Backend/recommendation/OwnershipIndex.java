@@ -0,0 +1,55 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.config.CacheConfig;
+import com.Gaming.Backend.event.GameOwnedEvent;
+import com.Gaming.Backend.repository.UserLibraryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Which games each user owns, for keeping owned games out of recommendations
+ *
+ * A user's {@link OwnedGames} bitmap is loaded from user_library on first use and kept in a bounded
+ * cache. Purchases are applied after commit by replacing the cached bitmap with a copy that includes
+ * the game; this waits for a load of the same user in flight, so a load can't miss a purchase.
+ */
+@Component
+@RequiredArgsConstructor
+public class OwnershipIndex {
+
+    private final CacheManager cacheManager;
+    private final UserLibraryRepository userLibraryRepository;
+
+    /**
+     * Games the user owns; nobody owns anything when userId is null
+     */
+    public OwnedGames owned(Long userId) {
+        if (userId == null) {
+            return OwnedGames.NONE;
+        }
+        return cache().get(userId, () -> OwnedGames.of(userLibraryRepository.findGameIdsByUserId(userId)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameOwned(GameOwnedEvent event) {
+        entries().computeIfPresent(event.userId(), (userId, owned) -> ((OwnedGames) owned).with(event.gameId()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<Object, Object> entries() {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache().getNativeCache()).asMap();
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CacheConfig.OWNED_GAMES);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + CacheConfig.OWNED_GAMES);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,125 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.catalog.CatalogIndex;
+import com.Gaming.Backend.config.CacheConfig;
+import com.Gaming.Backend.dto.GameDTO;
+import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.event.GameOwnedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Per-user cache of the sections built from a user's top genres (For You, personalized deals)
+ *
+ * Each cached section remembers the genres it was built from and is rebuilt as soon as the user's
+ * top genres in the {@link UserProfileStore} differ (order within doesn't matter), which is the only
+ * user input the sections depend on; the check is in memory. Game changes evict the sections that
+ * contain the game or that its genre can enter; purchases evict the buyer's sections, which exclude
+ * owned games. The TTL bounds whatever slips through.
+ */
+@Component
+@RequiredArgsConstructor
+public class PersonalizedSectionCache implements CatalogIndex {
+
+    public static final int TOP_GENRES = 3;
+    public static final String RECOMMENDED = "recommended";
+    public static final String PERSONALIZED_DEALS = "personalizedDeals";
+    private static final List<String> SECTIONS = List.of(RECOMMENDED, PERSONALIZED_DEALS);
+
+    private final CacheManager cacheManager;
+    private final UserProfileStore userProfileStore;
+
+    private record SectionKey(Long userId, String section) {
+    }
+
+    /**
+     * A built section and the top genres it was built from
+     */
+    private record CachedSection(Set<String> genres, List<GameDTO> games) {
+    }
+
+    /**
+     * A user's section from the cache, or built from their top genres and cached
+     */
+    public List<GameDTO> get(Long userId, String section, Function<List<String>, List<GameDTO>> builder) {
+        List<String> genres = userProfileStore.topGenres(userId, TOP_GENRES);
+        SectionKey key = new SectionKey(userId, section);
+        Cache sections = cache(CacheConfig.PERSONALIZED_SECTIONS);
+        // Peek through the map so an outdated entry counts as a miss, not a hit
+        CachedSection cached = (CachedSection) entries(CacheConfig.PERSONALIZED_SECTIONS).get(key);
+        if (cached != null && !cached.genres().equals(Set.copyOf(genres))) {
+            sections.evict(key);
+        }
+        return sections.get(key, () -> new CachedSection(Set.copyOf(genres), builder.apply(genres))).games();
+    }
+
+    /**
+     * Sections exclude owned games, so a purchase may have to drop one and backfill
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameOwned(GameOwnedEvent event) {
+        evictSections(event.userId());
+    }
+
+    private void evictSections(Long userId) {
+        Cache sections = cache(CacheConfig.PERSONALIZED_SECTIONS);
+        for (String section : SECTIONS) {
+            sections.evict(new SectionKey(userId, section));
+        }
+    }
+
+    @Override
+    public void clear() {
+        cache(CacheConfig.PERSONALIZED_SECTIONS).clear();
+    }
+
+    @Override
+    public void index(Game game) {
+        evictAffected(game.getId(), game.getGenre());
+    }
+
+    @Override
+    public void remove(Long gameId) {
+        evictAffected(gameId, null);
+    }
+
+    /**
+     * Drop sections that show the game, or whose genres include its genre so it may now enter them;
+     * users without genres get catalog-wide fallbacks, which any game can enter
+     */
+    private void evictAffected(Long gameId, String genre) {
+        ConcurrentMap<Object, Object> sections = entries(CacheConfig.PERSONALIZED_SECTIONS);
+        for (Map.Entry<Object, Object> entry : sections.entrySet()) {
+            CachedSection section = (CachedSection) entry.getValue();
+            boolean affected = section.games().stream().anyMatch(dto -> gameId.equals(dto.getId()));
+            if (!affected && genre != null) {
+                affected = section.genres().isEmpty() || section.genres().contains(genre);
+            }
+            if (affected) {
+                sections.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<Object, Object> entries(String cacheName) {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache(cacheName).getNativeCache()).asMap();
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + name);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,95 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.entity.JobWatermark;
+import com.Gaming.Backend.entity.PrecomputedRecommendation;
+import com.Gaming.Backend.repository.JobWatermarkRepository;
+import com.Gaming.Backend.repository.PrecomputedRecommendationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes the personalized sections computed by {@link RecommendationPrecomputeJob},
+ * and the job's watermark
+ *
+ * A stored section is only handed out while it is younger than the max age and was computed for
+ * the same top genres the user has now; otherwise callers compute the section live.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrecomputedSectionStore {
+
+    private final PrecomputedRecommendationRepository precomputedRecommendationRepository;
+    private final JobWatermarkRepository jobWatermarkRepository;
+
+    @Value("${recommendations.precompute.max-age:24h}")
+    private Duration maxAge;
+
+    /**
+     * Precomputed game IDs for a user's section, best first, or empty if there is no usable row
+     */
+    public List<Long> find(Long userId, String section, Collection<String> genres) {
+        LocalDateTime oldest = LocalDateTime.now().minus(maxAge);
+        return precomputedRecommendationRepository.findByUserIdAndSection(userId, section)
+                .filter(row -> row.getComputedAt().isAfter(oldest))
+                .filter(row -> row.getGenres().equals(genreKey(genres)))
+                .map(row -> Arrays.stream(row.getGameIds().split(","))
+                        .filter(id -> !id.isEmpty())
+                        .map(Long::valueOf)
+                        .toList())
+                .orElse(List.of());
+    }
+
+    /**
+     * Insert or replace the given sections, matched on user and section
+     */
+    @Transactional
+    public void save(List<PrecomputedRecommendation> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = rows.stream().map(PrecomputedRecommendation::getUserId).distinct().toList();
+        Map<String, PrecomputedRecommendation> existing = new HashMap<>();
+        for (PrecomputedRecommendation row : precomputedRecommendationRepository.findByUserIdIn(userIds)) {
+            existing.put(row.getUserId() + ":" + row.getSection(), row);
+        }
+        for (PrecomputedRecommendation row : rows) {
+            PrecomputedRecommendation stored = existing.get(row.getUserId() + ":" + row.getSection());
+            if (stored != null) {
+                row.setId(stored.getId());
+            }
+        }
+        precomputedRecommendationRepository.saveAll(rows);
+    }
+
+    /**
+     * Last source row ID the job has processed (0 if it never ran)
+     */
+    public long watermark(String jobName) {
+        return jobWatermarkRepository.findById(jobName)
+                .map(JobWatermark::getLastId)
+                .orElse(0L);
+    }
+
+    @Transactional
+    public void advance(String jobName, long lastId) {
+        jobWatermarkRepository.save(new JobWatermark(jobName, lastId, LocalDateTime.now()));
+    }
+
+    /**
+     * Genres as stored with a section: sorted and comma-separated, since their order doesn't matter
+     */
+    public static String genreKey(Collection<String> genres) {
+        return genres.stream().sorted().distinct().collect(Collectors.joining(","));
+    }
+}
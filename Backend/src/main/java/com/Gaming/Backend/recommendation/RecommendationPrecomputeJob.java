@@ -0,0 +1,242 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.activity.RollupHorizon;
+import com.Gaming.Backend.entity.PrecomputedRecommendation;
+import com.Gaming.Backend.recommendation.pipeline.Scorer;
+import com.Gaming.Backend.repository.GameCardRepository;
+import com.Gaming.Backend.repository.UserActivityRepository;
+import com.Gaming.Backend.repository.projection.GameCardView;
+import com.Gaming.Backend.service.RecommendationService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Offline precompute of the For You and personalized deals sections, served from
+ * {@link PrecomputedSectionStore} with live computation as the fallback
+ *
+ * Each run picks up the users with user_activity rows past the watermark (and within the active
+ * window), scores the active catalog against their decayed genre affinities on a fork/join pool
+ * and upserts the best games per section; the watermark then moves to the highest activity ID seen
+ * at least activity.rollup.safety-lag ago (see {@link RollupHorizon}), so rows still being
+ * inserted below it are picked up by a later run. The first run to move it therefore covers every
+ * recently active user. Games are scored as
+ * affinity x {@link Scorer#quality}, like the live sections.
+ * Sections keep twice as many games as they show, so purchases and deactivated games can be
+ * dropped at serving time without a recompute.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationPrecomputeJob {
+
+    public static final String JOB_NAME = "recommendation-precompute";
+    // Users per written chunk; each chunk is scored in parallel, then saved in one transaction
+    private static final int WRITE_BATCH_SIZE = 500;
+    // Users per fork/join leaf task
+    private static final int LEAF_SIZE = 32;
+
+    private final UserActivityRepository userActivityRepository;
+    private final GameCardRepository gameCardRepository;
+    private final UserProfileStore userProfileStore;
+    private final OwnershipIndex ownershipIndex;
+    private final PrecomputedSectionStore precomputedSectionStore;
+    private final Clock clock;
+
+    @Value("${recommendations.precompute.active-days:30}")
+    private final int activeDays;
+
+    @Value("${recommendations.precompute.parallelism:4}")
+    private final int parallelism;
+
+    @Value("${activity.rollup.safety-lag:1m}")
+    private final Duration safetyLag;
+
+    private RollupHorizon horizon;
+
+    @PostConstruct
+    void init() {
+        horizon = new RollupHorizon(safetyLag);
+    }
+
+    /**
+     * Active games of one genre, best first by quality, for all games and for discounted ones
+     */
+    private record GenrePool(List<GameCardView> games, double[] quality, List<GameCardView> deals, double[] dealQuality) {
+    }
+
+    private record Scored(GameCardView game, double score) {
+    }
+
+    @Scheduled(fixedDelayString = "${recommendations.precompute.interval-ms:900000}",
+            initialDelayString = "${recommendations.precompute.initial-delay-ms:60000}")
+    public void run() {
+        long start = clock.millis();
+        long from = precomputedSectionStore.watermark(JOB_NAME);
+        Long maxId = userActivityRepository.findMaxId();
+        long upTo = horizon.observe(maxId != null ? maxId : 0L, start);
+        if (upTo <= from) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Long> userIds = userActivityRepository.findUserIdsWithActivityBetween(from, upTo, now.minusDays(activeDays));
+        Map<String, GenrePool> pools = pools(gameCardRepository.findActiveCards());
+
+        int sections = 0;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int i = 0; i < userIds.size(); i += WRITE_BATCH_SIZE) {
+                List<Long> chunk = userIds.subList(i, Math.min(i + WRITE_BATCH_SIZE, userIds.size()));
+                List<PrecomputedRecommendation> rows = pool.invoke(new UsersTask(chunk, pools, now));
+                precomputedSectionStore.save(rows);
+                sections += rows.size();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        precomputedSectionStore.advance(JOB_NAME, upTo);
+        log.info("Precomputed {} sections for {} users (activity {} to {}) in {} ms",
+                sections, userIds.size(), from, upTo, clock.millis() - start);
+    }
+
+    /**
+     * Splits a slice of users in halves until it is small enough to score directly
+     */
+    private class UsersTask extends RecursiveTask<List<PrecomputedRecommendation>> {
+
+        private final List<Long> userIds;
+        private final Map<String, GenrePool> pools;
+        private final LocalDateTime now;
+
+        UsersTask(List<Long> userIds, Map<String, GenrePool> pools, LocalDateTime now) {
+            this.userIds = userIds;
+            this.pools = pools;
+            this.now = now;
+        }
+
+        @Override
+        protected List<PrecomputedRecommendation> compute() {
+            if (userIds.size() <= LEAF_SIZE) {
+                List<PrecomputedRecommendation> rows = new ArrayList<>();
+                for (Long userId : userIds) {
+                    rows.addAll(precompute(userId, pools, now));
+                }
+                return rows;
+            }
+            int mid = userIds.size() / 2;
+            UsersTask left = new UsersTask(userIds.subList(0, mid), pools, now);
+            left.fork();
+            List<PrecomputedRecommendation> rows = new ArrayList<>(
+                    new UsersTask(userIds.subList(mid, userIds.size()), pools, now).compute());
+            rows.addAll(left.join());
+            return rows;
+        }
+    }
+
+    /**
+     * Both sections for one user; none for users without genres, who get catalog-wide fallbacks
+     */
+    private List<PrecomputedRecommendation> precompute(Long userId, Map<String, GenrePool> pools, LocalDateTime now) {
+        Map<String, Double> affinities = userProfileStore.genreAffinities(userId, PersonalizedSectionCache.TOP_GENRES);
+        if (affinities.isEmpty()) {
+            return List.of();
+        }
+        OwnedGames owned = ownershipIndex.owned(userId);
+        String genres = PrecomputedSectionStore.genreKey(affinities.keySet());
+        List<PrecomputedRecommendation> rows = new ArrayList<>(2);
+        List<Long> recommended = top(affinities, pools, owned, false, RecommendationService.RECOMMENDED_GAMES * 2);
+        if (!recommended.isEmpty()) {
+            rows.add(row(userId, PersonalizedSectionCache.RECOMMENDED, genres, recommended, now));
+        }
+        List<Long> deals = top(affinities, pools, owned, true, RecommendationService.PERSONALIZED_DEALS_GAMES * 2);
+        if (!deals.isEmpty()) {
+            rows.add(row(userId, PersonalizedSectionCache.PERSONALIZED_DEALS, genres, deals, now));
+        }
+        return rows;
+    }
+
+    /**
+     * Best scoring games over the user's genres; a genre's games share its affinity,
+     * so each genre contributes at most its first limit games not owned
+     */
+    private static List<Long> top(Map<String, Double> affinities, Map<String, GenrePool> pools,
+                                  OwnedGames owned, boolean deals, int limit) {
+        List<Scored> candidates = new ArrayList<>();
+        for (Map.Entry<String, Double> affinity : affinities.entrySet()) {
+            GenrePool pool = pools.get(affinity.getKey());
+            if (pool == null) {
+                continue;
+            }
+            List<GameCardView> games = deals ? pool.deals() : pool.games();
+            double[] quality = deals ? pool.dealQuality() : pool.quality();
+            int taken = 0;
+            for (int i = 0; i < games.size() && taken < limit; i++) {
+                if (!owned.contains(games.get(i).id())) {
+                    candidates.add(new Scored(games.get(i), affinity.getValue() * quality[i]));
+                    taken++;
+                }
+            }
+        }
+        return candidates.stream()
+                .sorted(Comparator.comparingDouble(Scored::score).reversed()
+                        .thenComparing(scored -> scored.game().id()))
+                .limit(limit)
+                .map(scored -> scored.game().id())
+                .collect(Collectors.toList());
+    }
+
+    private static PrecomputedRecommendation row(Long userId, String section, String genres,
+                                                 List<Long> gameIds, LocalDateTime now) {
+        String ids = gameIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return new PrecomputedRecommendation(null, userId, section, genres, ids, now);
+    }
+
+    /**
+     * Group the active catalog by genre, each genre sorted by quality once for the whole run
+     */
+    private static Map<String, GenrePool> pools(List<GameCardView> cards) {
+        Map<String, List<GameCardView>> byGenre = new HashMap<>();
+        for (GameCardView card : cards) {
+            if (card.genre() != null) {
+                byGenre.computeIfAbsent(card.genre(), genre -> new ArrayList<>()).add(card);
+            }
+        }
+        Map<String, GenrePool> pools = new HashMap<>();
+        byGenre.forEach((genre, games) -> {
+            List<GameCardView> all = ranked(games, false);
+            List<GameCardView> deals = ranked(games.stream().filter(RecommendationPrecomputeJob::onSale).toList(), true);
+            pools.put(genre, new GenrePool(all, qualities(all, false), deals, qualities(deals, true)));
+        });
+        return pools;
+    }
+
+    private static List<GameCardView> ranked(List<GameCardView> games, boolean deal) {
+        return games.stream()
+                .sorted(Comparator.comparingDouble((GameCardView game) -> Scorer.quality(game, deal)).reversed()
+                        .thenComparing(GameCardView::id))
+                .toList();
+    }
+
+    private static double[] qualities(List<GameCardView> games, boolean deal) {
+        return games.stream().mapToDouble(game -> Scorer.quality(game, deal)).toArray();
+    }
+
+    private static boolean onSale(GameCardView game) {
+        return game.discount() != null && game.discount() > 0;
+    }
+}
@@ -0,0 +1,115 @@
+package com.Gaming.Backend.recommendation;
+
+/**
+ * Space-Saving heavy-hitters sketch over long keys
+ *
+ * Tracks at most capacity keys. An untracked key takes over the slot of the current minimum
+ * and inherits its count, so counts may overestimate by at most that minimum but any key whose
+ * true count exceeds total/capacity is guaranteed to be tracked. Slots form an indexed min-heap
+ * and each remembers the count it inherited, so count minus error is a guaranteed lower bound.
+ */
+final class SpaceSaving {
+
+    private final int capacity;
+    private final long[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    // Slot + 1 per tracked key, so that 0 means untracked
+    private final LongIntHashMap positions;
+    private int size;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new LongIntHashMap(capacity);
+    }
+
+    void add(long key, long weight) {
+        int position = positions.get(key) - 1;
+        if (position >= 0) {
+            counts[position] += weight;
+            siftDown(position);
+            return;
+        }
+        if (size < capacity) {
+            keys[size] = key;
+            counts[size] = weight;
+            errors[size] = 0;
+            positions.add(key, size + 1);
+            siftUp(size++);
+            return;
+        }
+        // Replace the minimum, inheriting its count as the error bound
+        positions.remove(keys[0]);
+        keys[0] = key;
+        errors[0] = counts[0];
+        counts[0] += weight;
+        positions.add(key, 1);
+        siftDown(0);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    long countAt(int slot) {
+        return counts[slot];
+    }
+
+    /**
+     * Count the key certainly has: its count minus what it inherited on taking over the slot
+     */
+    long guaranteedAt(int slot) {
+        return counts[slot] - errors[slot];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[parent] <= counts[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        long count = counts[a];
+        long error = errors[a];
+        keys[a] = keys[b];
+        counts[a] = counts[b];
+        errors[a] = errors[b];
+        keys[b] = key;
+        counts[b] = count;
+        errors[b] = error;
+        positions.add(keys[a], a - b);
+        positions.add(keys[b], b - a);
+    }
+}
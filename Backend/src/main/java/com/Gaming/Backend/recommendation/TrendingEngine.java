@@ -0,0 +1,320 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.activity.ActivityRollupJob;
+import com.Gaming.Backend.catalog.CatalogSection;
+import com.Gaming.Backend.catalog.CatalogVersions;
+import com.Gaming.Backend.event.GameOwnedEvent;
+import com.Gaming.Backend.event.UserActivityEvent;
+import com.Gaming.Backend.repository.GameActivityDailyRepository;
+import com.Gaming.Backend.repository.UserActivityRepository;
+import com.Gaming.Backend.repository.UserLibraryRepository;
+import com.Gaming.Backend.repository.projection.ActivityRow;
+import com.Gaming.Backend.repository.projection.GameDayCount;
+import com.Gaming.Backend.repository.projection.PurchaseRow;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming "Trending This Week" over user activity and purchases
+ *
+ * Events land in time buckets (one per bucket duration) of a ring covering the sliding window;
+ * each bucket counts weighted events (view 1, click 2, wishlist 3, purchase 5) in a
+ * {@link SpaceSaving} sketch, so memory is bounded by buckets x capacity however many games
+ * are touched. Purchases are taken from library entries only, not from PURCHASE activities,
+ * so a tracked purchase isn't counted twice. Every refresh merges the live buckets with
+ * exponential decay by bucket age and publishes the top games as an immutable array;
+ * a changed ranking moves the TRENDING section version, so snapshots and ETags follow.
+ * On startup the window is replayed from the daily per-game rollup for past days and from
+ * user_activity only for today and for rows not rolled up yet, all in one repeatable-read snapshot
+ * so a rollup run in between can't count rows twice. Events delivered meanwhile are held back and
+ * counted afterwards only if the snapshot didn't hold their rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingEngine {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final List<String> ACTIVITY_TYPES = List.of("VIEW", "CLICK", "WISHLIST");
+    private static final int PURCHASE_WEIGHT = 5;
+
+    private final UserActivityRepository userActivityRepository;
+    private final GameActivityDailyRepository gameActivityDailyRepository;
+    private final ActivityRollupJob activityRollupJob;
+    private final UserLibraryRepository userLibraryRepository;
+    private final CatalogVersions catalogVersions;
+    private final Clock clock;
+
+    @Value("${recommendations.trending.window:7d}")
+    private final Duration window;
+
+    @Value("${recommendations.trending.bucket:1h}")
+    private final Duration bucket;
+
+    @Value("${recommendations.trending.half-life:2d}")
+    private final Duration halfLife;
+
+    @Value("${recommendations.trending.sketch-capacity:1000}")
+    private final int sketchCapacity;
+
+    @Value("${recommendations.trending.top-size:100}")
+    private final int topSize;
+
+    // Guarded by this; slot i holds bucket number numbers[i] (epoch millis / bucket millis)
+    private SpaceSaving[] buckets;
+    private long[] numbers;
+    private long bucketMillis;
+
+    private volatile long[] top = new long[0];
+
+    // Guarded by this; events delivered while load() runs, null otherwise
+    private List<UserActivityEvent> pendingActivities;
+    private List<GameOwnedEvent> pendingPurchases;
+
+    @PostConstruct
+    void init() {
+        bucketMillis = bucket.toMillis();
+        int slots = (int) Math.max(1, window.toMillis() / bucketMillis);
+        buckets = new SpaceSaving[slots];
+        numbers = new long[slots];
+        Arrays.fill(numbers, -1L);
+    }
+
+    /**
+     * Currently trending game IDs, hottest first (empty until the first events arrive)
+     */
+    public List<Long> top(int limit) {
+        long[] ids = top;
+        return Arrays.stream(ids, 0, Math.min(limit, ids.length)).boxed().toList();
+    }
+
+    public static int weight(String activityType) {
+        return switch (activityType) {
+            case "VIEW" -> 1;
+            case "CLICK" -> 2;
+            case "WISHLIST" -> 3;
+            default -> 0;
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void load() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            // Whatever was counted before is committed, so the snapshot holds it
+            init();
+            pendingActivities = new ArrayList<>();
+            pendingPurchases = new ArrayList<>();
+        }
+        LocalDateTime since = LocalDateTime.now(clock).minus(window);
+        // Whole days inside the window, before today, come from the daily rollup and are counted at midday
+        LocalDate firstDay = since.toLocalDate().plusDays(1);
+        LocalDate today = LocalDate.now(clock);
+        long rolledUpTo = activityRollupJob.rolledUpTo();
+        int activities = 0;
+        for (GameDayCount count : gameActivityDailyRepository.findDayCounts(firstDay, today, ACTIVITY_TYPES)) {
+            record(count.gameId(), weight(count.activityType()) * count.activities().intValue(),
+                    count.day().atTime(LocalTime.NOON));
+            activities += count.activities();
+        }
+
+        // The window's partial first day, today and rows not rolled up yet come from user_activity
+        long lastId = 0L;
+        List<ActivityRow> batch;
+        do {
+            batch = userActivityRepository.findUnrolledActivityRowsAfter(lastId, since, rolledUpTo,
+                    firstDay.atStartOfDay(), today.atStartOfDay(), ACTIVITY_TYPES, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (ActivityRow row : batch) {
+                record(row.gameId(), weight(row.activityType()), row.timestamp());
+                lastId = row.id();
+            }
+            activities += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        lastId = 0L;
+        int purchases = 0;
+        List<PurchaseRow> rows;
+        do {
+            rows = userLibraryRepository.findPurchaseRowsAfter(lastId, since, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (PurchaseRow row : rows) {
+                record(row.gameId(), PURCHASE_WEIGHT, row.purchaseDate());
+                lastId = row.id();
+            }
+            purchases += rows.size();
+        } while (rows.size() == LOAD_BATCH_SIZE);
+
+        countPending();
+        publish();
+        log.info("Built trending window from {} activities and {} purchases in {} ms",
+                activities, purchases, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onActivity(UserActivityEvent event) {
+        if (pendingActivities != null) {
+            pendingActivities.add(event);
+            return;
+        }
+        record(event.gameId(), weight(event.activityType()), event.timestamp());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGameOwned(GameOwnedEvent event) {
+        if (pendingPurchases != null) {
+            pendingPurchases.add(event);
+            return;
+        }
+        record(event.gameId(), PURCHASE_WEIGHT, null);
+    }
+
+    /**
+     * Count the events held back during the load whose rows its snapshot didn't hold, until no
+     * more arrive; later events are counted as they come
+     */
+    private void countPending() {
+        while (true) {
+            List<UserActivityEvent> activityEvents;
+            List<GameOwnedEvent> purchaseEvents;
+            synchronized (this) {
+                if (pendingActivities.isEmpty() && pendingPurchases.isEmpty()) {
+                    pendingActivities = null;
+                    pendingPurchases = null;
+                    return;
+                }
+                activityEvents = pendingActivities;
+                purchaseEvents = pendingPurchases;
+                pendingActivities = new ArrayList<>();
+                pendingPurchases = new ArrayList<>();
+            }
+            Set<Long> loaded = activityEvents.isEmpty() ? Set.of() : new HashSet<>(userActivityRepository.findExistingIds(
+                    activityEvents.stream().map(UserActivityEvent::activityId).toList()));
+            for (UserActivityEvent event : activityEvents) {
+                if (!loaded.contains(event.activityId())) {
+                    record(event.gameId(), weight(event.activityType()), event.timestamp());
+                }
+            }
+            for (GameOwnedEvent event : purchaseEvents) {
+                if (!userLibraryRepository.existsByUserIdAndGameId(event.userId(), event.gameId())) {
+                    record(event.gameId(), PURCHASE_WEIGHT, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Count a weighted event for a game at the given time (now if null); events outside the window are dropped
+     */
+    public synchronized void record(Long gameId, int weight, LocalDateTime time) {
+        if (gameId == null || weight <= 0) {
+            return;
+        }
+        long now = clock.millis() / bucketMillis;
+        long number = time != null ? toMillis(time) / bucketMillis : now;
+        if (number > now || number <= now - buckets.length) {
+            return; // Clock skew or already expired
+        }
+        int slot = (int) (number % buckets.length);
+        if (numbers[slot] != number) {
+            if (numbers[slot] > number) {
+                return; // Slot already reused by a newer bucket
+            }
+            buckets[slot] = new SpaceSaving(sketchCapacity);
+            numbers[slot] = number;
+        }
+        buckets[slot].add(gameId, weight);
+    }
+
+    /**
+     * Merge the live buckets with time decay and publish the new top games
+     */
+    @Scheduled(fixedDelayString = "${recommendations.trending.refresh-interval-ms:60000}")
+    public void publish() {
+        long[] ranked = rank();
+        if (!Arrays.equals(ranked, top)) {
+            top = ranked;
+            catalogVersions.touch(CatalogSection.TRENDING);
+        }
+    }
+
+    private synchronized long[] rank() {
+        long now = clock.millis() / bucketMillis;
+        double decayPerBucket = Math.log(2) * bucketMillis / halfLife.toMillis();
+        // Game -> index into scores, kept primitive: a full window holds buckets x capacity entries
+        LongIntHashMap index = new LongIntHashMap(sketchCapacity * 4);
+        double[] scores = new double[sketchCapacity * 4];
+        long[] ids = new long[scores.length];
+        int games = 0;
+        for (int slot = 0; slot < buckets.length; slot++) {
+            long age = now - numbers[slot];
+            if (buckets[slot] == null || age < 0 || age >= buckets.length) {
+                continue;
+            }
+            double decay = Math.exp(-decayPerBucket * age);
+            SpaceSaving sketch = buckets[slot];
+            for (int i = 0; i < sketch.size(); i++) {
+                long gameId = sketch.keyAt(i);
+                int at = index.get(gameId) - 1;
+                if (at < 0) {
+                    if (games == scores.length) {
+                        scores = Arrays.copyOf(scores, games * 2);
+                        ids = Arrays.copyOf(ids, games * 2);
+                    }
+                    at = games++;
+                    index.add(gameId, at + 1);
+                    ids[at] = gameId;
+                }
+                scores[at] += sketch.guaranteedAt(i) * decay;
+            }
+        }
+
+        // Insertion into a sorted top-N buffer
+        long[] top = new long[Math.min(topSize, games)];
+        double[] topScores = new double[top.length];
+        int n = 0;
+        for (int i = 0; i < games; i++) {
+            double score = scores[i];
+            if (score <= 0 || n == top.length && !ranksBefore(score, ids[i], topScores[n - 1], top[n - 1])) {
+                continue;
+            }
+            int j = n < top.length ? n++ : n - 1;
+            while (j > 0 && ranksBefore(score, ids[i], topScores[j - 1], top[j - 1])) {
+                top[j] = top[j - 1];
+                topScores[j] = topScores[j - 1];
+                j--;
+            }
+            top[j] = ids[i];
+            topScores[j] = score;
+        }
+        return Arrays.copyOf(top, n);
+    }
+
+    private static boolean ranksBefore(double score, long id, double otherScore, long otherId) {
+        return score > otherScore || (score == otherScore && id < otherId);
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
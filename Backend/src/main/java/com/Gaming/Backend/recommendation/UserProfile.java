@@ -0,0 +1,96 @@
+package com.Gaming.Backend.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's in-memory profile: exponentially decayed genre affinities and the most recently
+ * viewed games, newest first and without duplicates
+ *
+ * Genre scores are kept as of the latest interaction; older scores are scaled down when a newer
+ * interaction arrives. Decay is the same for every genre, so it never changes the ranking by itself.
+ * The profile remembers which activity rows it was loaded from, so their events can be skipped.
+ */
+final class UserProfile {
+
+    private final double decayPerMilli;
+    private final Map<String, Double> genres = new HashMap<>();
+    private long scoredAt;
+    private final long[] recent;
+    private int recentSize;
+    // Activity already counted by the load: every ID up to loadedUpTo, and these above it (sorted)
+    private long loadedUpTo;
+    private long[] loadedIds = new long[0];
+
+    UserProfile(double decayPerMilli, int recentItems) {
+        this.decayPerMilli = decayPerMilli;
+        this.recent = new long[recentItems];
+    }
+
+    synchronized void addGenre(String genre, double weight, long at) {
+        if (at > scoredAt) {
+            double decay = Math.exp(-decayPerMilli * (at - scoredAt));
+            genres.replaceAll((name, score) -> score * decay);
+            scoredAt = at;
+        } else {
+            weight *= Math.exp(-decayPerMilli * (scoredAt - at));
+        }
+        genres.merge(genre, weight, Double::sum);
+    }
+
+    /**
+     * Record the activity rows the profile was loaded from: all up to upTo, plus ids
+     */
+    synchronized void loadedFrom(long upTo, List<Long> ids) {
+        loadedUpTo = upTo;
+        loadedIds = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * Whether an activity row was already counted when the profile was loaded
+     */
+    synchronized boolean isLoaded(long activityId) {
+        return activityId <= loadedUpTo || Arrays.binarySearch(loadedIds, activityId) >= 0;
+    }
+
+    /**
+     * Mark a game as the most recently viewed one
+     */
+    synchronized void addRecent(long gameId) {
+        int at = 0;
+        while (at < recentSize && recent[at] != gameId) {
+            at++;
+        }
+        if (at == recentSize && recentSize < recent.length) {
+            recentSize++;
+        }
+        System.arraycopy(recent, 0, recent, 1, Math.min(at, recent.length - 1));
+        recent[0] = gameId;
+    }
+
+    /**
+     * Highest scoring genres first, ties by name
+     */
+    synchronized List<String> topGenres(int limit) {
+        return List.copyOf(topGenreScores(limit).keySet());
+    }
+
+    /**
+     * Highest scoring genres with their scores, in the order of {@link #topGenres(int)}
+     */
+    synchronized Map<String, Double> topGenreScores(int limit) {
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(genres.entrySet());
+        ranked.sort(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Double> top = new LinkedHashMap<>();
+        ranked.stream().limit(limit).forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    synchronized List<Long> recentGameIds(int limit) {
+        return Arrays.stream(recent, 0, Math.min(limit, recentSize)).boxed().toList();
+    }
+}
@@ -0,0 +1,147 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.activity.ActivityRollupJob;
+import com.Gaming.Backend.config.CacheConfig;
+import com.Gaming.Backend.event.UserActivityEvent;
+import com.Gaming.Backend.repository.UserActivityRepository;
+import com.Gaming.Backend.repository.UserGenreActivityDailyRepository;
+import com.Gaming.Backend.repository.projection.GenreDayCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory {@link UserProfile}s keyed by user ID, so personalized sections don't query for
+ * preferred genres or recently viewed games
+ *
+ * A profile is rebuilt on first use: per genre and day counts over the history window, decayed by
+ * age (from the daily rollup, plus the user_activity rows not rolled up yet), and the latest viewed games. Loaded profiles follow every tracked activity
+ * after commit (each interaction with a genre counts 1, like the stored preference counts); profiles
+ * not loaded are left alone and pick the activity up when they are rebuilt.
+ *
+ * A load reads the rollup watermark, the rollup and the raw rows in one repeatable-read snapshot,
+ * so a rollup run in between can't count rows twice, and activity events for rows the snapshot
+ * already held are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProfileStore {
+
+    public static final int RECENT_ITEMS = 20;
+    private static final List<String> RECENT_TYPES = List.of("VIEW", "CLICK");
+
+    private final CacheManager cacheManager;
+    private final UserActivityRepository userActivityRepository;
+    private final UserGenreActivityDailyRepository userGenreActivityDailyRepository;
+    private final ActivityRollupJob activityRollupJob;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${recommendations.profile.genre-half-life:30d}")
+    private Duration genreHalfLife;
+
+    @Value("${recommendations.profile.history-days:180}")
+    private int historyDays;
+
+    /**
+     * The user's most preferred genres, strongest first
+     */
+    public List<String> topGenres(Long userId, int limit) {
+        return profile(userId).topGenres(limit);
+    }
+
+    /**
+     * The user's top genres with their decayed affinity scores, strongest first
+     * A profile that isn't in memory is built for the call but not cached, so batch jobs going
+     * through many users don't push out the profiles of the users currently browsing
+     */
+    public Map<String, Double> genreAffinities(Long userId, int limit) {
+        UserProfile profile = (UserProfile) entries().get(userId);
+        return (profile != null ? profile : load(userId)).topGenreScores(limit);
+    }
+
+    /**
+     * Games the user viewed or clicked most recently, newest first (at most {@link #RECENT_ITEMS})
+     */
+    public List<Long> recentGameIds(Long userId, int limit) {
+        return profile(userId).recentGameIds(limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(UserActivityEvent event) {
+        entries().computeIfPresent(event.userId(), (userId, value) -> {
+            UserProfile profile = (UserProfile) value;
+            if (profile.isLoaded(event.activityId())) {
+                return profile;
+            }
+            if (event.genre() != null && !event.genre().isEmpty()) {
+                profile.addGenre(event.genre(), 1, toMillis(event.timestamp()));
+            }
+            if (RECENT_TYPES.contains(event.activityType())) {
+                profile.addRecent(event.gameId());
+            }
+            return profile;
+        });
+    }
+
+    private UserProfile profile(Long userId) {
+        return cache().get(userId, () -> load(userId));
+    }
+
+    private UserProfile load(Long userId) {
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return snapshot.execute(status -> read(userId));
+    }
+
+    private UserProfile read(Long userId) {
+        UserProfile profile = new UserProfile(Math.log(2) / genreHalfLife.toMillis(), RECENT_ITEMS);
+        LocalDateTime since = LocalDateTime.now().minusDays(historyDays);
+        long rolledUpTo = activityRollupJob.rolledUpTo();
+        List<GenreDayCount> counts = new ArrayList<>(
+                userGenreActivityDailyRepository.findGenreDayCounts(userId, since.toLocalDate()));
+        counts.addAll(userActivityRepository.findGenreDayCountsAfter(userId, rolledUpTo, since));
+        profile.loadedFrom(rolledUpTo, userActivityRepository.findIdsByUserIdAfter(userId, rolledUpTo));
+        for (GenreDayCount count : counts) {
+            // Day buckets are scored at midday, which is exact enough for a half-life of weeks
+            profile.addGenre(count.genre(), count.interactions(), toMillis(count.day().atTime(LocalTime.NOON)));
+        }
+        List<Long> recent = userActivityRepository.findRecentGameIds(userId, RECENT_TYPES, RECENT_ITEMS);
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            profile.addRecent(recent.get(i));
+        }
+        return profile;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<Object, Object> entries() {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache().getNativeCache()).asMap();
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_PROFILES);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + CacheConfig.USER_PROFILES);
+        }
+        return cache;
+    }
+}
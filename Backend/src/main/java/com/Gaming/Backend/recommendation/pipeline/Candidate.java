@@ -0,0 +1,10 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import com.Gaming.Backend.repository.projection.GameCardView;
+
+/**
+ * A game proposed for a section: the tier and source that proposed it (by position in the
+ * {@link SectionPipeline}) and its rank within that source's result
+ */
+public record Candidate(GameCardView card, int tier, int source, int rank) {
+}
@@ -0,0 +1,20 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import com.Gaming.Backend.repository.projection.GameCardView;
+
+/**
+ * Decides whether a candidate may appear in a section
+ */
+@FunctionalInterface
+public interface CandidateFilter {
+
+    boolean accept(GameCardView card, RecommendationRequest request);
+
+    CandidateFilter NOT_OWNED = (card, request) -> !request.owned().contains(card.id());
+
+    CandidateFilter ACTIVE = (card, request) -> !Boolean.FALSE.equals(card.active());
+
+    CandidateFilter NOT_SHOWN = (card, request) -> !request.shown().contains(card.id());
+
+    CandidateFilter ON_SALE = (card, request) -> card.discount() != null && card.discount() > 0;
+}
@@ -0,0 +1,34 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import com.Gaming.Backend.repository.projection.GameCardView;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Proposes games for a section, best first; a source without input for the request
+ * (no genres, no seed game) returns an empty list without querying
+ */
+public interface CandidateSource {
+
+    /**
+     * Name used in stage metrics
+     */
+    String name();
+
+    List<GameCardView> fetch(RecommendationRequest request, int limit);
+
+    static CandidateSource of(String name, BiFunction<RecommendationRequest, Integer, List<GameCardView>> fetch) {
+        return new CandidateSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public List<GameCardView> fetch(RecommendationRequest request, int limit) {
+                return fetch.apply(request, limit);
+            }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import com.Gaming.Backend.catalog.CatalogSection;
+import com.Gaming.Backend.catalog.TagSimilarityIndex;
+import com.Gaming.Backend.recommendation.CoOccurrenceIndex;
+import com.Gaming.Backend.recommendation.PersonalizedSectionCache;
+import com.Gaming.Backend.recommendation.PrecomputedSectionStore;
+import com.Gaming.Backend.recommendation.TrendingEngine;
+import com.Gaming.Backend.repository.GameCardRepository;
+import com.Gaming.Backend.repository.projection.GameCardView;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The candidate sources sections are composed of
+ * Sources looking games up by ID return inactive games too; sections drop them with
+ * {@link CandidateFilter#ACTIVE} where they shouldn't appear
+ */
+@Component
+@Getter
+public class CandidateSources {
+
+    private final GameCardRepository gameCardRepository;
+
+    private final CandidateSource recentlyViewed;
+    private final CandidateSource precomputedRecommended;
+    private final CandidateSource precomputedDeals;
+    private final CandidateSource genre;
+    private final CandidateSource genreDeals;
+    private final CandidateSource featured;
+    private final CandidateSource deals;
+    private final CandidateSource coOccurrence;
+    private final CandidateSource tagSimilar;
+    private final CandidateSource sameGenre;
+    private final CandidateSource samePublisher;
+    private final CandidateSource trending;
+    private final CandidateSource popular;
+    private final CandidateSource editorPicks;
+    private final CandidateSource recentReleases;
+    private final CandidateSource budget;
+
+    public CandidateSources(GameCardRepository gameCardRepository,
+                            PrecomputedSectionStore precomputedSectionStore,
+                            CoOccurrenceIndex coOccurrenceIndex,
+                            TagSimilarityIndex tagSimilarityIndex,
+                            TrendingEngine trendingEngine) {
+        this.gameCardRepository = gameCardRepository;
+
+        recentlyViewed = CandidateSource.of("recentlyViewed",
+                (request, limit) -> cardsInOrder(request.gameIds().stream().limit(limit).toList()));
+        precomputedRecommended = CandidateSource.of("precomputedRecommended", (request, limit) -> request.genres().isEmpty()
+                ? List.of()
+                : cardsInOrder(precomputedSectionStore.find(request.userId(), PersonalizedSectionCache.RECOMMENDED, request.genres())));
+        precomputedDeals = CandidateSource.of("precomputedDeals", (request, limit) -> request.genres().isEmpty()
+                ? List.of()
+                : cardsInOrder(precomputedSectionStore.find(request.userId(), PersonalizedSectionCache.PERSONALIZED_DEALS, request.genres())));
+        genre = CandidateSource.of("genre", (request, limit) -> request.genres().isEmpty()
+                ? List.of()
+                : gameCardRepository.findCardsByGenreIn(request.genres(), PageRequest.of(0, limit)));
+        genreDeals = CandidateSource.of("genreDeals", (request, limit) -> request.genres().isEmpty()
+                ? List.of()
+                : gameCardRepository.findDealCardsByGenreIn(request.genres(), PageRequest.of(0, limit)));
+        featured = CandidateSource.of("featured",
+                (request, limit) -> gameCardRepository.findFeaturedCards(PageRequest.of(0, limit)));
+        deals = CandidateSource.of("deals",
+                (request, limit) -> gameCardRepository.findCardsWithDiscountGreaterThan(0.0, PageRequest.of(0, limit)));
+        coOccurrence = CandidateSource.of("coOccurrence", (request, limit) -> request.seedGameId() == null
+                ? List.of()
+                : cardsInOrder(coOccurrenceIndex.neighbours(request.seedGameId(), Math.max(limit, CoOccurrenceIndex.MAX_NEIGHBOURS))));
+        tagSimilar = CandidateSource.of("tagSimilar", (request, limit) -> request.seedGameId() == null
+                ? List.of()
+                : cardsInOrder(tagSimilarityIndex.similar(request.seedGameId(), limit).stream()
+                        .map(TagSimilarityIndex.Match::gameId)
+                        .toList()));
+        sameGenre = CandidateSource.of("sameGenre", (request, limit) -> request.seedGameId() == null
+                ? List.of()
+                : gameCardRepository.findCardsInGenreOf(request.seedGameId(), PageRequest.of(0, limit)));
+        samePublisher = CandidateSource.of("samePublisher", (request, limit) -> request.seedGameId() == null
+                ? List.of()
+                : gameCardRepository.findCardsByPublisherOf(request.seedGameId(), PageRequest.of(0, limit)));
+        // Twice the IDs, since some trending games may have been deactivated since the last refresh
+        trending = CandidateSource.of("trending",
+                (request, limit) -> cardsInOrder(trendingEngine.top(limit * 2)));
+        popular = CandidateSource.of("popular",
+                (request, limit) -> gameCardRepository.findTrendingCards(PageRequest.of(0, limit)));
+        editorPicks = CandidateSource.of("editorPicks",
+                (request, limit) -> gameCardRepository.findEditorPickCards(PageRequest.of(0, limit)));
+        recentReleases = CandidateSource.of("recentReleases", (request, limit) -> gameCardRepository.findRecentlyReleasedCards(
+                LocalDate.now().minus(3, ChronoUnit.MONTHS), PageRequest.of(0, limit)));
+        budget = CandidateSource.of("budget",
+                (request, limit) -> gameCardRepository.findBudgetCards(CatalogSection.BUDGET_MAX_PRICE, PageRequest.of(0, limit)));
+    }
+
+    /**
+     * Cards for the given IDs, in the order of the IDs
+     */
+    private List<GameCardView> cardsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, GameCardView> byId = new HashMap<>();
+        for (GameCardView card : gameCardRepository.findCardsByIdIn(ids)) {
+            byId.put(card.id(), card);
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,262 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import com.Gaming.Backend.dto.GameDTO;
+import com.Gaming.Backend.mapper.GameMapper;
+import com.Gaming.Backend.monitoring.SqlStatementCounter;
+import com.Gaming.Backend.repository.GameCardRepository;
+import com.Gaming.Backend.repository.projection.GameCardView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a {@link SectionPipeline}: fetch, filter, score, rerank, then hydrate the picked cards
+ *
+ * The sources of a tier run concurrently on virtual threads. The whole section has a latency
+ * budget (recommendations.pipeline.budget.&lt;section&gt;, default recommendations.pipeline.budget)
+ * unless it is built in the background: a source that hasn't answered by then is dropped and
+ * later tiers are skipped, so the section is returned with what arrived in time. Every stage is
+ * timed into recommendation.pipeline.stage (tagged by section and stage, sources as
+ * source.&lt;name&gt;), dropped sources are counted in recommendation.pipeline.source.timeouts.
+ *
+ * Sources and hydration run their queries under one of recommendations.pipeline.max-connections
+ * permits, shared by every section of every request (and the offline precompute), so fanning out
+ * never borrows more than that many pool connections. A budgeted source waits for a permit only
+ * until its deadline, and its queries run in a read-only transaction timing out
+ * recommendations.pipeline.query-timeout after it, so a source dropped for missing its budget -
+ * which cancelling its future cannot stop - still frees its connection soon after.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationPipeline {
+
+    // Owned games beyond this many can cut a list short rather than grow every query
+    private static final int MAX_BACKFILL = 50;
+
+    private final GameCardRepository gameCardRepository;
+    private final GameMapper gameMapper;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final PlatformTransactionManager transactionManager;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("recommendation-", 0).factory());
+
+    @Value("${recommendations.pipeline.budget:300ms}")
+    private final Duration defaultBudget;
+
+    @Value("${recommendations.pipeline.max-connections:6}")
+    private final int maxConnections;
+
+    @Value("${recommendations.pipeline.query-timeout:1s}")
+    private final Duration queryTimeout;
+
+    private Semaphore connections;
+
+    @PostConstruct
+    void init() {
+        connections = new Semaphore(maxConnections, true);
+    }
+
+    public List<GameDTO> run(SectionPipeline section, RecommendationRequest request) {
+        long start = System.nanoTime();
+        Duration budget = environment.getProperty("recommendations.pipeline.budget." + section.name(), Duration.class, defaultBudget);
+        long deadline = section.budgeted() ? start + budget.toNanos() : Long.MAX_VALUE;
+        // Enough extra rows to still fill the section after dropping owned games
+        int backfill = (int) Math.min(request.owned().size(), MAX_BACKFILL);
+
+        List<Candidate> candidates = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int tier = 0; tier < section.tiers().size() && candidates.size() < request.limit(); tier++) {
+            if (System.nanoTime() >= deadline) {
+                log.warn("Section {} ran out of its {} ms budget before tier {}", section.name(), budget.toMillis(), tier);
+                break;
+            }
+            List<SectionPipeline.Source> sources = section.tiers().get(tier);
+            List<CompletableFuture<List<GameCardView>>> pending = new ArrayList<>();
+            for (SectionPipeline.Source source : sources) {
+                int limit = take(source, request) + backfill + candidates.size();
+                pending.add(CompletableFuture.supplyAsync(SqlStatementCounter.propagate(
+                        timed(section, "source." + source.source().name(),
+                                () -> query(() -> source.source().fetch(request, limit), deadline))), executor));
+            }
+            for (int i = 0; i < sources.size(); i++) {
+                List<GameCardView> cards = await(section, sources.get(i), pending.get(i), deadline);
+                long filterStart = System.nanoTime();
+                int taken = 0;
+                int take = take(sources.get(i), request);
+                for (int rank = 0; rank < cards.size() && taken < take; rank++) {
+                    GameCardView card = cards.get(rank);
+                    if (seen.add(card.id()) && accepted(section, card, request)) {
+                        candidates.add(new Candidate(card, tier, i, rank));
+                        taken++;
+                    }
+                }
+                record(section, "filter", System.nanoTime() - filterStart);
+            }
+        }
+
+        long scoreStart = System.nanoTime();
+        Map<Candidate, Double> scores = new IdentityHashMap<>();
+        for (Candidate candidate : candidates) {
+            scores.put(candidate, section.scorer().score(candidate, request));
+        }
+        candidates.sort(Comparator.comparingInt(Candidate::tier)
+                .thenComparing(Comparator.comparingDouble((Candidate candidate) -> scores.get(candidate)).reversed())
+                .thenComparingInt(Candidate::source)
+                .thenComparingInt(Candidate::rank));
+        record(section, "score", System.nanoTime() - scoreStart);
+
+        List<Candidate> picked = timed(section, "rerank", () -> section.reranker().rerank(candidates, request.limit())).get();
+        long hydrateDeadline = section.budgeted() ? System.nanoTime() + queryTimeout.toNanos() : Long.MAX_VALUE;
+        List<GameDTO> games = timed(section, "hydrate", () -> query(() -> toCards(picked), hydrateDeadline)).get();
+        record(section, "total", System.nanoTime() - start);
+        return games != null ? games : List.of();
+    }
+
+    private static int take(SectionPipeline.Source source, RecommendationRequest request) {
+        return source.take() > 0 ? source.take() : request.limit();
+    }
+
+    private static boolean accepted(SectionPipeline section, GameCardView card, RecommendationRequest request) {
+        for (CandidateFilter filter : section.filters()) {
+            if (!filter.accept(card, request)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Run database work under a connection permit, waiting for one until the deadline at most
+     * (null if none came in time); its statements time out query-timeout after the deadline.
+     * Without a deadline it waits and runs as long as it takes
+     */
+    private <T> T query(Supplier<T> work, long deadline) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            if (deadline == Long.MAX_VALUE) {
+                connections.acquire();
+            } else {
+                if (!connections.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    return null;
+                }
+                // Whole seconds; JPA gives each statement what is left of it
+                long timeout = Math.max(0, deadline - System.nanoTime()) + queryTimeout.toNanos();
+                transaction.setTimeout((int) Math.max(1, Math.ceil(timeout / 1e9)));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        try {
+            return transaction.execute(status -> work.get());
+        } finally {
+            connections.release();
+        }
+    }
+
+    /**
+     * A source's cards, or none if it failed or didn't answer before the section's deadline
+     */
+    private List<GameCardView> await(SectionPipeline section, SectionPipeline.Source source,
+                                     CompletableFuture<List<GameCardView>> future, long deadline) {
+        try {
+            List<GameCardView> cards = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (cards != null) {
+                return cards;
+            }
+            missedBudget(section, source); // No connection permit before the deadline
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            missedBudget(section, source);
+        } catch (ExecutionException ex) {
+            log.warn("Source {} of section {} failed, skipping it", source.source().name(), section.name(), ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return List.of();
+    }
+
+    private void missedBudget(SectionPipeline section, SectionPipeline.Source source) {
+        Counter.builder("recommendation.pipeline.source.timeouts")
+                .description("Candidate sources dropped for missing the section's latency budget")
+                .tag("section", section.name())
+                .tag("source", source.source().name())
+                .register(meterRegistry)
+                .increment();
+        log.warn("Source {} of section {} missed the latency budget, skipping it", source.source().name(), section.name());
+    }
+
+    private <T> Supplier<T> timed(SectionPipeline section, String stage, Supplier<T> work) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return work.get();
+            } finally {
+                record(section, stage, System.nanoTime() - start);
+            }
+        };
+    }
+
+    private void record(SectionPipeline section, String stage, long nanos) {
+        Timer.builder("recommendation.pipeline.stage")
+                .description("Time spent per recommendation pipeline stage")
+                .tag("section", section.name())
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Convert card rows to GameDTOs, fetching primary images for all of them in one query
+     */
+    private List<GameDTO> toCards(List<Candidate> candidates) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> images = new HashMap<>();
+        List<Long> ids = candidates.stream().map(candidate -> candidate.card().id()).toList();
+        for (Object[] row : gameCardRepository.findPrimaryImages(ids)) {
+            images.put((Long) row[0], (String) row[1]);
+        }
+        return candidates.stream()
+                .map(candidate -> gameMapper.toCardDTO(candidate.card(), images.get(candidate.card().id())))
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
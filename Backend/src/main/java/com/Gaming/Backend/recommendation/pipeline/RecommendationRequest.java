@@ -0,0 +1,56 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import com.Gaming.Backend.recommendation.OwnedGames;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What a section is computed for: the user's genres and their affinities, owned games,
+ * the game it is seeded by, explicit game IDs, games not to show again, and the section size
+ */
+public record RecommendationRequest(
+        Long userId,
+        List<String> genres,
+        Map<String, Double> affinities,
+        OwnedGames owned,
+        Long seedGameId,
+        List<Long> gameIds,
+        Set<Long> shown,
+        int limit
+) {
+
+    /**
+     * A section that is the same for everyone
+     */
+    public static RecommendationRequest general(int limit) {
+        return new RecommendationRequest(null, List.of(), Map.of(), OwnedGames.NONE, null, List.of(), Set.of(), limit);
+    }
+
+    /**
+     * A section for a user, built from their top genres and affinities
+     */
+    public static RecommendationRequest forUser(Long userId, List<String> genres, Map<String, Double> affinities,
+                                                OwnedGames owned, int limit) {
+        return new RecommendationRequest(userId, genres, affinities, owned, null, List.of(), Set.of(), limit);
+    }
+
+    /**
+     * A section around one game, which itself is not shown
+     */
+    public static RecommendationRequest seededBy(Long userId, Long gameId, OwnedGames owned, int limit) {
+        return new RecommendationRequest(userId, List.of(), Map.of(), owned, gameId, List.of(), Set.of(gameId), limit);
+    }
+
+    /**
+     * A section of exactly the given games, in order
+     */
+    public static RecommendationRequest ofGames(List<Long> gameIds) {
+        return new RecommendationRequest(null, List.of(), Map.of(), OwnedGames.NONE, null, gameIds, Set.of(), gameIds.size());
+    }
+
+    public double affinity(String genre) {
+        return genre != null ? affinities.getOrDefault(genre, 0.0) : 0.0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the final games of a section from the ranked candidates
+ */
+@FunctionalInterface
+public interface Reranker {
+
+    List<Candidate> rerank(List<Candidate> ranked, int limit);
+
+    Reranker TOP = (ranked, limit) -> ranked.subList(0, Math.min(limit, ranked.size()));
+
+    /**
+     * Top games with at most maxPerPublisher per publisher, topped up in rank order
+     * when there aren't enough publishers to fill the section
+     */
+    static Reranker publisherSpread(int maxPerPublisher) {
+        return (ranked, limit) -> {
+            List<Candidate> picked = new ArrayList<>();
+            List<Candidate> deferred = new ArrayList<>();
+            Map<Long, Integer> perPublisher = new HashMap<>();
+            for (Candidate candidate : ranked) {
+                if (picked.size() == limit) {
+                    break;
+                }
+                Long publisherId = candidate.card().publisherId();
+                if (publisherId == null || perPublisher.merge(publisherId, 1, Integer::sum) <= maxPerPublisher) {
+                    picked.add(candidate);
+                } else {
+                    deferred.add(candidate);
+                }
+            }
+            for (int i = 0; i < deferred.size() && picked.size() < limit; i++) {
+                picked.add(deferred.get(i));
+            }
+            return picked;
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import com.Gaming.Backend.repository.projection.GameCardView;
+
+/**
+ * Scores candidates within their tier; higher first, ties keep source and rank order
+ */
+@FunctionalInterface
+public interface Scorer {
+
+    double score(Candidate candidate, RecommendationRequest request);
+
+    /**
+     * Keep the order the sources proposed
+     */
+    Scorer BY_RANK = (candidate, request) -> 0;
+
+    /**
+     * Genre affinity x quality, the same score the offline precompute ranks by
+     */
+    static Scorer affinity(boolean deal) {
+        return (candidate, request) -> request.affinity(candidate.card().genre()) * quality(candidate.card(), deal);
+    }
+
+    /**
+     * (1 + rating / 5) x (1 + ln(1 + downloads)), deals additionally x (1 + discount / 100)
+     */
+    static double quality(GameCardView game, boolean deal) {
+        double rating = game.averageRating() != null ? game.averageRating() : 0;
+        double downloads = game.downloads() != null ? game.downloads() : 0;
+        double quality = (1 + rating / 5) * (1 + Math.log1p(downloads));
+        return deal && game.discount() != null ? quality * (1 + game.discount() / 100) : quality;
+    }
+}
@@ -0,0 +1,75 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * How one section is computed: tiers of candidate sources, filters, a scorer and a reranker
+ *
+ * The sources of a tier are queried concurrently; a tier only runs while the earlier ones left
+ * the section short, and its candidates always rank after theirs. Each source contributes at most
+ * take games that pass the filters (0 = the section size). Sections built off the request path
+ * (the homepage snapshot) are not budgeted, so a cold start can't leave them empty.
+ */
+public record SectionPipeline(String name, List<List<Source>> tiers, List<CandidateFilter> filters,
+                              Scorer scorer, Reranker reranker, boolean budgeted) {
+
+    public record Source(CandidateSource source, int take) {
+    }
+
+    public static Builder named(String name) {
+        return new Builder(name);
+    }
+
+    public static final class Builder {
+
+        private final String name;
+        private final List<List<Source>> tiers = new ArrayList<>();
+        private final List<CandidateFilter> filters = new ArrayList<>();
+        private Scorer scorer = Scorer.BY_RANK;
+        private Reranker reranker = Reranker.TOP;
+        private boolean budgeted = true;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder tier(CandidateSource... sources) {
+            tiers.add(Arrays.stream(sources).map(source -> new Source(source, 0)).toList());
+            return this;
+        }
+
+        public Builder tier(Source... sources) {
+            tiers.add(List.of(sources));
+            return this;
+        }
+
+        public Builder filter(CandidateFilter... filters) {
+            this.filters.addAll(List.of(filters));
+            return this;
+        }
+
+        public Builder scorer(Scorer scorer) {
+            this.scorer = scorer;
+            return this;
+        }
+
+        public Builder reranker(Reranker reranker) {
+            this.reranker = reranker;
+            return this;
+        }
+
+        /**
+         * Run without the latency budget
+         */
+        public Builder unbudgeted() {
+            this.budgeted = false;
+            return this;
+        }
+
+        public SectionPipeline build() {
+            return new SectionPipeline(name, List.copyOf(tiers), List.copyOf(filters), scorer, reranker, budgeted);
+        }
+    }
+}
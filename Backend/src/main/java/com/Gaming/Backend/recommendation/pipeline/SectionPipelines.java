@@ -0,0 +1,82 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import com.Gaming.Backend.recommendation.PersonalizedSectionCache;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * The homepage sections expressed as {@link SectionPipeline}s
+ */
+@Component
+@Getter
+public class SectionPipelines {
+
+    // At most this many games of one publisher in a personalized section, while others are left
+    private static final int MAX_PER_PUBLISHER = 3;
+
+    private final SectionPipeline continuePlaying;
+    private final SectionPipeline recommended;
+    private final SectionPipeline becauseYouViewed;
+    private final SectionPipeline trending;
+    private final SectionPipeline personalizedDeals;
+    private final SectionPipeline editorChoice;
+    private final SectionPipeline recentlyReleased;
+    private final SectionPipeline budget;
+
+    public SectionPipelines(CandidateSources sources) {
+        // Recently viewed games as they are, owned or not
+        continuePlaying = SectionPipeline.named("continuePlaying")
+                .tier(sources.getRecentlyViewed())
+                .build();
+
+        // Offline precompute if current, else the user's genres, else the most downloaded games
+        recommended = SectionPipeline.named(PersonalizedSectionCache.RECOMMENDED)
+                .tier(sources.getPrecomputedRecommended())
+                .tier(sources.getGenre())
+                .tier(sources.getFeatured())
+                .filter(CandidateFilter.NOT_OWNED, CandidateFilter.ACTIVE)
+                .scorer(Scorer.affinity(false))
+                .reranker(Reranker.publisherSpread(MAX_PER_PUBLISHER))
+                .build();
+
+        // Behaviour and tag neighbours first; games sharing the genre (4) or publisher (2) otherwise
+        becauseYouViewed = SectionPipeline.named("becauseYouViewed")
+                .tier(sources.getCoOccurrence(), sources.getTagSimilar())
+                .tier(new SectionPipeline.Source(sources.getSameGenre(), 4),
+                        new SectionPipeline.Source(sources.getSamePublisher(), 2))
+                .filter(CandidateFilter.NOT_OWNED, CandidateFilter.ACTIVE, CandidateFilter.NOT_SHOWN)
+                .build();
+
+        // Public sections are built into the homepage snapshot in the background, hence unbudgeted
+        // Streaming trending ranking, topped up by rating and downloads while there is little activity
+        trending = SectionPipeline.named("trending")
+                .tier(sources.getTrending())
+                .tier(sources.getPopular())
+                .filter(CandidateFilter.ACTIVE)
+                .unbudgeted()
+                .build();
+
+        personalizedDeals = SectionPipeline.named(PersonalizedSectionCache.PERSONALIZED_DEALS)
+                .tier(sources.getPrecomputedDeals())
+                .tier(sources.getGenreDeals())
+                .tier(sources.getDeals())
+                .filter(CandidateFilter.NOT_OWNED, CandidateFilter.ACTIVE, CandidateFilter.ON_SALE)
+                .scorer(Scorer.affinity(true))
+                .build();
+
+        editorChoice = SectionPipeline.named("editorChoice")
+                .tier(sources.getEditorPicks())
+                .unbudgeted()
+                .build();
+
+        recentlyReleased = SectionPipeline.named("recentlyReleased")
+                .tier(sources.getRecentReleases())
+                .unbudgeted()
+                .build();
+
+        budget = SectionPipeline.named("budget")
+                .tier(sources.getBudget())
+                .unbudgeted()
+                .build();
+    }
+}
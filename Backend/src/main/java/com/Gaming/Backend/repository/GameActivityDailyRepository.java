@@ -0,0 +1,26 @@
+package com.Gaming.Backend.repository;
+
+import com.Gaming.Backend.entity.GameActivityDaily;
+import com.Gaming.Backend.repository.projection.GameDayCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for the daily per-game activity rollup
+ */
+@Repository
+public interface GameActivityDailyRepository extends JpaRepository<GameActivityDaily, Long> {
+    
+    /**
+     * Per game, day and type counts for the days in [from, before)
+     */
+    @Query("SELECT new com.Gaming.Backend.repository.projection.GameDayCount(d.gameId, d.activityDate, d.activityType, d.activityCount) " +
+           "FROM GameActivityDaily d WHERE d.activityDate >= :from AND d.activityDate < :before AND d.activityType IN :activityTypes")
+    List<GameDayCount> findDayCounts(@Param("from") LocalDate from, @Param("before") LocalDate before,
+                                     @Param("activityTypes") List<String> activityTypes);
+}
@@ -0,0 +1,82 @@
+package com.Gaming.Backend.repository;
+
+import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.repository.projection.GameCardView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only catalog card queries
+ * Mirrors the GameRepository listing queries but selects card columns only,
+ * so a page of N cards costs one query plus one primary-image query
+ */
+@Repository
+public interface GameCardRepository extends org.springframework.data.repository.Repository<Game, Long> {
+
+    String CARD_SELECT = "SELECT new com.Gaming.Backend.repository.projection.GameCardView(" +
+            "g.id, g.title, g.price, g.discount, g.genre, p.id, p.name, g.releaseDate, " +
+            "g.averageRating, g.reviewCount, g.isFreeToPlay, g.featured, g.editorPick, g.downloads, g.active) " +
+            "FROM Game g LEFT JOIN g.publisher p ";
+
+    @Query(CARD_SELECT + "WHERE g.id IN :ids")
+    List<GameCardView> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(CARD_SELECT + "WHERE g.active = true AND g.id IN :ids")
+    List<GameCardView> findActiveCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(CARD_SELECT + "WHERE g.active = true")
+    List<GameCardView> findActiveCards();
+
+    @Query(CARD_SELECT + "WHERE g.active = true AND g.genre IN :genres")
+    List<GameCardView> findCardsByGenreIn(@Param("genres") Collection<String> genres, Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE g.active = true AND p.id = :publisherId")
+    List<GameCardView> findCardsByPublisherId(@Param("publisherId") Long publisherId, Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE g.active = true AND g.discount > 0 AND g.genre IN :genres")
+    List<GameCardView> findDealCardsByGenreIn(@Param("genres") Collection<String> genres, Pageable pageable);
+
+    /**
+     * Other active games in the given game's genre, resolved in the same statement
+     */
+    @Query(CARD_SELECT + "WHERE g.active = true AND g.id <> :gameId " +
+            "AND g.genre = (SELECT s.genre FROM Game s WHERE s.id = :gameId)")
+    List<GameCardView> findCardsInGenreOf(@Param("gameId") Long gameId, Pageable pageable);
+
+    /**
+     * Other active games by the given game's publisher, resolved in the same statement
+     */
+    @Query(CARD_SELECT + "WHERE g.active = true AND g.id <> :gameId " +
+            "AND p.id = (SELECT s.publisher.id FROM Game s WHERE s.id = :gameId)")
+    List<GameCardView> findCardsByPublisherOf(@Param("gameId") Long gameId, Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE g.active = true ORDER BY g.averageRating DESC, g.downloads DESC")
+    List<GameCardView> findTrendingCards(Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE g.active = true ORDER BY g.downloads DESC")
+    List<GameCardView> findFeaturedCards(Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE g.active = true AND g.discount > :minDiscount")
+    List<GameCardView> findCardsWithDiscountGreaterThan(@Param("minDiscount") Double minDiscount, Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE g.active = true AND g.editorPick = true")
+    List<GameCardView> findEditorPickCards(Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE g.active = true AND g.releaseDate >= :sinceDate ORDER BY g.releaseDate DESC")
+    List<GameCardView> findRecentlyReleasedCards(@Param("sinceDate") LocalDate sinceDate, Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE g.active = true AND (g.isFreeToPlay = true OR g.price <= :maxPrice)")
+    List<GameCardView> findBudgetCards(@Param("maxPrice") Double maxPrice, Pageable pageable);
+
+    /**
+     * Primary image per game as [gameId, imageUrl] rows (smallest URL wins, so it is stable)
+     */
+    @Query("SELECT g.id, MIN(i) FROM Game g JOIN g.images i WHERE g.id IN :ids GROUP BY g.id")
+    List<Object[]> findPrimaryImages(@Param("ids") Collection<Long> ids);
+}
@@ -2,13 +2,19 @@ package com.Gaming.Backend.repository;
 
 import com.Gaming.Backend.entity.Game;
 import com.Gaming.Backend.entity.Publisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +22,11 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     
     Page<Game> findByActiveTrue(Pageable pageable);
     
+    /**
+     * Keyset-paginated listing (no OFFSET scan, no count query)
+     */
+    Window<Game> findByActiveTrue(ScrollPosition position, Sort sort, Limit limit);
+    
     Page<Game> findByActiveTrueAndGenre(String genre, Pageable pageable);
     
     Page<Game> findByActiveTrueAndPublisher(Publisher publisher, Pageable pageable);
@@ -84,4 +95,31 @@ public interface GameRepository extends JpaRepository<Game, Long> {
      * Find games by IDs (for fetching recently viewed games)
      */
     List<Game> findByIdIn(List<Long> ids);
+    
+    // In-memory catalog index loading
+    
+    /**
+     * Page through all game IDs in ascending order (keyset, no OFFSET)
+     */
+    @Query("SELECT g.id FROM Game g WHERE g.id > :afterId ORDER BY g.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Find game IDs of a publisher (for refreshing denormalized publisher data)
+     */
+    @Query("SELECT g.id FROM Game g WHERE g.publisher.id = :publisherId")
+    List<Long> findIdsByPublisherId(@Param("publisherId") Long publisherId);
+    
+    /**
+     * Genre of each of the given games, as (id, genre) rows
+     */
+    @Query("SELECT g.id, g.genre FROM Game g WHERE g.id IN :ids")
+    List<Object[]> findGenresByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Load games with tags and publisher initialized in a single query
+     */
+    @EntityGraph(attributePaths = {"tags", "publisher"})
+    @Query("SELECT g FROM Game g WHERE g.id IN :ids")
+    List<Game> findWithTagsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,22 @@
+package com.Gaming.Backend.repository;
+
+import com.Gaming.Backend.entity.JobWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+
+    /**
+     * The watermark row locked until the end of the transaction (SELECT ... FOR UPDATE)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM JobWatermark w WHERE w.jobName = :jobName")
+    Optional<JobWatermark> findForUpdate(@Param("jobName") String jobName);
+}
@@ -0,0 +1,20 @@
+package com.Gaming.Backend.repository;
+
+import com.Gaming.Backend.entity.PrecomputedRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for offline-computed personalized sections
+ */
+@Repository
+public interface PrecomputedRecommendationRepository extends JpaRepository<PrecomputedRecommendation, Long> {
+    
+    Optional<PrecomputedRecommendation> findByUserIdAndSection(Long userId, String section);
+    
+    List<PrecomputedRecommendation> findByUserIdIn(Collection<Long> userIds);
+}
@@ -1,11 +1,16 @@
 package com.Gaming.Backend.repository;
 
 import com.Gaming.Backend.entity.UserActivity;
+import com.Gaming.Backend.repository.projection.ActivityRow;
+import com.Gaming.Backend.repository.projection.GenreDayCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -41,4 +46,59 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
      */
     @Query(value = "SELECT DISTINCT ua.game_id FROM user_activity ua WHERE ua.user_id = :userId AND ua.activity_type IN :activityTypes ORDER BY ua.timestamp DESC LIMIT :limit", nativeQuery = true)
     List<Long> findRecentGameIds(@Param("userId") Long userId, @Param("activityTypes") List<String> activityTypes, @Param("limit") int limit);
+    
+    /**
+     * Activity rows after a given ID (keyset batches for replaying history into memory)
+     */
+    @Query("SELECT new com.Gaming.Backend.repository.projection.ActivityRow(ua.id, ua.user.id, ua.gameId, ua.activityType, ua.timestamp) " +
+           "FROM UserActivity ua WHERE ua.id > :afterId AND ua.timestamp >= :since AND ua.activityType IN :activityTypes ORDER BY ua.id")
+    List<ActivityRow> findActivityRowsAfter(@Param("afterId") Long afterId, @Param("since") LocalDateTime since,
+                                            @Param("activityTypes") List<String> activityTypes, Pageable pageable);
+    
+    /**
+     * Activity rows after a given ID that aren't read from the daily rollup instead:
+     * past the rollup watermark, or outside the rolled-up days [rolledFrom, rolledBefore)
+     */
+    @Query("SELECT new com.Gaming.Backend.repository.projection.ActivityRow(ua.id, ua.user.id, ua.gameId, ua.activityType, ua.timestamp) " +
+           "FROM UserActivity ua WHERE ua.id > :afterId AND ua.timestamp >= :since AND ua.activityType IN :activityTypes " +
+           "AND (ua.id > :rolledUpTo OR ua.timestamp < :rolledFrom OR ua.timestamp >= :rolledBefore) ORDER BY ua.id")
+    List<ActivityRow> findUnrolledActivityRowsAfter(@Param("afterId") Long afterId, @Param("since") LocalDateTime since,
+                                                    @Param("rolledUpTo") Long rolledUpTo,
+                                                    @Param("rolledFrom") LocalDateTime rolledFrom,
+                                                    @Param("rolledBefore") LocalDateTime rolledBefore,
+                                                    @Param("activityTypes") List<String> activityTypes, Pageable pageable);
+    
+    /**
+     * A user's interactions per genre and day past the rollup watermark (the rest is in the daily rollup)
+     */
+    @Query("SELECT new com.Gaming.Backend.repository.projection.GenreDayCount(g.genre, CAST(ua.timestamp AS LocalDate), COUNT(ua)) " +
+           "FROM UserActivity ua, Game g WHERE g.id = ua.gameId AND ua.user.id = :userId AND ua.id > :rolledUpTo " +
+           "AND ua.timestamp >= :since AND g.genre IS NOT NULL GROUP BY g.genre, CAST(ua.timestamp AS LocalDate)")
+    List<GenreDayCount> findGenreDayCountsAfter(@Param("userId") Long userId, @Param("rolledUpTo") Long rolledUpTo,
+                                                @Param("since") LocalDateTime since);
+    
+    /**
+     * IDs of a user's activity rows past the rollup watermark
+     */
+    @Query("SELECT ua.id FROM UserActivity ua WHERE ua.user.id = :userId AND ua.id > :rolledUpTo")
+    List<Long> findIdsByUserIdAfter(@Param("userId") Long userId, @Param("rolledUpTo") Long rolledUpTo);
+    
+    /**
+     * Those of the given activity IDs that have a row
+     */
+    @Query("SELECT ua.id FROM UserActivity ua WHERE ua.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Highest activity ID so far (null for an empty table)
+     */
+    @Query("SELECT MAX(ua.id) FROM UserActivity ua")
+    Long findMaxId();
+    
+    /**
+     * Users with activity in the ID range (afterId, upToId] since a point in time
+     */
+    @Query("SELECT DISTINCT ua.user.id FROM UserActivity ua WHERE ua.id > :afterId AND ua.id <= :upToId AND ua.timestamp >= :since")
+    List<Long> findUserIdsWithActivityBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId,
+                                              @Param("since") LocalDateTime since);
 }
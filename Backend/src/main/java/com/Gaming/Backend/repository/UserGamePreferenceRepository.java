@@ -27,8 +27,8 @@ public interface UserGamePreferenceRepository extends JpaRepository<UserGamePref
     Optional<UserGamePreference> findByUserIdAndGenre(Long userId, String genre);
     
     /**
-     * Get top N preferred genres for a user
+     * Get top N preferred genres for a user (ties broken by genre name)
      */
-    @Query("SELECT ugp.genre FROM UserGamePreference ugp WHERE ugp.user.id = :userId ORDER BY ugp.interactionCount DESC")
+    @Query("SELECT ugp.genre FROM UserGamePreference ugp WHERE ugp.user.id = :userId ORDER BY ugp.interactionCount DESC, ugp.genre")
     List<String> findTopGenresByUserId(@Param("userId") Long userId);
 }
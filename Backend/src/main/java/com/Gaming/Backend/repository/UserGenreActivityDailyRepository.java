@@ -0,0 +1,25 @@
+package com.Gaming.Backend.repository;
+
+import com.Gaming.Backend.entity.UserGenreActivityDaily;
+import com.Gaming.Backend.repository.projection.GenreDayCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for the daily per-user, per-genre activity rollup
+ */
+@Repository
+public interface UserGenreActivityDailyRepository extends JpaRepository<UserGenreActivityDaily, Long> {
+    
+    /**
+     * A user's rolled-up interactions per genre and day since a day
+     */
+    @Query("SELECT new com.Gaming.Backend.repository.projection.GenreDayCount(d.genre, d.activityDate, d.activityCount) " +
+           "FROM UserGenreActivityDaily d WHERE d.userId = :userId AND d.activityDate >= :since")
+    List<GenreDayCount> findGenreDayCounts(@Param("userId") Long userId, @Param("since") LocalDate since);
+}
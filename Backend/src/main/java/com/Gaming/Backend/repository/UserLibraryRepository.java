@@ -3,9 +3,15 @@ package com.Gaming.Backend.repository;
 import com.Gaming.Backend.entity.UserLibrary;
 import com.Gaming.Backend.entity.User;
 import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.repository.projection.OwnershipRow;
+import com.Gaming.Backend.repository.projection.PurchaseRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +27,16 @@ public interface UserLibraryRepository extends JpaRepository<UserLibrary, Long>
     Boolean existsByUserAndGame(User user, Game game);
     
     Boolean existsByUserIdAndGameId(Long userId, Long gameId);
+    
+    @Query("SELECT ul.game.id FROM UserLibrary ul WHERE ul.user.id = :userId")
+    List<Long> findGameIdsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT new com.Gaming.Backend.repository.projection.OwnershipRow(ul.id, ul.user.id, ul.game.id) " +
+           "FROM UserLibrary ul WHERE ul.id > :afterId ORDER BY ul.id")
+    List<OwnershipRow> findOwnershipRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.Gaming.Backend.repository.projection.PurchaseRow(ul.id, ul.game.id, ul.purchaseDate) " +
+           "FROM UserLibrary ul WHERE ul.id > :afterId AND ul.purchaseDate >= :since ORDER BY ul.id")
+    List<PurchaseRow> findPurchaseRowsAfter(@Param("afterId") Long afterId, @Param("since") LocalDateTime since,
+                                            Pageable pageable);
 }
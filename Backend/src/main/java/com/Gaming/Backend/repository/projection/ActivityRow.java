@@ -0,0 +1,9 @@
+package com.Gaming.Backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat user_activity row for bulk replays into in-memory recommendation state
+ */
+public record ActivityRow(Long id, Long userId, Long gameId, String activityType, LocalDateTime timestamp) {
+}
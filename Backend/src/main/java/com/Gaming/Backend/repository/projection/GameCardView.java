@@ -0,0 +1,34 @@
+package com.Gaming.Backend.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Flat projection of the columns a game card needs
+ * Selected with a JPQL constructor expression, so no Game entity, publisher or element
+ * collection is loaded; the primary image is fetched separately for a whole page at once
+ */
+public record GameCardView(
+        Long id,
+        String title,
+        Double price,
+        Double discount,
+        String genre,
+        Long publisherId,
+        String publisherName,
+        LocalDate releaseDate,
+        Double averageRating,
+        Integer reviewCount,
+        Boolean isFreeToPlay,
+        Boolean featured,
+        Boolean editorPick,
+        Integer downloads,
+        Boolean active
+) {
+
+    public Double effectivePrice() {
+        if (discount != null && discount > 0) {
+            return price - (price * discount / 100);
+        }
+        return price;
+    }
+}
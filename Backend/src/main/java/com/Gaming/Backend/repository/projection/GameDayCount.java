@@ -0,0 +1,9 @@
+package com.Gaming.Backend.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * How many activities of one type a game received on one day
+ */
+public record GameDayCount(Long gameId, LocalDate day, String activityType, Long activities) {
+}
@@ -0,0 +1,9 @@
+package com.Gaming.Backend.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * How many times a user interacted with games of one genre on one day
+ */
+public record GenreDayCount(String genre, LocalDate day, Long interactions) {
+}
@@ -0,0 +1,7 @@
+package com.Gaming.Backend.repository.projection;
+
+/**
+ * Flat user_library row (who owns which game) for bulk loads
+ */
+public record OwnershipRow(Long id, Long userId, Long gameId) {
+}
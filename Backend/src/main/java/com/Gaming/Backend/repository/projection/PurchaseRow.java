@@ -0,0 +1,9 @@
+package com.Gaming.Backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat user_library row (which game was bought when) for bulk loads
+ */
+public record PurchaseRow(Long id, Long gameId, LocalDateTime purchaseDate) {
+}
@@ -1,21 +1,52 @@
 package com.Gaming.Backend.service;
 
+import com.Gaming.Backend.catalog.CatalogCacheInvalidator;
+import com.Gaming.Backend.catalog.CatalogCursor;
+import com.Gaming.Backend.catalog.CatalogIndexManager;
+import com.Gaming.Backend.catalog.CatalogVersions;
+import com.Gaming.Backend.catalog.GameFacetIndex;
+import com.Gaming.Backend.catalog.GameMetadataIndex;
+import com.Gaming.Backend.catalog.GameSearchIndex;
+import com.Gaming.Backend.catalog.GameSortField;
+import com.Gaming.Backend.catalog.TagSimilarityIndex;
+import com.Gaming.Backend.catalog.TypeaheadIndex;
+import com.Gaming.Backend.config.CacheConfig;
+import com.Gaming.Backend.dto.CursorPage;
 import com.Gaming.Backend.dto.game.GameDTO;
+import com.Gaming.Backend.dto.game.GameFilterResponse;
+import com.Gaming.Backend.dto.game.GameSuggestionDTO;
 import com.Gaming.Backend.entity.Game;
 import com.Gaming.Backend.entity.Publisher;
+import com.Gaming.Backend.exception.BadRequestException;
 import com.Gaming.Backend.exception.ResourceNotFoundException;
+import com.Gaming.Backend.exception.ServiceUnavailableException;
+import com.Gaming.Backend.mapper.GameMapper;
 import com.Gaming.Backend.repository.GameRepository;
 import com.Gaming.Backend.repository.PublisherRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,52 +56,301 @@ public class GameService {
 
     private final GameRepository gameRepository;
     private final PublisherRepository publisherRepository;
-    private final ModelMapper modelMapper;
+    private final GameMapper gameMapper;
+    private final GameSearchIndex gameSearchIndex;
+    private final TypeaheadIndex typeaheadIndex;
+    private final GameFacetIndex gameFacetIndex;
+    private final GameMetadataIndex gameMetadataIndex;
+    private final TagSimilarityIndex tagSimilarityIndex;
+    private final CatalogIndexManager catalogIndexManager;
+    private final CatalogCacheInvalidator catalogCacheInvalidator;
+    private final CatalogVersions catalogVersions;
+    private final CacheManager cacheManager;
+
+    public static final int MAX_BATCH_IDS = 100;
+
+    private static final String LIST_CURSOR = "list";
+    private static final String SEARCH_CURSOR = "search";
+    private static final String FILTER_CURSOR = "filter";
+
+    /**
+     * A game's details together with the ETag of the version they were loaded at, cached as one
+     * value so a conditional GET never pairs a newer tag with older details
+     */
+    public record GameDetails(GameDTO game, String etag) {
+    }
 
     public Page<GameDTO> getAllGames(int page, int size, String sortBy) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy).descending());
+        GameSortField sortField = GameSortField.fromProperty(sortBy);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortField.getProperty()).descending());
         Page<Game> games = gameRepository.findByActiveTrue(pageable);
-        return games.map(this::convertToDTO);
+        return games.map(gameMapper::toDTO);
+    }
+
+    /**
+     * Keyset-paginated listing; the cursor encodes the sort key and ID of the last game returned
+     */
+    public CursorPage<GameDTO> getAllGames(String cursor, int size, String sortBy) {
+        GameSortField sortField = GameSortField.fromProperty(sortBy);
+        Sort sort = Sort.by(Sort.Direction.DESC, sortField.getProperty(), "id");
+
+        ScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null && !cursor.isBlank()) {
+            String[] values = CatalogCursor.decode(cursor, LIST_CURSOR + ":" + sortField.getProperty(), 2);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            try {
+                keys.put(sortField.getProperty(), sortField.parse(values[0]));
+                keys.put("id", Long.valueOf(values[1]));
+            } catch (NumberFormatException | DateTimeParseException ex) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            position = ScrollPosition.forward(keys);
+        }
+
+        Window<Game> window = gameRepository.findByActiveTrue(position, sort, Limit.of(size));
+        List<GameDTO> content = window.getContent().stream()
+                .map(gameMapper::toDTO)
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Game last = window.getContent().get(window.size() - 1);
+            nextCursor = CatalogCursor.encode(LIST_CURSOR + ":" + sortField.getProperty(),
+                    sortField.format(last), String.valueOf(last.getId()));
+        }
+        return new CursorPage<>(content, nextCursor, nextCursor != null);
     }
 
-    public GameDTO getGameById(Long id) {
+    /**
+     * Game details and their ETag from the details cache; a miss is loaded and cached like in
+     * {@link #getGamesByIds}, tagged with the version read before the load, which the loaded
+     * details are at least as new as
+     */
+    public GameDetails getGameDetails(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.GAME_DETAILS);
+        GameDetails cached = cache != null ? cache.get(id, GameDetails.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+        long evictions = catalogCacheInvalidator.detailEvictions();
+        String etag = catalogVersions.gameETag(id);
         Game game = gameRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Game not found with id: " + id));
-        return convertToDTO(game);
+        GameDetails details = new GameDetails(gameMapper.toDTO(game), etag);
+        cacheDetails(cache, List.of(details), evictions);
+        return details;
+    }
+
+    /**
+     * Games by ID in the order requested, for wishlists, carts and recently viewed lists
+     * Games in the details cache are served from it; the rest are loaded in one query and cached,
+     * unless a game changed during the load (its eviction may have run before the put).
+     * Unknown IDs are left out and repeated IDs are returned once.
+     */
+    public List<GameDTO> getGamesByIds(List<Long> ids) {
+        List<Long> distinct = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_IDS + " game IDs per request");
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.GAME_DETAILS);
+        Map<Long, GameDTO> games = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : distinct) {
+            GameDetails cached = cache != null ? cache.get(id, GameDetails.class) : null;
+            if (cached != null) {
+                games.put(id, cached.game());
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            long evictions = catalogCacheInvalidator.detailEvictions();
+            Map<Long, String> etags = new HashMap<>();
+            misses.forEach(id -> etags.put(id, catalogVersions.gameETag(id)));
+            List<GameDetails> loaded = new ArrayList<>();
+            for (Game game : gameRepository.findAllById(misses)) {
+                GameDTO dto = gameMapper.toDTO(game);
+                games.put(game.getId(), dto);
+                loaded.add(new GameDetails(dto, etags.get(game.getId())));
+            }
+            cacheDetails(cache, loaded, evictions);
+        }
+        return distinct.stream()
+                .map(games::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     public Page<GameDTO> searchGames(String keyword, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Game> games = gameRepository.searchGames(keyword, pageable);
-        return games.map(this::convertToDTO);
+        if (!catalogIndexManager.isReady()) {
+            // Index still building on startup - fall back to the SQL scan
+            Page<Game> games = gameRepository.searchGames(keyword, pageable);
+            return games.map(gameMapper::toDTO);
+        }
+
+        GameSearchIndex.SearchResult result = gameSearchIndex.search(keyword, (int) pageable.getOffset(), size);
+        List<GameDTO> content = findAllInOrder(result.gameIds()).stream()
+                .map(gameMapper::toDTO)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, result.total());
     }
 
-    public Page<GameDTO> filterGames(String genre, Double minPrice, Double maxPrice, int page, int size) {
+    /**
+     * Keyset-paginated search; the cursor encodes the relevance key of the last hit returned
+     * and is bound to the keyword, since the key only orders hits of the same search
+     */
+    public CursorPage<GameDTO> searchGames(String keyword, String cursor, int size) {
+        requireCatalogIndex();
+        String scope = SEARCH_CURSOR + ":" + keywordHash(keyword);
+        GameSearchIndex.Hit after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] values = CatalogCursor.decode(cursor, scope, 3);
+            try {
+                after = new GameSearchIndex.Hit(Long.valueOf(values[0]), Float.parseFloat(values[1]),
+                        Integer.parseInt(values[2]));
+            } catch (NumberFormatException ex) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        GameSearchIndex.SearchResult result = gameSearchIndex.searchAfter(keyword, after, size);
+        List<GameDTO> content = findAllInOrder(result.gameIds()).stream()
+                .map(gameMapper::toDTO)
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (result.total() > result.hits().size() && !result.hits().isEmpty()) {
+            GameSearchIndex.Hit last = result.hits().get(result.hits().size() - 1);
+            nextCursor = CatalogCursor.encode(scope, String.valueOf(last.gameId()),
+                    String.valueOf(last.score()), String.valueOf(last.downloads()));
+        }
+        return new CursorPage<>(content, nextCursor, nextCursor != null);
+    }
+
+    public List<GameSuggestionDTO> suggest(String prefix, int limit) {
+        int capped = Math.min(limit, TypeaheadIndex.MAX_SUGGESTIONS);
+        return typeaheadIndex.suggest(prefix, capped).stream()
+                .map(s -> new GameSuggestionDTO(s.text(), s.type().name(), s.gameId()))
+                .collect(Collectors.toList());
+    }
+
+    public GameFilterResponse filterGames(GameFacetIndex.FacetQuery query, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Game> games = gameRepository.findWithFilters(genre, minPrice, maxPrice, pageable);
-        return games.map(this::convertToDTO);
+        if (!catalogIndexManager.isReady()) {
+            // Index still building on startup - fall back to SQL without facet counts
+            String genre = query.genres().isEmpty() ? null : query.genres().iterator().next();
+            Page<Game> games = gameRepository.findWithFilters(genre, query.minPrice(), query.maxPrice(), pageable);
+            return new GameFilterResponse(games.map(gameMapper::toDTO), Map.of());
+        }
+
+        GameFacetIndex.FacetResult result = gameFacetIndex.filter(query, (int) pageable.getOffset(), size);
+        List<GameDTO> content = findAllInOrder(result.gameIds()).stream()
+                .map(gameMapper::toDTO)
+                .collect(Collectors.toList());
+        return new GameFilterResponse(new PageImpl<>(content, pageable, result.total()), result.facets());
     }
 
+    /**
+     * Keyset-paginated filtering in ascending ID order; the cursor encodes the last game ID
+     */
+    public CursorPage<GameDTO> filterGames(GameFacetIndex.FacetQuery query, String cursor, int size) {
+        requireCatalogIndex();
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.valueOf(CatalogCursor.decode(cursor, FILTER_CURSOR, 1)[0]);
+            } catch (NumberFormatException ex) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        List<Long> ids = gameFacetIndex.filterAfter(query, afterId, size);
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+        List<GameDTO> content = findAllInOrder(pageIds).stream()
+                .map(gameMapper::toDTO)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext
+                ? CatalogCursor.encode(FILTER_CURSOR, String.valueOf(pageIds.get(pageIds.size() - 1)))
+                : null;
+        return new CursorPage<>(content, nextCursor, hasNext);
+    }
+
+    @Cacheable(CacheConfig.FEATURED_GAMES)
     public List<GameDTO> getFeaturedGames(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
         return gameRepository.findFeaturedGames(pageable).stream()
-                .map(this::convertToDTO)
+                .map(gameMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(CacheConfig.GAMES_ON_SALE)
     public List<GameDTO> getGamesOnSale(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
         return gameRepository.findGamesOnSale(pageable).stream()
-                .map(this::convertToDTO)
+                .map(gameMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
-    private GameDTO convertToDTO(Game game) {
-        GameDTO dto = modelMapper.map(game, GameDTO.class);
-        dto.setDiscountedPrice(game.getDiscountedPrice());
-        if (game.getPublisher() != null) {
-            dto.setPublisherName(game.getPublisher().getName());
+    /**
+     * Active games with the most similar tags to the given game
+     */
+    public List<GameDTO> getSimilarGames(Long id, int limit) {
+        List<Long> ids = tagSimilarityIndex.similar(id, limit).stream()
+                .map(TagSimilarityIndex.Match::gameId)
+                .collect(Collectors.toList());
+        // The dictionary answers for known games; SQL only confirms a miss (e.g. a game created a moment ago)
+        if (ids.isEmpty() && !gameMetadataIndex.contains(id) && !gameRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Game not found with id: " + id);
         }
-        return dto;
+        return findAllInOrder(ids).stream()
+                .map(gameMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Cache freshly loaded details, then drop them again if any game details were evicted since
+     * evictions was read: a game changed during the load, and its eviction may have run before
+     * the put, which would otherwise keep the stale details until they expire
+     */
+    private void cacheDetails(Cache cache, List<GameDetails> loaded, long evictions) {
+        if (cache == null) {
+            return;
+        }
+        loaded.forEach(details -> cache.put(details.game().getId(), details));
+        if (catalogCacheInvalidator.detailEvictions() != evictions) {
+            loaded.forEach(details -> cache.evict(details.game().getId()));
+        }
+    }
+
+    /**
+     * Keyset pages have no SQL equivalent of the index order, so they wait for the startup build
+     */
+    private void requireCatalogIndex() {
+        if (!catalogIndexManager.isReady()) {
+            throw new ServiceUnavailableException("Catalog index is still building, retry shortly or use page numbers");
+        }
+    }
+
+    private static String keywordHash(String keyword) {
+        return Integer.toHexString(keyword.trim().toLowerCase(Locale.ROOT).hashCode());
+    }
+
+    /**
+     * Load games by ID in one query, keeping the order of the given IDs
+     */
+    private List<Game> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Game> byId = gameRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Game::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 }
@@ -1,34 +1,45 @@
 package com.Gaming.Backend.service;
 
 import com.Gaming.Backend.dto.GameDTO;
-import com.Gaming.Backend.entity.Game;
-import com.Gaming.Backend.repository.GameRepository;
+import com.Gaming.Backend.recommendation.OwnershipIndex;
+import com.Gaming.Backend.recommendation.PersonalizedSectionCache;
+import com.Gaming.Backend.recommendation.UserProfileStore;
+import com.Gaming.Backend.recommendation.pipeline.RecommendationPipeline;
+import com.Gaming.Backend.recommendation.pipeline.RecommendationRequest;
+import com.Gaming.Backend.recommendation.pipeline.SectionPipelines;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Service for generating personalized game recommendations
- * Implements 8 different recommendation algorithms for Steam-like homepage
+ * Implements 8 different recommendation algorithms for Steam-like homepage, each a
+ * {@link com.Gaming.Backend.recommendation.pipeline.SectionPipeline} run by the {@link RecommendationPipeline}
+ * Personalized sections leave out games the user owns, fetching enough extra rows to stay full
+ * For You and personalized deals are served from the offline precompute when it is current
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RecommendationService {
     
-    private final GameRepository gameRepository;
-    private final UserActivityService userActivityService;
-    private final ModelMapper modelMapper;
+    private final UserProfileStore userProfileStore;
+    private final PersonalizedSectionCache personalizedSectionCache;
+    private final OwnershipIndex ownershipIndex;
+    private final RecommendationPipeline recommendationPipeline;
+    private final SectionPipelines sectionPipelines;
+    
+    public static final int RECOMMENDED_GAMES = 12;
+    public static final int PERSONALIZED_DEALS_GAMES = 8;
+    public static final int BECAUSE_YOU_VIEWED_GAMES = 6;
+    public static final int TRENDING_GAMES = 10;
+    public static final int EDITOR_CHOICE_GAMES = 6;
+    public static final int RECENTLY_RELEASED_GAMES = 8;
+    public static final int BUDGET_GAMES = 10;
     
     /**
      * 1. Continue Where You Left Off
@@ -37,46 +48,36 @@ public class RecommendationService {
     public List<GameDTO> getContinueWhereYouLeftOff(Long userId) {
         log.debug("Getting continue playing games for user {}", userId);
         
-        List<Long> recentGameIds = userActivityService.getRecentlyViewedGameIds(userId, 4);
-        
+        List<Long> recentGameIds = userProfileStore.recentGameIds(userId, 4);
+        return getContinueWhereYouLeftOff(recentGameIds);
+    }
+    
+    /**
+     * Continue Where You Left Off for already loaded recent game IDs
+     */
+    public List<GameDTO> getContinueWhereYouLeftOff(List<Long> recentGameIds) {
         if (recentGameIds.isEmpty()) {
             return List.of();
         }
         
-        List<Game> games = gameRepository.findByIdIn(recentGameIds);
+        List<GameDTO> games = recommendationPipeline.run(sectionPipelines.getContinuePlaying(),
+                RecommendationRequest.ofGames(recentGameIds));
         
-        // Convert to DTOs and add "last played" time
-       return games.stream()
-                .map(this::convertToDTO)
+        // Add "last played" time
+        return games.stream()
                 .peek(dto -> dto.setLastPlayedTime("Recently viewed"))
                 .collect(Collectors.toList());
     }
     
     /**
      * 2. Recommended For You ⭐ (MOST IMPORTANT)
-     * Based on user's preferred genres
+     * Based on user's preferred genres, featured games for new users
      */
     public List<GameDTO> getRecommendedGames(Long userId) {
         log.debug("Getting recommended games for user {}", userId);
         
-        List<String> preferredGenres = userActivityService.getUserPreferredGenres(userId);
-        
-        if (preferredGenres.isEmpty()) {
-            // New user - show featured games
-            return getFeaturedGames();
-        }
-        
-        // Get top 3 preferred genres
-        List<String> topGenres = preferredGenres.stream()
-                .limit(3)
-                .collect(Collectors.toList());
-        
-        Pageable pageable = PageRequest.of(0, 12);
-        List<Game> games = gameRepository.findByActiveTrueAndGenreIn(topGenres, pageable);
-        
-        return games.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return personalizedSectionCache.get(userId, PersonalizedSectionCache.RECOMMENDED, genres ->
+                recommendationPipeline.run(sectionPipelines.getRecommended(), forUser(userId, genres, RECOMMENDED_GAMES)));
     }
     
     /**
@@ -86,83 +87,34 @@ public class RecommendationService {
     public List<GameDTO> getBecauseYouViewedGames(Long userId, Long gameId) {
         log.debug("Getting 'because you viewed' games for user {} based on game {}", userId, gameId);
         
-        // Find the game user viewed
-        var gameOpt = gameRepository.findById(gameId);
-        if (gameOpt.isEmpty()) {
-            return List.of();
-        }
-        
-        Game viewedGame = gameOpt.get();
-        
-        // Find similar games (same genre OR same publisher)
-        List<Game> similarGames = new ArrayList<>();
-        
-        // Same genre games
-        Pageable genrePageable = PageRequest.of(0, 4);
-        List<Game> sameGenre = gameRepository.findByActiveTrueAndGenreIn(
-                List.of(viewedGame.getGenre()), genrePageable);
-        similarGames.addAll(sameGenre);
-        
-        // Same publisher games (if publisher exists)
-        if (viewedGame.getPublisher() != null) {
-            Pageable publisherPageable = PageRequest.of(0, 2);
-            List<Game> samePublisher = gameRepository.findByActiveTrueAndPublisherId(
-                    viewedGame.getPublisher().getId(), publisherPageable);
-            similarGames.addAll(samePublisher);
-        }
-        
-        // Remove the original game and limit to 6
-        return similarGames.stream()
-                .filter(g -> !g.getId().equals(gameId))
-                .distinct()
-                .limit(6)
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return recommendationPipeline.run(sectionPipelines.getBecauseYouViewed(),
+                RecommendationRequest.seededBy(userId, gameId, ownershipIndex.owned(userId), BECAUSE_YOU_VIEWED_GAMES));
     }
     
     /**
      * 4. Trending This Week
-     * Games sorted by rating and downloads
+     * Games with the most (time-decayed) activity and purchases over the last week,
+     * topped up with games sorted by rating and downloads while there is too little activity
      */
     public List<GameDTO> getTrendingGames() {
+        return getTrendingGames(TRENDING_GAMES);
+    }
+    
+    public List<GameDTO> getTrendingGames(int limit) {
         log.debug("Getting trending games");
         
-        Pageable pageable = PageRequest.of(0, 10);
-        List<Game> games = gameRepository.findTrendingGames(pageable);
-        
-        return games.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return recommendationPipeline.run(sectionPipelines.getTrending(), RecommendationRequest.general(limit));
     }
     
     /**
      * 5. Deals Just For You
-     * Personalized deals based on user's preferred genres
+     * Personalized deals based on user's preferred genres, any deals for new users
      */
     public List<GameDTO> getPersonalizedDeals(Long userId) {
         log.debug("Getting personalized deals for user {}", userId);
         
-        List<String> preferredGenres = userActivityService.getUserPreferredGenres(userId);
-        
-        if (preferredGenres.isEmpty()) {
-            // New user - show all deals
-            return getGenericDeals();
-        }
-        
-        // Get deals in preferred genres
-        List<String> topGenres = preferredGenres.stream()
-                .limit(3)
-                .collect(Collectors.toList());
-        
-        Pageable pageable = PageRequest.of(0, 8);
-        List<Game> games = gameRepository.findByActiveTrueAndGenreIn(topGenres, pageable);
-        
-        // Filter only games with discount
-        return games.stream()
-                .filter(g -> g.getDiscount() != null && g.getDiscount() > 0)
-                .map(this::convertToDTO)
-                .limit(8)
-                .collect(Collectors.toList());
+        return personalizedSectionCache.get(userId, PersonalizedSectionCache.PERSONALIZED_DEALS, genres ->
+                recommendationPipeline.run(sectionPipelines.getPersonalizedDeals(), forUser(userId, genres, PERSONALIZED_DEALS_GAMES)));
     }
     
     /**
@@ -170,14 +122,13 @@ public class RecommendationService {
      * Curated games marked by editors
      */
     public List<GameDTO> getEditorChoiceGames() {
+        return getEditorChoiceGames(EDITOR_CHOICE_GAMES);
+    }
+    
+    public List<GameDTO> getEditorChoiceGames(int limit) {
         log.debug("Getting editor's choice games");
         
-        Pageable pageable = PageRequest.of(0, 6);
-        List<Game> games = gameRepository.findByActiveTrueAndEditorPickTrue(pageable);
-        
-        return games.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return recommendationPipeline.run(sectionPipelines.getEditorChoice(), RecommendationRequest.general(limit));
     }
     
     /**
@@ -185,15 +136,13 @@ public class RecommendationService {
      * Games released in the last 3 months
      */
     public List<GameDTO> getRecentlyReleasedGames() {
+        return getRecentlyReleasedGames(RECENTLY_RELEASED_GAMES);
+    }
+    
+    public List<GameDTO> getRecentlyReleasedGames(int limit) {
         log.debug("Getting recently released games");
         
-        LocalDate threeMonthsAgo = LocalDate.now().minus(3, ChronoUnit.MONTHS);
-        Pageable pageable = PageRequest.of(0, 8);
-        List<Game> games = gameRepository.findRecentlyReleased(threeMonthsAgo, pageable);
-        
-        return games.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return recommendationPipeline.run(sectionPipelines.getRecentlyReleased(), RecommendationRequest.general(limit));
     }
     
     /**
@@ -201,65 +150,24 @@ public class RecommendationService {
      * Budget-friendly games
      */
     public List<GameDTO> getBudgetGames() {
-        log.debug("Getting budget games (free or under $20)");
-        
-        Pageable pageable = PageRequest.of(0, 10);
-        List<Game> games = gameRepository.findBudgetGames(20.0, pageable);
-        
-        return games.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return getBudgetGames(BUDGET_GAMES);
     }
     
-    // Helper methods
-    
-    /**
-     * Get featured games for new users
-     */
-    private List<GameDTO> getFeaturedGames() {
-        Pageable pageable = PageRequest.of(0, 12);
-        List<Game> games = gameRepository.findFeaturedGames(pageable);
+    public List<GameDTO> getBudgetGames(int limit) {
+        log.debug("Getting budget games (free or under $20)");
         
-        return games.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return recommendationPipeline.run(sectionPipelines.getBudget(), RecommendationRequest.general(limit));
     }
     
-    /**
-     * Get generic deals for new users
-     */
-    private List<GameDTO> getGenericDeals() {
-        Pageable pageable = PageRequest.of(0, 8);
-        List<Game> games = gameRepository.findByActiveTrueAndDiscountGreaterThan(0.0, pageable);
-        
-        return games.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-    }
+    // Helper methods
     
     /**
-     * Convert Game entity to GameDTO
+     * Request for a user's genre-based section, with the affinities of their top genres
      */
-    private GameDTO convertToDTO(Game game) {
-        GameDTO dto = modelMapper.map(game, GameDTO.class);
-        
-        // Set publisher name from publisher entity
-        if (game.getPublisher() != null) {
-            dto.setPublisher(game.getPublisher().getName());
-        }
-        
-        // Set primary image from images collection
-        if (game.getImages() != null && !game.getImages().isEmpty()) {
-            dto.setImageUrl(game.getImages().iterator().next());
-        }
-        
-        // Set rating
-        dto.setRating(game.getAverageRating());
-        dto.setReviewCount(game.getReviewCount());
-        
-        // Calculate effective price
-        dto.setEffectivePrice(game.getDiscountedPrice());
-        
-        return dto;
+    private RecommendationRequest forUser(Long userId, List<String> genres, int limit) {
+        Map<String, Double> affinities = genres.isEmpty()
+                ? Map.of()
+                : userProfileStore.genreAffinities(userId, PersonalizedSectionCache.TOP_GENRES);
+        return RecommendationRequest.forUser(userId, genres, affinities, ownershipIndex.owned(userId), limit);
     }
 }
@@ -1,17 +1,17 @@
 package com.Gaming.Backend.service;
 
-import com.Gaming.Backend.entity.User;
-import com.Gaming.Backend.entity.UserActivity;
-import com.Gaming.Backend.entity.UserGamePreference;
+import com.Gaming.Backend.activity.ActivityIngestor;
+import com.Gaming.Backend.dto.ActivityTrackingRequest;
 import com.Gaming.Backend.repository.UserActivityRepository;
 import com.Gaming.Backend.repository.UserGamePreferenceRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,52 +25,43 @@ public class UserActivityService {
     
     private final UserActivityRepository userActivityRepository;
     private final UserGamePreferenceRepository userGamePreferenceRepository;
+    private final ActivityIngestor activityIngestor;
+    private final Validator validator;
+    
+    public static final int MAX_BATCH_ITEMS = 1000;
     
     /**
      * Track a user activity (VIEW, CLICK, PURCHASE, WISHLIST)
+     * Written behind by the {@link ActivityIngestor}, which also updates the genre preferences
      */
-    @Transactional
-    public void trackActivity(User user, Long gameId, String activityType, String genre) {
-        // Save activity
-        UserActivity activity = new UserActivity();
-        activity.setUser(user);
-        activity.setGameId(gameId);
-        activity.setActivityType(activityType);
-        activity.setTimestamp(LocalDateTime.now());
-        
-        userActivityRepository.save(activity);
-        log.debug("Tracked {} activity for user {} on game {}", activityType, user.getId(), gameId);
-        
-        // Update user preferences if genre is provided
-        if (genre != null && !genre.isEmpty()) {
-            updateUserPreferences(user.getId(), genre);
-        }
+    public ActivityIngestor.Admission trackActivity(Long userId, Long gameId, String activityType) {
+        ActivityIngestor.Admission admission = activityIngestor.submit(userId, gameId, activityType);
+        log.debug("Tracking {} activity for user {} on game {}: {}", activityType, userId, gameId, admission);
+        return admission;
     }
     
     /**
-     * Update user's genre preferences
+     * Validate and queue one activity of a batch or NDJSON upload
+     * Items are checked against the same constraints as the single endpoint, but a bad item or a
+     * full queue rejects only that item
+     * @return why the activity was rejected, or null once it is queued
      */
-    @Transactional
-    public void updateUserPreferences(Long userId, String genre) {
-        var preferenceOpt = userGamePreferenceRepository.findByUserIdAndGenre(userId, genre);
-        
-        if (preferenceOpt.isPresent()) {
-            // Increment existing preference
-            UserGamePreference preference = preferenceOpt.get();
-            preference.incrementInteraction();
-            userGamePreferenceRepository.save(preference);
-            log.debug("Updated preference for user {} genre {}: count={}", userId, genre, preference.getInteractionCount());
-        } else {
-            // Create new preference
-            UserGamePreference newPreference = new UserGamePreference();
-            newPreference.setUser(new User()); // Set user reference
-            newPreference.getUser().setId(userId);
-            newPreference.setGenre(genre);
-            newPreference.setInteractionCount(1);
-            newPreference.setLastUpdated(LocalDateTime.now());
-            userGamePreferenceRepository.save(newPreference);
-            log.debug("Created new preference for user {} genre {}", userId, genre);
+    public String trackBatchItem(Long userId, ActivityTrackingRequest request) {
+        if (request == null) {
+            return "Activity is required";
+        }
+        Set<ConstraintViolation<ActivityTrackingRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
         }
+        return switch (trackActivity(userId, request.getGameId(), request.getActivityType())) {
+            case ACCEPTED -> null;
+            case DROPPED -> "Dropped: activity queue full";
+            case REJECTED -> "Activity queue full, retry later";
+        };
     }
     
     /**
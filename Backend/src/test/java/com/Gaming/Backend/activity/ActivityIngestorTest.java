@@ -0,0 +1,128 @@
+package com.Gaming.Backend.activity;
+
+import com.Gaming.Backend.catalog.GameMetadataIndex;
+import com.Gaming.Backend.repository.GameRepository;
+import com.Gaming.Backend.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ActivityIngestorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T12:30:00Z"));
+
+    /**
+     * An ingestor with a queue of two and no flusher, so the queue only drains when a test says so
+     */
+    private ActivityIngestor ingestor(ActivityIngestor.OverflowPolicy overflow, Duration blockTimeout) {
+        ActivityIngestor ingestor = new ActivityIngestor(mock(JdbcTemplate.class), mock(TransactionTemplate.class),
+                mock(GameRepository.class), mock(GameMetadataIndex.class), mock(ApplicationEventPublisher.class),
+                mock(GenrePreferenceAggregator.class), meterRegistry, clock,
+                2, 10, Duration.ofMillis(50), overflow, blockTimeout);
+        ingestor.open();
+        return ingestor;
+    }
+
+    @Test
+    void stampsActivitiesWithTheClockTime() {
+        ActivityIngestor ingestor = ingestor(ActivityIngestor.OverflowPolicy.DROP_NEWEST, Duration.ZERO);
+
+        ingestor.submit(1L, 10L, "VIEW");
+
+        assertThat(ingestor.queue().peek()).isEqualTo(new ActivityIngestor.PendingActivity(
+                1L, 10L, "VIEW", LocalDateTime.of(2026, 3, 2, 12, 30)));
+    }
+
+    @Test
+    void dropNewestDropsTheIncomingActivity() {
+        ActivityIngestor ingestor = ingestor(ActivityIngestor.OverflowPolicy.DROP_NEWEST, Duration.ZERO);
+
+        assertThat(ingestor.submit(1L, 10L, "VIEW")).isEqualTo(ActivityIngestor.Admission.ACCEPTED);
+        assertThat(ingestor.submit(2L, 10L, "VIEW")).isEqualTo(ActivityIngestor.Admission.ACCEPTED);
+        assertThat(ingestor.submit(3L, 10L, "VIEW")).isEqualTo(ActivityIngestor.Admission.DROPPED);
+
+        assertThat(queuedUsers(ingestor)).containsExactly(1L, 2L);
+        assertThat(dropped("overflow")).isEqualTo(1);
+        assertThat(meterRegistry.get("activity.ingest.queue.depth").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void dropOldestMakesRoomForTheIncomingActivity() {
+        ActivityIngestor ingestor = ingestor(ActivityIngestor.OverflowPolicy.DROP_OLDEST, Duration.ZERO);
+
+        ingestor.submit(1L, 10L, "VIEW");
+        ingestor.submit(2L, 10L, "VIEW");
+        assertThat(ingestor.submit(3L, 10L, "VIEW")).isEqualTo(ActivityIngestor.Admission.ACCEPTED);
+
+        assertThat(queuedUsers(ingestor)).containsExactly(2L, 3L);
+        assertThat(dropped("evicted")).isEqualTo(1);
+        assertThat(dropped("overflow")).isZero();
+    }
+
+    @Test
+    void blockDropsTheIncomingActivityAfterTheTimeout() {
+        ActivityIngestor ingestor = ingestor(ActivityIngestor.OverflowPolicy.BLOCK, Duration.ofMillis(20));
+        ingestor.submit(1L, 10L, "VIEW");
+        ingestor.submit(2L, 10L, "VIEW");
+
+        assertThat(ingestor.submit(3L, 10L, "VIEW")).isEqualTo(ActivityIngestor.Admission.DROPPED);
+
+        assertThat(queuedUsers(ingestor)).containsExactly(1L, 2L);
+        assertThat(dropped("overflow")).isEqualTo(1);
+    }
+
+    @Test
+    @Timeout(10)
+    void blockAcceptsTheActivityOnceRoomFrees() throws InterruptedException {
+        ActivityIngestor ingestor = ingestor(ActivityIngestor.OverflowPolicy.BLOCK, Duration.ofMinutes(1));
+        ingestor.submit(1L, 10L, "VIEW");
+        ingestor.submit(2L, 10L, "VIEW");
+
+        AtomicReference<ActivityIngestor.Admission> admission = new AtomicReference<>();
+        Thread producer = Thread.ofPlatform().start(() -> admission.set(ingestor.submit(3L, 10L, "VIEW")));
+        // Free a slot only once the producer is parked waiting for one
+        while (producer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        ingestor.queue().take();
+        producer.join();
+
+        assertThat(admission.get()).isEqualTo(ActivityIngestor.Admission.ACCEPTED);
+        assertThat(queuedUsers(ingestor)).containsExactly(2L, 3L);
+        assertThat(dropped("overflow")).isZero();
+    }
+
+    @Test
+    void rejectTellsTheCallerToRetry() {
+        ActivityIngestor ingestor = ingestor(ActivityIngestor.OverflowPolicy.REJECT, Duration.ZERO);
+        ingestor.submit(1L, 10L, "VIEW");
+        ingestor.submit(2L, 10L, "VIEW");
+
+        assertThat(ingestor.submit(3L, 10L, "VIEW")).isEqualTo(ActivityIngestor.Admission.REJECTED);
+
+        assertThat(queuedUsers(ingestor)).containsExactly(1L, 2L);
+        assertThat(dropped("rejected")).isEqualTo(1);
+        assertThat(dropped("overflow")).isZero();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("activity.ingest.dropped").tag("reason", reason).counter().count();
+    }
+
+    private static List<Long> queuedUsers(ActivityIngestor ingestor) {
+        return ingestor.queue().stream().map(ActivityIngestor.PendingActivity::userId).toList();
+    }
+}
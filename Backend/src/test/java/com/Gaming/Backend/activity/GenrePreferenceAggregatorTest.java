@@ -0,0 +1,105 @@
+package com.Gaming.Backend.activity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class GenrePreferenceAggregatorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GenrePreferenceAggregator aggregator = new GenrePreferenceAggregator(jdbcTemplate,
+            new TransactionTemplate(transactionManager), new UpsertStatements(false), meterRegistry);
+
+    // "user:genre" -> interaction_count of every upserted row
+    private final Map<String, Integer> written = new HashMap<>();
+    private boolean failNext;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        aggregator.init();
+        doAnswer(invocation -> {
+            if (failNext) {
+                failNext = false;
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            Collection<Object> rows = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            for (Object row : rows) {
+                PreparedStatement ps = mock(PreparedStatement.class);
+                Object[] values = new Object[3];
+                doAnswer(set -> values[0] = set.getArgument(1)).when(ps).setLong(anyInt(), any(Long.class));
+                doAnswer(set -> values[1] = set.getArgument(1)).when(ps).setString(anyInt(), anyString());
+                doAnswer(set -> values[2] = set.getArgument(1)).when(ps).setInt(anyInt(), anyInt());
+                setter.setValues(ps, row);
+                written.merge(values[0] + ":" + values[1], (Integer) values[2], Integer::sum);
+            }
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void flushWritesOneSummedCountPerUserAndGenre() {
+        aggregator.add(1L, "RPG", 1);
+        aggregator.add(1L, "RPG", 2);
+        aggregator.add(1L, "Action", 1);
+        aggregator.add(2L, "RPG", 5);
+
+        aggregator.flush();
+
+        assertThat(written).containsOnly(Map.entry("1:RPG", 3), Map.entry("1:Action", 1), Map.entry("2:RPG", 5));
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void failedFlushKeepsItsCountsForTheNextOne() {
+        aggregator.add(1L, "RPG", 2);
+        aggregator.add(2L, "Action", 1);
+        failNext = true;
+
+        aggregator.flush();
+
+        assertThat(written).isEmpty();
+        assertThat(pending()).isEqualTo(2);
+        verify(transactionManager).rollback(any());
+
+        aggregator.add(1L, "RPG", 3);
+        aggregator.flush();
+
+        assertThat(written).containsOnly(Map.entry("1:RPG", 5), Map.entry("2:Action", 1));
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    void emptyFlushWritesNothing() {
+        aggregator.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    private double pending() {
+        return meterRegistry.get("activity.preferences.pending").gauge().value();
+    }
+}
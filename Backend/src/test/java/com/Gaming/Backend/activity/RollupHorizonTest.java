@@ -0,0 +1,48 @@
+package com.Gaming.Backend.activity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollupHorizonTest {
+
+    private final RollupHorizon horizon = new RollupHorizon(Duration.ofMinutes(1));
+
+    @Test
+    void nothingIsSafeUntilASightingIsLagOld() {
+        assertThat(horizon.observe(100, 0)).isZero();
+        assertThat(horizon.observe(150, 30_000)).isZero();
+
+        assertThat(horizon.observe(200, 60_000)).isEqualTo(100);
+        assertThat(horizon.observe(200, 90_000)).isEqualTo(150);
+        assertThat(horizon.observe(250, 120_000)).isEqualTo(200);
+    }
+
+    @Test
+    void takesTheNewestSightingThatIsLagOld() {
+        horizon.observe(100, 0);
+        horizon.observe(150, 10_000);
+        horizon.observe(180, 20_000);
+
+        assertThat(horizon.observe(300, 200_000)).isEqualTo(180);
+    }
+
+    @Test
+    void neverMovesBack() {
+        horizon.observe(500, 0);
+        assertThat(horizon.observe(500, 60_000)).isEqualTo(500);
+
+        // The maximum ID dropped, e.g. the newest rows were purged or rolled back
+        horizon.observe(400, 70_000);
+        assertThat(horizon.observe(400, 200_000)).isEqualTo(500);
+    }
+
+    @Test
+    void zeroLagIsTheCurrentMaximum() {
+        RollupHorizon immediate = new RollupHorizon(Duration.ZERO);
+
+        assertThat(immediate.observe(42, 1_000)).isEqualTo(42);
+    }
+}
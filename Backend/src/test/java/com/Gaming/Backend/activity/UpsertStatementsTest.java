@@ -0,0 +1,45 @@
+package com.Gaming.Backend.activity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpsertStatementsTest {
+
+    @Test
+    void rowAliasFromMySql8019() {
+        assertThat(UpsertStatements.supportsRowAlias("MySQL", "8.0.19")).isTrue();
+        assertThat(UpsertStatements.supportsRowAlias("MySQL", "8.4.2")).isTrue();
+        assertThat(UpsertStatements.supportsRowAlias("MySQL", "9.1.0")).isTrue();
+
+        assertThat(UpsertStatements.supportsRowAlias("MySQL", "8.0.18")).isFalse();
+        assertThat(UpsertStatements.supportsRowAlias("MySQL", "5.7.44")).isFalse();
+        assertThat(UpsertStatements.supportsRowAlias("MySQL", "5.5.5-10.11.6-MariaDB")).isFalse();
+        assertThat(UpsertStatements.supportsRowAlias("H2", "2.3.232 (2024-08-11)")).isFalse();
+        assertThat(UpsertStatements.supportsRowAlias("MySQL", null)).isFalse();
+    }
+
+    @Test
+    void rowAliasUpsert() {
+        String sql = new UpsertStatements(true).upsert("user_game_preference",
+                List.of("user_id", "genre", "interaction_count", "last_updated"),
+                List.of("interaction_count"), List.of("last_updated"));
+
+        assertThat(sql).isEqualTo("INSERT INTO user_game_preference (user_id, genre, interaction_count, last_updated) "
+                + "VALUES (?, ?, ?, ?) AS new ON DUPLICATE KEY UPDATE "
+                + "interaction_count = interaction_count + new.interaction_count, last_updated = new.last_updated");
+    }
+
+    @Test
+    void valuesUpsert() {
+        String sql = new UpsertStatements(false).upsert("game_activity_daily",
+                List.of("game_id", "activity_date", "activity_type", "activity_count"),
+                List.of("activity_count"), List.of());
+
+        assertThat(sql).isEqualTo("INSERT INTO game_activity_daily (game_id, activity_date, activity_type, activity_count) "
+                + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+                + "activity_count = activity_count + VALUES(activity_count)");
+    }
+}
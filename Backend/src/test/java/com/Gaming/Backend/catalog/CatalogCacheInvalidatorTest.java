@@ -0,0 +1,99 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.config.CacheConfig;
+import com.Gaming.Backend.dto.game.GameDTO;
+import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.mapper.GameMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.Gaming.Backend.support.GameFixtures.game;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogCacheInvalidatorTest {
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+            CacheConfig.GAME_DETAILS, CacheConfig.FEATURED_GAMES, CacheConfig.GAMES_ON_SALE);
+    private final CatalogCacheInvalidator invalidator = new CatalogCacheInvalidator(cacheManager);
+    private final GameMapper mapper = new GameMapper();
+
+    @Test
+    void evictsTheListsHoldingTheGame() {
+        featured().put(2, list(game(1).downloads(500).build(), game(2).downloads(400).build()));
+        featured().put(1, list(game(1).downloads(500).build()));
+
+        invalidator.index(game(2).title("Renamed").downloads(400).build());
+
+        assertThat(featured().get(2)).isNull();
+        assertThat(featured().get(1)).isNotNull();
+    }
+
+    @Test
+    void evictsAFullListOnlyWhenTheGameWouldEnterIt() {
+        featured().put(2, list(game(1).downloads(500).build(), game(2).downloads(400).build()));
+
+        invalidator.index(game(3).downloads(100).build());
+        assertThat(featured().get(2)).isNotNull();
+
+        invalidator.index(game(3).downloads(450).build());
+        assertThat(featured().get(2)).isNull();
+    }
+
+    @Test
+    void evictsAListWithRoomForAQualifyingGame() {
+        onSale().put(5, list(game(1).discount(50).build()));
+        onSale().put(1, list(game(1).discount(50).build()));
+
+        invalidator.index(game(2).discount(10).build());
+
+        assertThat(onSale().get(5)).isNull();
+        assertThat(onSale().get(1)).isNotNull();
+    }
+
+    @Test
+    void keepsListsAGameCannotQualifyFor() {
+        onSale().put(5, list(game(1).discount(50).build()));
+        featured().put(1, list(game(1).downloads(500).build()));
+
+        invalidator.index(game(2).build());
+        invalidator.index(game(3).downloads(900).discount(90).inactive().build());
+
+        assertThat(onSale().get(5)).isNotNull();
+        assertThat(featured().get(1)).isNotNull();
+    }
+
+    @Test
+    void removingAGameEvictsItsDetailsAndTheListsHoldingIt() {
+        details().put(2L, "details");
+        featured().put(2, list(game(1).downloads(500).build(), game(2).downloads(400).build()));
+        onSale().put(2, list(game(1).discount(50).build()));
+        long evictions = invalidator.detailEvictions();
+
+        invalidator.remove(2L);
+
+        assertThat(details().get(2L)).isNull();
+        assertThat(featured().get(2)).isNull();
+        assertThat(onSale().get(2)).isNotNull();
+        assertThat(invalidator.detailEvictions()).isGreaterThan(evictions);
+    }
+
+    private List<GameDTO> list(Game... games) {
+        return Arrays.stream(games).map(mapper::toDTO).toList();
+    }
+
+    private Cache details() {
+        return cacheManager.getCache(CacheConfig.GAME_DETAILS);
+    }
+
+    private Cache featured() {
+        return cacheManager.getCache(CacheConfig.FEATURED_GAMES);
+    }
+
+    private Cache onSale() {
+        return cacheManager.getCache(CacheConfig.GAMES_ON_SALE);
+    }
+}
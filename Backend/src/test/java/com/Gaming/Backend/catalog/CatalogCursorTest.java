@@ -0,0 +1,49 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogCursorTest {
+
+    @Test
+    void decodesTheValuesItEncoded() {
+        String token = CatalogCursor.encode("list:price", "19.99", "42");
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(CatalogCursor.decode(token, "list:price", 2)).containsExactly("19.99", "42");
+    }
+
+    @Test
+    void keepsEmptyValues() {
+        String token = CatalogCursor.encode("search:1a2b", "", "7");
+
+        assertThat(CatalogCursor.decode(token, "search:1a2b", 2)).containsExactly("", "7");
+    }
+
+    @Test
+    void rejectsATokenIssuedForAnotherListing() {
+        String token = CatalogCursor.encode("list:price", "19.99", "42");
+
+        assertThatThrownBy(() -> CatalogCursor.decode(token, "list:title", 2))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Cursor does not belong to this listing");
+    }
+
+    @Test
+    void rejectsATokenWithTheWrongNumberOfValues() {
+        String token = CatalogCursor.encode("filter", "42");
+
+        assertThatThrownBy(() -> CatalogCursor.decode(token, "filter", 2))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void rejectsATokenThatIsNotBase64() {
+        assertThatThrownBy(() -> CatalogCursor.decode("not a cursor!", "filter", 1))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
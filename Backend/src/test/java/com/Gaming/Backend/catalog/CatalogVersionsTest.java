@@ -0,0 +1,54 @@
+package com.Gaming.Backend.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import static com.Gaming.Backend.support.GameFixtures.game;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionsTest {
+
+    private final CatalogVersions versions = new CatalogVersions();
+
+    @Test
+    void hasNoTagsBeforeTheCatalogIsBuilt() {
+        assertThat(versions.gameETag(1L)).isNull();
+        assertThat(versions.sectionETag(CatalogSection.FEATURED, null)).isNull();
+    }
+
+    @Test
+    void movesAGamesTagWhenItChanges() {
+        versions.clear();
+        versions.index(game(1).build());
+        String before = versions.gameETag(1L);
+
+        versions.index(game(1).title("Updated").build());
+
+        assertThat(versions.gameETag(1L)).isNotNull().isNotEqualTo(before);
+    }
+
+    @Test
+    void movesOnlyTheSectionsTheGameIsOrWasIn() {
+        versions.clear();
+        String onSale = versions.sectionETag(CatalogSection.ON_SALE, null);
+        String featured = versions.sectionETag(CatalogSection.FEATURED, null);
+
+        versions.index(game(1).build());
+
+        assertThat(versions.sectionETag(CatalogSection.ON_SALE, null)).isEqualTo(onSale);
+        assertThat(versions.sectionETag(CatalogSection.FEATURED, null)).isNotEqualTo(featured);
+
+        versions.index(game(1).discount(50).build());
+        onSale = versions.sectionETag(CatalogSection.ON_SALE, null);
+        versions.index(game(1).build());
+
+        assertThat(versions.sectionETag(CatalogSection.ON_SALE, null)).isNotEqualTo(onSale);
+    }
+
+    @Test
+    void separatesVariantsOfASection() {
+        versions.clear();
+
+        assertThat(versions.sectionETag(CatalogSection.FEATURED, 10))
+                .isNotEqualTo(versions.sectionETag(CatalogSection.FEATURED, 20));
+    }
+}
@@ -0,0 +1,71 @@
+package com.Gaming.Backend.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static com.Gaming.Backend.support.GameFixtures.game;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameFacetIndexTest {
+
+    private static final GameFacetIndex.FacetQuery ALL = query(Set.of(), Set.of());
+
+    private final GameFacetIndex index = new GameFacetIndex();
+
+    @Test
+    void countsEachFacetAgainstTheOtherFacetsSelections() {
+        index.index(game(1).genre("Action").tags("Multiplayer").price(10.0).build());
+        index.index(game(2).genre("Action").tags("Indie").price(30.0).build());
+        index.index(game(3).genre("RPG").tags("Multiplayer").price(30.0).build());
+
+        GameFacetIndex.FacetResult result = index.filter(query(Set.of("action"), Set.of()), 0, 10);
+
+        assertThat(result.gameIds()).containsExactly(1L, 2L);
+        assertThat(result.total()).isEqualTo(2);
+        // The genre selection does not narrow the genre counts, but does narrow the others
+        assertThat(result.facets().get(GameFacetIndex.GENRE)).containsEntry("Action", 2).containsEntry("RPG", 1);
+        assertThat(result.facets().get(GameFacetIndex.TAG)).containsEntry("Multiplayer", 1).containsEntry("Indie", 1);
+        assertThat(result.facets().get(GameFacetIndex.PRICE))
+                .containsEntry("FROM_20_TO_40", 1).containsEntry("UNDER_10", 1);
+    }
+
+    @Test
+    void movesAReindexedGameBetweenFacetValues() {
+        index.index(game(1).genre("Action").build());
+        index.index(game(1).genre("RPG").build());
+
+        GameFacetIndex.FacetResult result = index.filter(ALL, 0, 10);
+
+        assertThat(result.facets().get(GameFacetIndex.GENRE)).containsOnlyKeys("RPG");
+        assertThat(index.filter(query(Set.of("Action"), Set.of()), 0, 10).total()).isZero();
+    }
+
+    @Test
+    void filterAfterPagesInIdOrderAndReturnsOneExtraId() {
+        LongStream.rangeClosed(1, 7).forEach(id -> index.index(game(id).genre(id % 2 == 0 ? "Action" : "RPG").build()));
+        GameFacetIndex.FacetQuery rpg = query(Set.of("RPG"), Set.of());
+
+        assertThat(index.filterAfter(rpg, null, 2)).containsExactly(1L, 3L, 5L);
+        assertThat(index.filterAfter(rpg, 3L, 2)).containsExactly(5L, 7L);
+        assertThat(index.filterAfter(rpg, 7L, 2)).isEmpty();
+    }
+
+    @Test
+    void pagesInIdOrderWhenGamesAreIndexedOutOfIdOrder() {
+        for (long id : new long[]{10, 30, 20, 5, 40}) {
+            index.index(game(id).genre("Action").build());
+        }
+
+        assertThat(index.filter(ALL, 0, 10).gameIds()).containsExactly(5L, 10L, 20L, 30L, 40L);
+        assertThat(index.filter(ALL, 2, 2).gameIds()).containsExactly(20L, 30L);
+        assertThat(index.filterAfter(ALL, null, 2)).containsExactly(5L, 10L, 20L);
+        assertThat(index.filterAfter(ALL, 10L, 2)).containsExactly(20L, 30L, 40L);
+        assertThat(index.filterAfter(ALL, 15L, 10)).containsExactly(20L, 30L, 40L);
+    }
+
+    private static GameFacetIndex.FacetQuery query(Set<String> genres, Set<String> tags) {
+        return new GameFacetIndex.FacetQuery(genres, tags, false, Set.of(), Set.of(), null, null, null, null);
+    }
+}
@@ -0,0 +1,69 @@
+package com.Gaming.Backend.catalog;
+
+import com.Gaming.Backend.entity.Game;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.Gaming.Backend.support.GameFixtures.game;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameMetadataIndexTest {
+
+    private final GameMetadataIndex index = new GameMetadataIndex();
+
+    @Test
+    void keepsTheFactsHotPathsRead() {
+        Game game = game(1).genre("RPG").publisher("Studio").price(40.0).discount(25).build();
+        game.getPublisher().setId(3L);
+
+        index.index(game);
+
+        GameMetadataIndex.GameMetadata metadata = index.get(1L);
+        assertThat(metadata).isEqualTo(new GameMetadataIndex.GameMetadata("RPG", 3L, true, 40.0, 25));
+        assertThat(metadata.onSale()).isTrue();
+        assertThat(metadata.discountedPrice()).isEqualTo(30.0);
+    }
+
+    @Test
+    void keepsInactiveGamesAndGamesWithoutOptionalFacts() {
+        index.index(game(1).inactive().build());
+
+        GameMetadataIndex.GameMetadata metadata = index.get(1L);
+        assertThat(metadata.active()).isFalse();
+        assertThat(metadata.genre()).isNull();
+        assertThat(metadata.publisherId()).isNull();
+        assertThat(metadata.onSale()).isFalse();
+        assertThat(metadata.discountedPrice()).isEqualTo(10.0);
+    }
+
+    @Test
+    void sharesGenreStringsAcrossGames() {
+        index.index(game(1).genre(new String("RPG")).build());
+        index.index(game(2).genre(new String("RPG")).build());
+
+        assertThat(index.get(2L).genre()).isSameAs(index.get(1L).genre());
+    }
+
+    @Test
+    void replacesAChangedGameAndForgetsARemovedOne() {
+        index.index(game(1).genre("RPG").build());
+        index.index(game(2).genre("RPG").build());
+
+        index.index(game(1).genre("Strategy").build());
+        index.remove(2L);
+
+        assertThat(index.get(1L).genre()).isEqualTo("Strategy");
+        assertThat(index.contains(2L)).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void findsOnlyKnownGames() {
+        index.index(game(1).build());
+
+        assertThat(index.getAll(Arrays.asList(1L, 2L, null))).containsOnlyKeys(1L);
+        assertThat(index.get(null)).isNull();
+        assertThat(index.contains(null)).isFalse();
+    }
+}
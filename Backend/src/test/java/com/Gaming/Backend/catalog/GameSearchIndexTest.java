@@ -0,0 +1,123 @@
+package com.Gaming.Backend.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static com.Gaming.Backend.support.GameFixtures.game;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameSearchIndexTest {
+
+    private final GameSearchIndex index = new GameSearchIndex();
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatchesAndBreaksTiesByDownloads() {
+        index.index(game(1).title("Quiet Farm").description("A racer at heart").downloads(10).build());
+        index.index(game(2).title("Night Racer").downloads(10).build());
+        index.index(game(3).title("Racer Deluxe").downloads(500).build());
+
+        GameSearchIndex.SearchResult result = index.search("racer", 0, 10);
+
+        assertThat(result.gameIds()).containsExactly(3L, 2L, 1L);
+        assertThat(result.total()).isEqualTo(3);
+    }
+
+    @Test
+    void requiresEveryTokenToMatch() {
+        index.index(game(1).title("Space Racer").build());
+        index.index(game(2).title("Space Farm").build());
+        index.index(game(3).title("Street Racer").build());
+
+        assertThat(index.search("space racer", 0, 10).gameIds()).containsExactly(1L);
+        assertThat(index.search("space dragon", 0, 10).gameIds()).isEmpty();
+    }
+
+    @Test
+    void expandsTokensAsPrefixesAndRanksExactMatchesFirst() {
+        index.index(game(1).title("Racer").downloads(1000).build());
+        index.index(game(2).title("Rac").build());
+        index.index(game(3).title("Farm").build());
+
+        assertThat(index.search("rac", 0, 10).gameIds()).containsExactly(2L, 1L);
+        assertThat(index.search("space rac", 0, 10).gameIds()).isEmpty();
+    }
+
+    @Test
+    void searchAfterContinuesWhereThePreviousPageStopped() {
+        LongStream.rangeClosed(1, 25).forEach(id -> index.index(game(id).title("Dungeon " + id).downloads((int) (id % 4)).build()));
+        List<Long> all = index.search("dungeon", 0, 25).gameIds();
+
+        List<Long> paged = new ArrayList<>();
+        GameSearchIndex.Hit after = null;
+        GameSearchIndex.SearchResult page;
+        do {
+            page = index.searchAfter("dungeon", after, 10);
+            paged.addAll(page.gameIds());
+            after = page.hits().isEmpty() ? null : page.hits().get(page.hits().size() - 1);
+        } while (page.hits().size() == 10);
+
+        assertThat(paged).isEqualTo(all).hasSize(25);
+    }
+
+    @Test
+    void compactsRetiredDocumentsWithoutLosingLiveOnes() {
+        LongStream.rangeClosed(1, 2000).forEach(id -> index.index(game(id).title("Alpha " + id).build()));
+        LongStream.rangeClosed(1, 1000).forEach(id -> index.remove(id));
+        LongStream.rangeClosed(1001, 1500).forEach(id -> index.index(game(id).title("Beta " + id).build()));
+
+        assertThat(index.size()).isEqualTo(1000);
+        GameSearchIndex.SearchResult alpha = index.search("alpha", 0, 2000);
+        assertThat(alpha.total()).isEqualTo(500);
+        assertThat(alpha.gameIds()).allMatch(id -> id > 1500);
+        assertThat(index.search("beta", 0, 2000).total()).isEqualTo(500);
+        assertThat(index.search("alpha 1999", 0, 10).gameIds()).containsExactly(1999L);
+    }
+
+    @Test
+    void scoresOnlyAgainstLivePostings() {
+        GameSearchIndex fresh = new GameSearchIndex();
+        fresh.index(game(1).title("Dragon").build());
+        fresh.index(game(9).title("Farm").build());
+        index.index(game(1).title("Dragon").build());
+        index.index(game(9).title("Farm").build());
+        LongStream.rangeClosed(2, 5).forEach(id -> index.index(game(id).title("Dragon " + id).build()));
+        LongStream.rangeClosed(2, 5).forEach(id -> index.remove(id));
+
+        assertThat(index.search("dragon", 0, 10).hits())
+                .isEqualTo(fresh.search("dragon", 0, 10).hits());
+    }
+
+    @Test
+    void concurrentSearchesDoNotShareQueryState() throws Exception {
+        LongStream.rangeClosed(1, 200).forEach(id -> index.index(game(id).title((id % 2 == 0 ? "Space " : "Farm ") + id).build()));
+        List<Long> space = index.search("space", 0, 200).gameIds();
+        List<Long> farm = index.search("farm", 0, 200).gameIds();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String query = i % 2 == 0 ? "space" : "farm";
+                List<Long> expected = i % 2 == 0 ? space : farm;
+                results.add(executor.submit(() -> index.search(query, 0, 200).gameIds().equals(expected)));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void dropsInactiveGames() {
+        index.index(game(1).title("Racer").build());
+        index.index(game(1).title("Racer").inactive().build());
+
+        assertThat(index.search("racer", 0, 10).gameIds()).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,70 @@
+package com.Gaming.Backend.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.Gaming.Backend.support.GameFixtures.game;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeaheadIndexTest {
+
+    private final TypeaheadIndex index = new TypeaheadIndex();
+
+    @Test
+    void keepsTheBestSuggestionsOfEachPrefixByDownloads() {
+        LongStream.rangeClosed(1, 15).forEach(id -> index.index(game(id).title("Galaxy " + id).downloads((int) id * 10).build()));
+
+        List<TypeaheadIndex.Suggestion> top = index.suggest("ga", TypeaheadIndex.MAX_SUGGESTIONS);
+
+        assertThat(top).hasSize(TypeaheadIndex.MAX_SUGGESTIONS);
+        assertThat(top).extracting(TypeaheadIndex.Suggestion::gameId)
+                .containsExactly(15L, 14L, 13L, 12L, 11L, 10L, 9L, 8L, 7L, 6L);
+    }
+
+    @Test
+    void propagatesAScoreChangeUpToEveryPrefixOfEveryWordStart() {
+        LongStream.rangeClosed(1, 15).forEach(id -> index.index(game(id).title("The Galaxy " + id).downloads((int) id * 10).build()));
+
+        index.index(game(1).title("The Galaxy 1").downloads(1_000_000).build());
+
+        assertThat(index.suggest("g", 1)).extracting(TypeaheadIndex.Suggestion::gameId).containsExactly(1L);
+        assertThat(index.suggest("the gal", 1)).extracting(TypeaheadIndex.Suggestion::gameId).containsExactly(1L);
+        assertThat(index.suggest("galaxy 1", 1)).extracting(TypeaheadIndex.Suggestion::gameId).containsExactly(1L);
+    }
+
+    @Test
+    void refillsAPrefixFromItsSubtreeWhenASuggestionLeaves() {
+        LongStream.rangeClosed(1, 11).forEach(id -> index.index(game(id).title("Galaxy " + id).downloads((int) id * 10).build()));
+        assertThat(index.suggest("gal", 10)).extracting(TypeaheadIndex.Suggestion::gameId).doesNotContain(1L);
+
+        index.remove(11L);
+
+        assertThat(index.suggest("gal", 10)).extracting(TypeaheadIndex.Suggestion::gameId)
+                .containsExactly(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void scoresTagsByTheirGamesAndDropsThemWithTheLastGame() {
+        index.index(game(1).title("Farm Life").tags("Simulation").downloads(100).build());
+        index.index(game(2).title("City Life").tags("Simulation").downloads(50).build());
+
+        assertThat(index.suggest("sim", 10)).containsExactly(
+                new TypeaheadIndex.Suggestion(TypeaheadIndex.Type.TAG, "Simulation", null, 150));
+
+        index.remove(1L);
+        index.remove(2L);
+
+        assertThat(index.suggest("sim", 10)).isEmpty();
+    }
+
+    @Test
+    void forgetsTheOldTitleOfARenamedGame() {
+        index.index(game(1).title("Old Name").downloads(10).build());
+        index.index(game(1).title("New Name").downloads(10).build());
+
+        assertThat(index.suggest("old", 10)).isEmpty();
+        assertThat(index.suggest("new", 10)).extracting(TypeaheadIndex.Suggestion::text).containsExactly("New Name");
+    }
+}
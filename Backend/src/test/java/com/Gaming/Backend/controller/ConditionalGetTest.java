@@ -0,0 +1,72 @@
+package com.Gaming.Backend.controller;
+
+import com.Gaming.Backend.catalog.CatalogVersions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static com.Gaming.Backend.support.GameFixtures.game;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/games/1");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void answersAMatchingTagWithNotModified() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"game-1-a.1\"");
+
+        assertThat(ConditionalGet.notModified(new ServletWebRequest(request, response), "\"game-1-a.1\"")).isTrue();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"game-1-a.1\"");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+    }
+
+    @Test
+    void answersAnUpdatedGameInFull() {
+        CatalogVersions versions = new CatalogVersions();
+        versions.index(game(1).build());
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, versions.gameETag(1L));
+
+        versions.index(game(1).title("Updated").build());
+
+        assertThat(ConditionalGet.notModified(new ServletWebRequest(request, response), versions.gameETag(1L))).isFalse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(versions.gameETag(1L));
+    }
+
+    @Test
+    void leavesResponsesWithoutATagAlone() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+
+        assertThat(ConditionalGet.notModified(new ServletWebRequest(request, response), null)).isFalse();
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+    }
+
+    @Test
+    void keepsSignedInAnswersOutOfSharedCaches() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"trending-1-owned.2\"");
+
+        assertThat(ConditionalGet.notModified(new ServletWebRequest(request, response), "\"trending-1-owned.2\"", true))
+                .isTrue();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache, private");
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.AUTHORIZATION);
+    }
+
+    @Test
+    void letsSharedCachesKeepAnonymousAnswers() {
+        assertThat(ConditionalGet.notModified(new ServletWebRequest(request, response), "\"trending-1\"", false))
+                .isFalse();
+
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.AUTHORIZATION);
+    }
+}
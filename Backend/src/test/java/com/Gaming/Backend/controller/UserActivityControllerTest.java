@@ -0,0 +1,88 @@
+package com.Gaming.Backend.controller;
+
+import com.Gaming.Backend.exception.GlobalExceptionHandler;
+import com.Gaming.Backend.security.UserPrincipal;
+import com.Gaming.Backend.service.UserActivityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserActivityControllerTest {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String VIEW = "{\"gameId\":1,\"activityType\":\"VIEW\"}";
+
+    private final UserActivityService userActivityService = mock(UserActivityService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new UserActivityController(userActivityService, new ObjectMapper(), 64))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal user = new UserPrincipal(7L, "player", "player@example.com", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void queuesEachLineAndReportsTheRejectedOnes() throws Exception {
+        mockMvc.perform(post("/api/activity/track/stream").contentType(NDJSON)
+                        .content(VIEW + "\n\n{not json}\n" + VIEW))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected[0].index").value(1))
+                .andExpect(jsonPath("$.rejected[0].reason").value("Malformed JSON"));
+
+        verify(userActivityService, times(2)).trackBatchItem(eq(7L), any());
+    }
+
+    @Test
+    void cutsOffAStreamOfTooManyActivities() throws Exception {
+        String body = IntStream.rangeClosed(0, UserActivityService.MAX_BATCH_ITEMS)
+                .mapToObj(i -> VIEW)
+                .collect(Collectors.joining("\n"));
+
+        mockMvc.perform(post("/api/activity/track/stream").contentType(NDJSON).content(body))
+                .andExpect(status().isPayloadTooLarge());
+
+        verify(userActivityService, times(UserActivityService.MAX_BATCH_ITEMS)).trackBatchItem(eq(7L), any());
+    }
+
+    @Test
+    void cutsOffAStreamAtALineOverTheLimit() throws Exception {
+        String tooLong = "{\"gameId\":1,\"activityType\":\"VIEW\",\"padding\":\"" + "x".repeat(64) + "\"}";
+
+        mockMvc.perform(post("/api/activity/track/stream").contentType(NDJSON)
+                        .content(VIEW + "\n" + tooLong + "\n" + VIEW))
+                .andExpect(status().isPayloadTooLarge());
+
+        // Activities before the cut stay queued
+        verify(userActivityService, times(1)).trackBatchItem(eq(7L), any());
+    }
+}
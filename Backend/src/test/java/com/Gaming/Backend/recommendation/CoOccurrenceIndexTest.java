@@ -0,0 +1,97 @@
+package com.Gaming.Backend.recommendation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoOccurrenceIndexTest {
+
+    private static final long USER = 1L;
+    private static final long OTHER_USER = 2L;
+
+    private final CoOccurrenceIndex index = new CoOccurrenceIndex(null, null, 90, Duration.ofDays(30), 1000);
+
+    @BeforeEach
+    void setUp() {
+        index.init();
+    }
+
+    @Test
+    void pairsGamesByTheirSmallerAffinity() {
+        index.record(USER, 10L, CoOccurrenceIndex.weight("VIEW"));
+        index.record(USER, 20L, CoOccurrenceIndex.weight("CLICK"));
+
+        assertThat(pair(10L, 20L)).isEqualTo(1);
+        assertThat(pair(20L, 10L)).isEqualTo(1);
+    }
+
+    @Test
+    void addsOnlyTheDeltaWhenAnAffinityRises() {
+        index.record(USER, 10L, CoOccurrenceIndex.weight("VIEW"));
+        index.record(USER, 20L, CoOccurrenceIndex.weight("CLICK"));
+
+        index.record(USER, 10L, CoOccurrenceIndex.weight("PURCHASE"));
+
+        // min(5, 2) - min(1, 2)
+        assertThat(pair(10L, 20L)).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresSignalsNoStrongerThanTheCurrentAffinity() {
+        index.record(USER, 10L, CoOccurrenceIndex.weight("CLICK"));
+        index.record(USER, 20L, CoOccurrenceIndex.weight("CLICK"));
+
+        index.record(USER, 10L, CoOccurrenceIndex.weight("VIEW"));
+        index.record(USER, 10L, CoOccurrenceIndex.weight("CLICK"));
+        index.record(USER, 20L, 0);
+
+        assertThat(pair(10L, 20L)).isEqualTo(2);
+    }
+
+    @Test
+    void sumsPairsOverUsers() {
+        for (long user : new long[]{USER, OTHER_USER}) {
+            index.record(user, 10L, 1);
+            index.record(user, 20L, 1);
+        }
+
+        assertThat(pair(10L, 20L)).isEqualTo(2);
+    }
+
+    @Test
+    void pairsANewGameWithTheUsersRecentGamesOnly() {
+        for (long gameId = 1; gameId <= 60; gameId++) {
+            index.record(USER, gameId, 1);
+        }
+
+        index.record(USER, 100L, 1);
+
+        assertThat(pair(100L, 60L)).isEqualTo(1);
+        assertThat(pair(100L, 1L)).isZero();
+    }
+
+    @Test
+    void ranksNeighboursByNormalizedCoOccurrence() {
+        // Game 20 is a blockbuster everyone views; game 30 is niche but always seen with 10
+        for (long user = 1; user <= 4; user++) {
+            index.record(user, 10L, 1);
+            index.record(user, 20L, 1);
+            index.record(user, 30L, 1);
+        }
+        for (long user = 5; user <= 50; user++) {
+            index.record(user, 20L, 1);
+        }
+
+        index.publishNeighbours();
+
+        assertThat(index.neighbours(10L, 5)).containsExactly(30L, 20L);
+        assertThat(index.neighbours(99L, 5)).isEmpty();
+    }
+
+    private int pair(long gameId, long otherId) {
+        return index.coOccurrence(gameId, otherId);
+    }
+}
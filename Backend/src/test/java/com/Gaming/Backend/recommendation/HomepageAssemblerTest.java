@@ -0,0 +1,147 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.dto.GameDTO;
+import com.Gaming.Backend.dto.HomepageDTO;
+import com.Gaming.Backend.service.RecommendationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Timeout(10)
+class HomepageAssemblerTest {
+
+    private static final Long USER = 7L;
+
+    private final RecommendationService recommendationService = mock(RecommendationService.class);
+    private final UserProfileStore userProfileStore = mock(UserProfileStore.class);
+    private final HomepageSnapshotRefresher refresher = mock(HomepageSnapshotRefresher.class);
+    private final OwnershipIndex ownershipIndex = mock(OwnershipIndex.class);
+    private final MockEnvironment environment = new MockEnvironment();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HomepageAssembler assembler;
+
+    @BeforeEach
+    void setUp() {
+        environment.setConversionService(new ApplicationConversionService()); // Durations as in application.properties
+        when(userProfileStore.recentGameIds(USER, 4)).thenReturn(List.of(42L));
+        when(ownershipIndex.owned(any())).thenReturn(OwnedGames.NONE);
+        when(refresher.section(any())).thenReturn(new HomepageSnapshot.Section(games(3), List.of(), 1, "\"public\""));
+        when(recommendationService.getContinueWhereYouLeftOff(anyList())).thenReturn(games(1));
+        when(recommendationService.getRecommendedGames(USER)).thenReturn(games(2));
+        when(recommendationService.getBecauseYouViewedGames(USER, 42L)).thenReturn(games(3));
+        when(recommendationService.getPersonalizedDeals(USER)).thenReturn(games(4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (assembler != null) {
+            assembler.shutdown();
+        }
+    }
+
+    @Test
+    void runsThePersonalizedSectionsConcurrently() {
+        assembler = assembler(Duration.ofSeconds(5));
+        // Each section only answers once all four are running
+        CountDownLatch running = new CountDownLatch(4);
+        when(recommendationService.getContinueWhereYouLeftOff(anyList())).thenAnswer(invocation -> meet(running, 1));
+        when(recommendationService.getRecommendedGames(USER)).thenAnswer(invocation -> meet(running, 2));
+        when(recommendationService.getBecauseYouViewedGames(USER, 42L)).thenAnswer(invocation -> meet(running, 3));
+        when(recommendationService.getPersonalizedDeals(USER)).thenAnswer(invocation -> meet(running, 4));
+
+        HomepageDTO home = assembler.assemble(USER);
+
+        assertThat(home.getOmittedSections()).isEmpty();
+        assertThat(home.getSections().get("continuePlaying")).hasSize(1);
+        assertThat(home.getSections().get("personalizedDeals")).hasSize(4);
+        assertThat(home.getBecauseYouViewedGameId()).isEqualTo(42L);
+    }
+
+    @Test
+    void omitsASectionThatMissesItsDeadline() {
+        environment.setProperty("recommendations.home.timeout.recommended", "50ms");
+        assembler = assembler(Duration.ofSeconds(5));
+        when(recommendationService.getRecommendedGames(USER)).thenAnswer(invocation -> {
+            release.await();
+            return games(2);
+        });
+
+        HomepageDTO home = assembler.assemble(USER);
+
+        assertThat(home.getOmittedSections()).containsExactly("recommended");
+        assertThat(home.getSections()).doesNotContainKey("recommended")
+                .containsKeys("continuePlaying", "becauseYouViewed", "personalizedDeals", "trending", "budget");
+    }
+
+    @Test
+    void omitsAFailedSection() {
+        assembler = assembler(Duration.ofSeconds(5));
+        when(recommendationService.getPersonalizedDeals(USER)).thenThrow(new IllegalStateException("boom"));
+
+        HomepageDTO home = assembler.assemble(USER);
+
+        assertThat(home.getOmittedSections()).containsExactly("personalizedDeals");
+        assertThat(home.getSections()).containsKey("recommended");
+    }
+
+    @Test
+    void servesOnlyThePublicSectionsToAnonymousVisitors() {
+        assembler = assembler(Duration.ofSeconds(5));
+
+        HomepageDTO home = assembler.assemble(null);
+
+        assertThat(home.getSections()).containsOnlyKeys("trending", "editorChoice", "recentlyReleased", "budget");
+        assertThat(home.getBecauseYouViewedGameId()).isNull();
+    }
+
+    @Test
+    void assemblesConcurrentRequestsIndependently() {
+        assembler = assembler(Duration.ofSeconds(5));
+
+        List<CompletableFuture<HomepageDTO>> homes = IntStream.range(0, 16)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> assembler.assemble(i % 2 == 0 ? USER : null)))
+                .toList();
+
+        for (int i = 0; i < homes.size(); i++) {
+            HomepageDTO home = homes.get(i).join();
+            assertThat(home.getOmittedSections()).isEmpty();
+            assertThat(home.getSections()).hasSize(i % 2 == 0 ? 8 : 4);
+        }
+    }
+
+    private HomepageAssembler assembler(Duration timeout) {
+        return new HomepageAssembler(recommendationService, userProfileStore, refresher, ownershipIndex,
+                environment, timeout);
+    }
+
+    private static List<GameDTO> meet(CountDownLatch running, int games) throws InterruptedException {
+        running.countDown();
+        return running.await(2, TimeUnit.SECONDS) ? games(games) : List.of();
+    }
+
+    private static List<GameDTO> games(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> {
+            GameDTO game = new GameDTO();
+            game.setId(id);
+            return game;
+        }).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.catalog.CatalogSection;
+import com.Gaming.Backend.catalog.CatalogVersions;
+import com.Gaming.Backend.dto.GameDTO;
+import com.Gaming.Backend.service.RecommendationService;
+import com.Gaming.Backend.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HomepageSnapshotRefresherTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T12:00:00Z"));
+    private final RecommendationService recommendationService = mock(RecommendationService.class);
+    private final CatalogVersions versions = new CatalogVersions();
+    private final HomepageSnapshotRefresher refresher = new HomepageSnapshotRefresher(
+            recommendationService, versions, clock, Duration.ofMinutes(5), Duration.ofMinutes(15));
+
+    @BeforeEach
+    void setUp() {
+        versions.clear();
+        when(recommendationService.getTrendingGames(anyInt())).thenAnswer(invocation -> games(invocation.getArgument(0)));
+        when(recommendationService.getEditorChoiceGames(anyInt())).thenAnswer(invocation -> games(invocation.getArgument(0)));
+        when(recommendationService.getRecentlyReleasedGames(anyInt())).thenAnswer(invocation -> games(invocation.getArgument(0)));
+        when(recommendationService.getBudgetGames(anyInt())).thenAnswer(invocation -> games(invocation.getArgument(0)));
+    }
+
+    @Test
+    void servesSectionsFromTheSnapshotWithSpares() {
+        refresher.refreshIfNeeded();
+
+        HomepageSnapshot.Section trending = refresher.section(CatalogSection.TRENDING);
+        refresher.section(CatalogSection.TRENDING);
+
+        assertThat(trending.games()).hasSize(RecommendationService.TRENDING_GAMES);
+        assertThat(trending.spares()).isNotEmpty();
+        assertThat(trending.etag()).isEqualTo(versions.sectionETag(CatalogSection.TRENDING, null));
+        verify(recommendationService, times(1)).getTrendingGames(anyInt());
+    }
+
+    @Test
+    void keepsTheSnapshotWhileNothingChanged() {
+        refresher.refreshIfNeeded();
+        clock.advance(Duration.ofMinutes(4));
+
+        refresher.refreshIfNeeded();
+
+        verify(recommendationService, times(1)).getBudgetGames(anyInt());
+    }
+
+    @Test
+    void rebuildsWhenASectionVersionMoves() {
+        refresher.refreshIfNeeded();
+        versions.touch(CatalogSection.TRENDING);
+
+        refresher.refreshIfNeeded();
+
+        verify(recommendationService, times(2)).getTrendingGames(anyInt());
+        assertThat(refresher.section(CatalogSection.TRENDING).version())
+                .isEqualTo(versions.sectionVersion(CatalogSection.TRENDING));
+    }
+
+    @Test
+    void rebuildsAfterTheRefreshInterval() {
+        refresher.refreshIfNeeded();
+        clock.advance(Duration.ofMinutes(6));
+
+        refresher.refreshIfNeeded();
+
+        verify(recommendationService, times(2)).getBudgetGames(anyInt());
+    }
+
+    @Test
+    void rebuildsOnANewDay() {
+        clock.advance(Duration.ofHours(11).plusMinutes(58));
+        refresher.refreshIfNeeded();
+        clock.advance(Duration.ofMinutes(3));
+
+        refresher.refreshIfNeeded();
+
+        verify(recommendationService, times(2)).getRecentlyReleasedGames(anyInt());
+    }
+
+    @Test
+    void computesSectionsLiveOnceTheSnapshotIsTooStale() {
+        refresher.refreshIfNeeded();
+        clock.advance(Duration.ofMinutes(16));
+
+        refresher.section(CatalogSection.EDITOR_CHOICE);
+
+        verify(recommendationService, times(2)).getEditorChoiceGames(anyInt());
+    }
+
+    private static List<GameDTO> games(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> {
+            GameDTO game = new GameDTO();
+            game.setId(id);
+            return game;
+        }).toList();
+    }
+}
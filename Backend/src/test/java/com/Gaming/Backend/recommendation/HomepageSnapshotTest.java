@@ -0,0 +1,48 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.dto.GameDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HomepageSnapshotTest {
+
+    private final HomepageSnapshot.Section section = new HomepageSnapshot.Section(
+            games(1, 3), games(4, 5), 1, "\"trending-1\"");
+
+    @Test
+    void backfillsOwnedGamesFromTheSpares() {
+        List<GameDTO> games = section.games(OwnedGames.of(List.of(2L)));
+
+        assertThat(games).extracting(GameDTO::getId).containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    void sharesTheSectionWithUsersWhoOwnNoneOfIt() {
+        OwnedGames owned = OwnedGames.of(List.of(9L));
+
+        assertThat(section.games(owned)).isEqualTo(section.games());
+        assertThat(section.etag(owned)).isEqualTo("\"trending-1\"");
+        assertThat(section.etag(OwnedGames.NONE)).isEqualTo("\"trending-1\"");
+    }
+
+    @Test
+    void tagsASectionByTheGamesDroppedFromIt() {
+        String ownsTwo = section.etag(OwnedGames.of(List.of(2L)));
+        String ownsTwoAndFour = section.etag(OwnedGames.of(List.of(2L, 4L)));
+
+        assertThat(ownsTwo).isEqualTo("\"trending-1-owned.2\"");
+        assertThat(ownsTwoAndFour).isEqualTo("\"trending-1-owned.2.4\"");
+    }
+
+    private static List<GameDTO> games(long from, long to) {
+        return LongStream.rangeClosed(from, to).mapToObj(id -> {
+            GameDTO game = new GameDTO();
+            game.setId(id);
+            return game;
+        }).toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.Gaming.Backend.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnedGamesTest {
+
+    @Test
+    void addingAGameCopiesTheSet() {
+        OwnedGames owned = OwnedGames.of(List.of(1L, 2L));
+
+        OwnedGames bought = owned.with(3L);
+
+        assertThat(bought.contains(3L)).isTrue();
+        assertThat(bought.size()).isEqualTo(3);
+        assertThat(owned.contains(3L)).isFalse();
+        assertThat(owned.size()).isEqualTo(2);
+    }
+
+    @Test
+    void addingAnOwnedGameKeepsTheSet() {
+        OwnedGames owned = OwnedGames.of(List.of(1L));
+
+        assertThat(owned.with(1L)).isSameAs(owned);
+    }
+
+    @Test
+    void ownsNothingByDefault() {
+        assertThat(OwnedGames.NONE.isEmpty()).isTrue();
+        assertThat(OwnedGames.NONE.contains(null)).isFalse();
+        assertThat(OwnedGames.NONE.with(1L).contains(1L)).isTrue();
+        assertThat(OwnedGames.NONE.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,58 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.config.CacheConfig;
+import com.Gaming.Backend.event.GameOwnedEvent;
+import com.Gaming.Backend.repository.UserLibraryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OwnershipIndexTest {
+
+    private final UserLibraryRepository userLibraryRepository = mock(UserLibraryRepository.class);
+    private final OwnershipIndex index = new OwnershipIndex(
+            new CaffeineCacheManager(CacheConfig.OWNED_GAMES), userLibraryRepository);
+
+    @Test
+    void loadsAUsersGamesOnce() {
+        when(userLibraryRepository.findGameIdsByUserId(7L)).thenReturn(List.of(1L, 2L));
+
+        index.owned(7L);
+        OwnedGames owned = index.owned(7L);
+
+        assertThat(owned.size()).isEqualTo(2);
+        verify(userLibraryRepository, times(1)).findGameIdsByUserId(7L);
+    }
+
+    @Test
+    void appliesAPurchaseWithoutChangingTheSetReadersHold() {
+        when(userLibraryRepository.findGameIdsByUserId(7L)).thenReturn(List.of(1L));
+        OwnedGames before = index.owned(7L);
+
+        index.onGameOwned(new GameOwnedEvent(7L, 5L));
+
+        assertThat(index.owned(7L).contains(5L)).isTrue();
+        assertThat(before.contains(5L)).isFalse();
+        verify(userLibraryRepository, times(1)).findGameIdsByUserId(7L);
+    }
+
+    @Test
+    void leavesUsersNotYetLoadedToTheirFirstLoad() {
+        index.onGameOwned(new GameOwnedEvent(7L, 5L));
+
+        verify(userLibraryRepository, never()).findGameIdsByUserId(7L);
+    }
+
+    @Test
+    void anonymousVisitorsOwnNothing() {
+        assertThat(index.owned(null)).isSameAs(OwnedGames.NONE);
+    }
+}
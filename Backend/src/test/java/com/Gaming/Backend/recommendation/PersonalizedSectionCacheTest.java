@@ -0,0 +1,102 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.config.CacheConfig;
+import com.Gaming.Backend.dto.GameDTO;
+import com.Gaming.Backend.event.GameOwnedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.Gaming.Backend.support.GameFixtures.game;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PersonalizedSectionCacheTest {
+
+    private static final Long USER = 7L;
+    private static final Long OTHER_USER = 8L;
+
+    private final UserProfileStore userProfileStore = mock(UserProfileStore.class);
+    private final PersonalizedSectionCache cache = new PersonalizedSectionCache(
+            new CaffeineCacheManager(CacheConfig.PERSONALIZED_SECTIONS), userProfileStore);
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(userProfileStore.topGenres(eq(USER), anyInt())).thenReturn(List.of("RPG", "Strategy"));
+        when(userProfileStore.topGenres(eq(OTHER_USER), anyInt())).thenReturn(List.of("RPG"));
+    }
+
+    @Test
+    void servesTheCachedSectionWhileTheTopGenresHold() {
+        cache.get(USER, PersonalizedSectionCache.RECOMMENDED, builder(1));
+        when(userProfileStore.topGenres(eq(USER), anyInt())).thenReturn(List.of("Strategy", "RPG"));
+
+        List<GameDTO> games = cache.get(USER, PersonalizedSectionCache.RECOMMENDED, builder(1));
+
+        assertThat(games).extracting(GameDTO::getId).containsExactly(1L);
+        assertThat(builds).hasValue(1);
+    }
+
+    @Test
+    void rebuildsOnceTheTopGenresChange() {
+        cache.get(USER, PersonalizedSectionCache.RECOMMENDED, builder(1));
+        when(userProfileStore.topGenres(eq(USER), anyInt())).thenReturn(List.of("RPG", "Racing"));
+        List<List<String>> builtFrom = new ArrayList<>();
+
+        List<GameDTO> games = cache.get(USER, PersonalizedSectionCache.RECOMMENDED, genres -> {
+            builtFrom.add(genres);
+            return builder(2).apply(genres);
+        });
+
+        assertThat(games).extracting(GameDTO::getId).containsExactly(2L);
+        assertThat(builtFrom).containsExactly(List.of("RPG", "Racing"));
+    }
+
+    @Test
+    void aPurchaseEvictsOnlyTheBuyersSections() {
+        cache.get(USER, PersonalizedSectionCache.RECOMMENDED, builder(1));
+        cache.get(USER, PersonalizedSectionCache.PERSONALIZED_DEALS, builder(1));
+        cache.get(OTHER_USER, PersonalizedSectionCache.RECOMMENDED, builder(1));
+
+        cache.onGameOwned(new GameOwnedEvent(USER, 1L));
+        cache.get(USER, PersonalizedSectionCache.RECOMMENDED, builder(2));
+        cache.get(USER, PersonalizedSectionCache.PERSONALIZED_DEALS, builder(2));
+        cache.get(OTHER_USER, PersonalizedSectionCache.RECOMMENDED, builder(2));
+
+        assertThat(builds).hasValue(5);
+    }
+
+    @Test
+    void aGameChangeEvictsTheSectionsItIsInOrCanEnter() {
+        cache.get(USER, PersonalizedSectionCache.RECOMMENDED, builder(1));
+        cache.get(OTHER_USER, PersonalizedSectionCache.RECOMMENDED, builder(2));
+
+        cache.index(game(1).genre("Racing").build());
+        cache.get(USER, PersonalizedSectionCache.RECOMMENDED, builder(1));
+        cache.get(OTHER_USER, PersonalizedSectionCache.RECOMMENDED, builder(2));
+        assertThat(builds).hasValue(3);
+
+        cache.index(game(9).genre("Strategy").build());
+        cache.get(USER, PersonalizedSectionCache.RECOMMENDED, builder(1));
+        cache.get(OTHER_USER, PersonalizedSectionCache.RECOMMENDED, builder(2));
+        assertThat(builds).hasValue(4);
+    }
+
+    private Function<List<String>, List<GameDTO>> builder(long gameId) {
+        return genres -> {
+            builds.incrementAndGet();
+            GameDTO game = new GameDTO();
+            game.setId(gameId);
+            return List.of(game);
+        };
+    }
+}
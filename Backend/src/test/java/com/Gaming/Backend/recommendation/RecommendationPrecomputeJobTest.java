@@ -0,0 +1,75 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.repository.GameCardRepository;
+import com.Gaming.Backend.repository.UserActivityRepository;
+import com.Gaming.Backend.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecommendationPrecomputeJobTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T12:00:00Z"));
+    private final UserActivityRepository userActivityRepository = mock(UserActivityRepository.class);
+    private final PrecomputedSectionStore precomputedSectionStore = mock(PrecomputedSectionStore.class);
+    private final RecommendationPrecomputeJob job = new RecommendationPrecomputeJob(userActivityRepository,
+            mock(GameCardRepository.class), mock(UserProfileStore.class), mock(OwnershipIndex.class),
+            precomputedSectionStore, clock, 30, 1, Duration.ofMinutes(1));
+
+    @BeforeEach
+    void setUp() {
+        job.init();
+        when(userActivityRepository.findUserIdsWithActivityBetween(anyLong(), anyLong(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void holdsTheWatermarkUntilTheHighestIdIsLagOld() {
+        when(userActivityRepository.findMaxId()).thenReturn(100L);
+
+        job.run();
+        clock.advance(Duration.ofSeconds(30));
+        job.run();
+
+        verify(userActivityRepository, never()).findUserIdsWithActivityBetween(anyLong(), anyLong(), any());
+        verify(precomputedSectionStore, never()).advance(anyString(), anyLong());
+    }
+
+    @Test
+    void advancesToTheIdSeenALagAgoNotTheCurrentMax() {
+        when(userActivityRepository.findMaxId()).thenReturn(100L);
+        job.run();
+        clock.advance(Duration.ofMinutes(1));
+        when(userActivityRepository.findMaxId()).thenReturn(150L);
+
+        job.run();
+
+        LocalDateTime since = LocalDateTime.parse("2026-01-31T12:01:00");
+        verify(userActivityRepository).findUserIdsWithActivityBetween(0L, 100L, since);
+        verify(precomputedSectionStore).advance(RecommendationPrecomputeJob.JOB_NAME, 100L);
+    }
+
+    @Test
+    void skipsRunsWithNothingPastTheWatermark() {
+        when(precomputedSectionStore.watermark(RecommendationPrecomputeJob.JOB_NAME)).thenReturn(100L);
+        when(userActivityRepository.findMaxId()).thenReturn(100L);
+        job.run();
+        clock.advance(Duration.ofMinutes(2));
+
+        job.run();
+
+        verify(userActivityRepository, never()).findUserIdsWithActivityBetween(anyLong(), anyLong(), any());
+        verify(precomputedSectionStore, never()).advance(anyString(), anyLong());
+    }
+}
@@ -0,0 +1,54 @@
+package com.Gaming.Backend.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+
+    @Test
+    void countsExactlyWhileUnderCapacity() {
+        SpaceSaving sketch = new SpaceSaving(4);
+        sketch.add(1, 5);
+        sketch.add(2, 1);
+        sketch.add(1, 2);
+
+        assertThat(counts(sketch)).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 7L, 2L, 1L));
+        for (int slot = 0; slot < sketch.size(); slot++) {
+            assertThat(sketch.guaranteedAt(slot)).isEqualTo(sketch.countAt(slot));
+        }
+    }
+
+    @Test
+    void keepsHeavyHittersAndBoundsTheirCountsWhenFull() {
+        SpaceSaving sketch = new SpaceSaving(3);
+        long total = 0;
+        for (int round = 0; round < 100; round++) {
+            sketch.add(1, 10);
+            sketch.add(100 + round, 1); // A long tail of keys seen once
+            total += 11;
+        }
+
+        Map<Long, Long> counts = counts(sketch);
+        assertThat(sketch.size()).isEqualTo(3);
+        assertThat(counts).containsKey(1L);
+        for (int slot = 0; slot < sketch.size(); slot++) {
+            long key = sketch.keyAt(slot);
+            long trueCount = key == 1 ? 1000 : 1;
+            assertThat(sketch.guaranteedAt(slot)).isLessThanOrEqualTo(trueCount);
+            assertThat(sketch.countAt(slot)).isGreaterThanOrEqualTo(trueCount)
+                    .isLessThanOrEqualTo(trueCount + total / 3);
+        }
+    }
+
+    private static Map<Long, Long> counts(SpaceSaving sketch) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (int slot = 0; slot < sketch.size(); slot++) {
+            counts.put(sketch.keyAt(slot), sketch.countAt(slot));
+        }
+        return counts;
+    }
+}
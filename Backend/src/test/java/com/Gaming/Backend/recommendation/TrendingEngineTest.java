@@ -0,0 +1,83 @@
+package com.Gaming.Backend.recommendation;
+
+import com.Gaming.Backend.catalog.CatalogVersions;
+import com.Gaming.Backend.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingEngineTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T12:30:00Z"));
+
+    private TrendingEngine engine(Duration window, Duration bucket, Duration halfLife) {
+        TrendingEngine engine = new TrendingEngine(null, null, null, null, new CatalogVersions(), clock,
+                window, bucket, halfLife, 100, 10);
+        engine.init();
+        return engine;
+    }
+
+    @Test
+    void dropsEventsOutsideTheWindow() {
+        TrendingEngine engine = engine(Duration.ofDays(7), Duration.ofHours(1), Duration.ofDays(2));
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        engine.record(1L, 100, now.minusDays(8));
+        engine.record(2L, 100, now.plusDays(1));
+        engine.record(3L, 1, now.minusDays(6));
+        engine.publish();
+
+        assertThat(engine.top(10)).containsExactly(3L);
+    }
+
+    @Test
+    void decaysOlderBucketsByTheirAge() {
+        TrendingEngine engine = engine(Duration.ofDays(7), Duration.ofHours(1), Duration.ofDays(2));
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        // Six days is three half-lives: 40 counts as 5
+        engine.record(1L, 40, now.minusDays(6));
+        engine.record(2L, 6, now);
+        engine.record(3L, 4, now);
+        engine.publish();
+
+        assertThat(engine.top(10)).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void forgetsEventsOnceTheirBucketLeavesTheWindow() {
+        TrendingEngine engine = engine(Duration.ofHours(4), Duration.ofHours(1), Duration.ofDays(1));
+
+        engine.record(1L, 5, null);
+        engine.publish();
+        assertThat(engine.top(10)).containsExactly(1L);
+
+        clock.advance(Duration.ofHours(3));
+        engine.publish();
+        assertThat(engine.top(10)).containsExactly(1L);
+
+        clock.advance(Duration.ofHours(1));
+        engine.record(2L, 1, null);
+        engine.publish();
+
+        assertThat(engine.top(10)).containsExactly(2L);
+    }
+
+    @Test
+    void reusesASlotForTheBucketThatReplacesIt() {
+        TrendingEngine engine = engine(Duration.ofHours(4), Duration.ofHours(1), Duration.ofDays(1));
+        engine.record(1L, 5, null);
+
+        // Four buckets later the same slot holds the new bucket; the old one's late events are dropped
+        clock.advance(Duration.ofHours(4));
+        engine.record(2L, 1, null);
+        engine.record(1L, 5, LocalDateTime.now(clock).minusHours(4));
+        engine.publish();
+
+        assertThat(engine.top(10)).containsExactly(2L);
+    }
+}
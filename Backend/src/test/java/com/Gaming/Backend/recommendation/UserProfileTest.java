@@ -0,0 +1,63 @@
+package com.Gaming.Backend.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class UserProfileTest {
+
+    private static final long HALF_LIFE = 1000;
+    private static final double DECAY_PER_MILLI = Math.log(2) / HALF_LIFE;
+
+    @Test
+    void decaysOlderGenreScoresWhenANewerInteractionArrives() {
+        UserProfile profile = new UserProfile(DECAY_PER_MILLI, 5);
+
+        profile.addGenre("Action", 1.0, 0);
+        profile.addGenre("Action", 1.0, 0);
+        profile.addGenre("RPG", 1.5, HALF_LIFE);
+
+        assertThat(profile.topGenres(5)).containsExactly("RPG", "Action");
+        assertThat(profile.topGenreScores(5).get("Action")).isCloseTo(1.0, within(1e-9));
+        assertThat(profile.topGenreScores(5).get("RPG")).isCloseTo(1.5, within(1e-9));
+    }
+
+    @Test
+    void decaysALateInteractionToTheLatestScoringTime() {
+        UserProfile profile = new UserProfile(DECAY_PER_MILLI, 5);
+
+        profile.addGenre("Action", 1.0, 2 * HALF_LIFE);
+        profile.addGenre("RPG", 1.0, 0);
+
+        assertThat(profile.topGenreScores(5).get("RPG")).isCloseTo(0.25, within(1e-9));
+    }
+
+    @Test
+    void breaksGenreTiesByNameAndHonoursTheLimit() {
+        UserProfile profile = new UserProfile(DECAY_PER_MILLI, 5);
+        profile.addGenre("Strategy", 1.0, 0);
+        profile.addGenre("Puzzle", 1.0, 0);
+        profile.addGenre("Action", 0.5, 0);
+
+        assertThat(profile.topGenres(2)).containsExactly("Puzzle", "Strategy");
+    }
+
+    @Test
+    void keepsRecentGamesNewestFirstWithoutDuplicates() {
+        UserProfile profile = new UserProfile(DECAY_PER_MILLI, 3);
+
+        profile.addRecent(1);
+        profile.addRecent(2);
+        profile.addRecent(3);
+        profile.addRecent(2);
+        assertThat(profile.recentGameIds(10)).containsExactly(2L, 3L, 1L);
+
+        profile.addRecent(4);
+        assertThat(profile.recentGameIds(10)).containsExactly(4L, 2L, 3L);
+
+        profile.addRecent(3);
+        assertThat(profile.recentGameIds(10)).containsExactly(3L, 4L, 2L);
+        assertThat(profile.recentGameIds(2)).containsExactly(3L, 4L);
+    }
+}
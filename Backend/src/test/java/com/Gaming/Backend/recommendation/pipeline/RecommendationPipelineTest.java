@@ -0,0 +1,233 @@
+package com.Gaming.Backend.recommendation.pipeline;
+
+import com.Gaming.Backend.dto.GameDTO;
+import com.Gaming.Backend.mapper.GameMapper;
+import com.Gaming.Backend.repository.GameCardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.Gaming.Backend.support.GameFixtures.card;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@Timeout(10)
+class RecommendationPipelineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private RecommendationPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void aSlowSourceIsDroppedAtTheDeadline() {
+        pipeline = pipeline(Duration.ofMillis(100), 4);
+        SectionPipeline section = SectionPipeline.named("budgeted")
+                .tier(CandidateSource.of("fast", (request, limit) -> List.of(card(1))),
+                        CandidateSource.of("slow", (request, limit) -> {
+                            await(release);
+                            return List.of(card(2));
+                        }))
+                .build();
+
+        List<GameDTO> games = pipeline.run(section, RecommendationRequest.general(2));
+
+        assertThat(games).extracting(GameDTO::getId).containsExactly(1L);
+        assertThat(meterRegistry.counter("recommendation.pipeline.source.timeouts",
+                "section", "budgeted", "source", "slow").count()).isEqualTo(1);
+    }
+
+    @Test
+    void laterTiersRunOnlyWhileTheSectionIsShort() {
+        pipeline = pipeline(Duration.ofSeconds(5), 2);
+        AtomicInteger fallbackFetches = new AtomicInteger();
+        CandidateSource fallback = CandidateSource.of("fallback", (request, limit) -> {
+            fallbackFetches.incrementAndGet();
+            return List.of(card(3), card(4));
+        });
+        SectionPipeline section = SectionPipeline.named("tiered")
+                .tier(CandidateSource.of("primary", (request, limit) -> List.of(card(1), card(2))))
+                .tier(fallback)
+                .build();
+
+        assertThat(pipeline.run(section, RecommendationRequest.general(2)))
+                .extracting(GameDTO::getId).containsExactly(1L, 2L);
+        assertThat(fallbackFetches).hasValue(0);
+
+        assertThat(pipeline.run(section, RecommendationRequest.general(3)))
+                .extracting(GameDTO::getId).containsExactly(1L, 2L, 3L);
+        assertThat(fallbackFetches).hasValue(1);
+    }
+
+    @Test
+    void aSectionOutOfBudgetSkipsItsLaterTiers() {
+        pipeline = pipeline(Duration.ofMillis(100), 2);
+        AtomicInteger fallbackFetches = new AtomicInteger();
+        SectionPipeline section = SectionPipeline.named("late")
+                .tier(CandidateSource.of("slow", (request, limit) -> {
+                    await(release);
+                    return List.of(card(1));
+                }))
+                .tier(CandidateSource.of("fallback", (request, limit) -> {
+                    fallbackFetches.incrementAndGet();
+                    return List.of(card(2));
+                }))
+                .build();
+
+        assertThat(pipeline.run(section, RecommendationRequest.general(2))).isEmpty();
+        assertThat(fallbackFetches).hasValue(0);
+    }
+
+    @Test
+    void unbudgetedSectionsWaitForEverySource() {
+        // Any budgeted source would miss a deadline this close
+        pipeline = pipeline(Duration.ofNanos(1), 2);
+        SectionPipeline section = SectionPipeline.named("background").unbudgeted()
+                .tier(CandidateSource.of("first", (request, limit) -> List.of(card(1))),
+                        CandidateSource.of("second", (request, limit) -> List.of(card(2))))
+                .tier(CandidateSource.of("fallback", (request, limit) -> List.of(card(3))))
+                .build();
+
+        List<GameDTO> games = pipeline.run(section, RecommendationRequest.general(3));
+
+        assertThat(games).extracting(GameDTO::getId).containsExactly(1L, 2L, 3L);
+        assertThat(meterRegistry.find("recommendation.pipeline.source.timeouts").counters()).isEmpty();
+    }
+
+    @Test
+    void aSourceWithoutAConnectionBeforeTheDeadlineIsDroppedUnqueried() throws Exception {
+        pipeline = pipeline(Duration.ofMillis(100), 1);
+        CountDownLatch holding = new CountDownLatch(1);
+        AtomicInteger waitingFetches = new AtomicInteger();
+        SectionPipeline holder = SectionPipeline.named("holder").unbudgeted()
+                .tier(CandidateSource.of("holding", (request, limit) -> {
+                    holding.countDown();
+                    await(release);
+                    return List.of(card(1));
+                }))
+                .build();
+        SectionPipeline waiter = SectionPipeline.named("waiter")
+                .tier(CandidateSource.of("waiting", (request, limit) -> {
+                    waitingFetches.incrementAndGet();
+                    return List.of(card(2));
+                }))
+                .build();
+
+        // Another section, of this or another request, holds the only connection
+        CompletableFuture<List<GameDTO>> held = CompletableFuture.supplyAsync(
+                () -> pipeline.run(holder, RecommendationRequest.general(5)));
+        holding.await();
+
+        List<GameDTO> games = pipeline.run(waiter, RecommendationRequest.general(5));
+
+        assertThat(games).isEmpty();
+        assertThat(waitingFetches).hasValue(0);
+        assertThat(meterRegistry.counter("recommendation.pipeline.source.timeouts",
+                "section", "waiter", "source", "waiting").count()).isEqualTo(1);
+        release.countDown();
+        assertThat(held.get()).extracting(GameDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void neverQueriesWithMoreConnectionsThanItHas() {
+        pipeline = pipeline(Duration.ofSeconds(5), 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        // Queries meet in pairs, so a third one let in would run alongside them
+        CyclicBarrier pairs = new CyclicBarrier(2);
+        CandidateSource[] sources = new CandidateSource[6];
+        for (int i = 0; i < sources.length; i++) {
+            long id = i + 1;
+            sources[i] = CandidateSource.of("source" + id, (request, limit) -> {
+                mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                await(pairs);
+                running.decrementAndGet();
+                return List.of(card(id));
+            });
+        }
+        SectionPipeline section = SectionPipeline.named("wide").tier(sources).build();
+
+        List<GameDTO> games = pipeline.run(section, RecommendationRequest.general(6));
+
+        assertThat(games).hasSize(6);
+        assertThat(mostRunning).hasValue(2);
+    }
+
+    @Test
+    void budgetedQueriesTimeOutSoonAfterTheDeadline() {
+        pipeline = pipeline(Duration.ofMillis(300), 2);
+        SectionPipeline section = SectionPipeline.named("budgeted")
+                .tier(CandidateSource.of("source", (request, limit) -> List.of(card(1))))
+                .build();
+
+        pipeline.run(section, RecommendationRequest.general(1));
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definitions.capture());
+        assertThat(definitions.getAllValues()).allSatisfy(definition -> {
+            assertThat(definition.isReadOnly()).isTrue();
+            assertThat(definition.getTimeout()).isBetween(1, 2);
+        });
+    }
+
+    @Test
+    void unbudgetedQueriesRunAsLongAsTheyTake() {
+        pipeline = pipeline(Duration.ofMillis(300), 2);
+        SectionPipeline section = SectionPipeline.named("background").unbudgeted()
+                .tier(CandidateSource.of("source", (request, limit) -> List.of(card(1))))
+                .build();
+
+        pipeline.run(section, RecommendationRequest.general(1));
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definitions.capture());
+        assertThat(definitions.getAllValues())
+                .allSatisfy(definition -> assertThat(definition.getTimeout()).isEqualTo(TransactionDefinition.TIMEOUT_DEFAULT));
+    }
+
+    private RecommendationPipeline pipeline(Duration budget, int connections) {
+        RecommendationPipeline pipeline = new RecommendationPipeline(mock(GameCardRepository.class), new GameMapper(),
+                meterRegistry, new MockEnvironment(), transactionManager, budget, connections, Duration.ofSeconds(1));
+        pipeline.init();
+        return pipeline;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException | BrokenBarrierException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.Gaming.Backend.service;
+
+import com.Gaming.Backend.catalog.CatalogCacheInvalidator;
+import com.Gaming.Backend.catalog.CatalogVersions;
+import com.Gaming.Backend.config.CacheConfig;
+import com.Gaming.Backend.dto.game.GameDTO;
+import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.exception.BadRequestException;
+import com.Gaming.Backend.mapper.GameMapper;
+import com.Gaming.Backend.repository.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static com.Gaming.Backend.support.GameFixtures.game;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameServiceTest {
+
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+            CacheConfig.GAME_DETAILS, CacheConfig.FEATURED_GAMES, CacheConfig.GAMES_ON_SALE);
+    private final CatalogCacheInvalidator invalidator = new CatalogCacheInvalidator(cacheManager);
+    private final CatalogVersions versions = new CatalogVersions();
+    private final GameService gameService = new GameService(gameRepository, null, new GameMapper(),
+            null, null, null, null, null, null, invalidator, versions, cacheManager);
+
+    private final Game original = game(1).title("Original").build();
+    private final Game updated = game(1).title("Updated").build();
+
+    @BeforeEach
+    void setUp() {
+        versions.clear();
+        commit(original);
+    }
+
+    @Test
+    void cachesLoadedDetails() {
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(original));
+
+        gameService.getGameDetails(1L);
+        gameService.getGameDetails(1L);
+
+        verify(gameRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void detailsLoadedAcrossAnEvictionAreNotCached() {
+        when(gameRepository.findById(1L)).thenAnswer(invocation -> {
+            invalidator.index(original); // Evicted while the load is in flight
+            return Optional.of(original);
+        });
+
+        gameService.getGameDetails(1L);
+        gameService.getGameDetails(1L);
+
+        verify(gameRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void anUpdateDuringALoadKeepsTheOldTagWithTheOldDetails() {
+        String before = versions.gameETag(1L);
+        // The read sees the row as it was before the update, which commits before the read is cached
+        when(gameRepository.findById(1L)).thenAnswer(invocation -> {
+            commit(updated);
+            return Optional.of(original);
+        });
+
+        GameService.GameDetails stale = gameService.getGameDetails(1L);
+
+        assertThat(stale.game().getTitle()).isEqualTo("Original");
+        assertThat(stale.etag()).isEqualTo(before);
+
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(updated));
+        GameService.GameDetails fresh = gameService.getGameDetails(1L);
+
+        assertThat(fresh.game().getTitle()).isEqualTo("Updated");
+        assertThat(fresh.etag()).isEqualTo(versions.gameETag(1L)).isNotEqualTo(before);
+    }
+
+    @Test
+    void returnsGamesInTheRequestedOrder() {
+        stubGames(original, game(2).build(), game(3).build());
+
+        List<GameDTO> games = gameService.getGamesByIds(List.of(3L, 1L, 2L));
+
+        assertThat(games).extracting(GameDTO::getId).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void returnsARepeatedGameOnceAndLoadsItOnce() {
+        stubGames(original, game(2).build());
+
+        List<GameDTO> games = gameService.getGamesByIds(Arrays.asList(2L, 1L, 2L, null, 1L));
+
+        assertThat(games).extracting(GameDTO::getId).containsExactly(2L, 1L);
+        verify(gameRepository).findAllById(List.of(2L, 1L));
+    }
+
+    @Test
+    void leavesOutUnknownGames() {
+        stubGames(original);
+
+        List<GameDTO> games = gameService.getGamesByIds(List.of(9L, 1L));
+
+        assertThat(games).extracting(GameDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void loadsOnlyTheGamesNotCached() {
+        stubGames(original, game(2).build());
+        gameService.getGamesByIds(List.of(1L));
+
+        List<GameDTO> games = gameService.getGamesByIds(List.of(2L, 1L));
+
+        assertThat(games).extracting(GameDTO::getId).containsExactly(2L, 1L);
+        verify(gameRepository).findAllById(List.of(2L));
+    }
+
+    @Test
+    void rejectsMoreGamesThanTheBatchLimit() {
+        List<Long> ids = LongStream.rangeClosed(1, GameService.MAX_BATCH_IDS + 1).boxed().toList();
+
+        assertThatThrownBy(() -> gameService.getGamesByIds(ids)).isInstanceOf(BadRequestException.class);
+        verify(gameRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void acceptsABatchLimitOfDistinctGames() {
+        stubGames(original);
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, GameService.MAX_BATCH_IDS).boxed().toList());
+        ids.addAll(ids);
+
+        assertThat(gameService.getGamesByIds(ids)).extracting(GameDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void gamesLoadedAcrossAnEvictionAreNotCached() {
+        when(gameRepository.findAllById(any())).thenAnswer(invocation -> {
+            invalidator.index(original); // Evicted while the load is in flight
+            return List.of(original);
+        });
+
+        gameService.getGamesByIds(List.of(1L));
+        gameService.getGamesByIds(List.of(1L));
+
+        verify(gameRepository, times(2)).findAllById(List.of(1L));
+    }
+
+    /**
+     * What the catalog index manager does once a game change commits: invalidate, then move versions
+     */
+    private void commit(Game game) {
+        invalidator.index(game);
+        versions.index(game);
+    }
+
+    /**
+     * The games findAllById finds, in no particular order, as the database returns them
+     */
+    @SuppressWarnings("unchecked")
+    private void stubGames(Game... games) {
+        Map<Long, Game> byId = new HashMap<>();
+        for (Game game : games) {
+            byId.put(game.getId(), game);
+        }
+        when(gameRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Game> found = new ArrayList<>();
+            ((Iterable<Long>) invocation.getArgument(0)).forEach(id -> {
+                if (byId.containsKey(id)) {
+                    found.add(0, byId.get(id));
+                }
+            });
+            return found;
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.Gaming.Backend.support;
+
+import com.Gaming.Backend.entity.Game;
+import com.Gaming.Backend.entity.Publisher;
+import com.Gaming.Backend.repository.projection.GameCardView;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Games for unit tests: an active game titled "Game {id}" priced 10.0, with only the fields a test sets changed
+ * Cards are the same game as the pipeline reads it
+ */
+public final class GameFixtures {
+
+    private GameFixtures() {
+    }
+
+    public static Builder game(long id) {
+        return new Builder(id);
+    }
+
+    public static GameCardView card(long id) {
+        return new GameCardView(id, "Game " + id, 10.0, null, null, null, null, null, null, null,
+                false, false, false, null, true);
+    }
+
+    public static final class Builder {
+
+        private final Game game = new Game();
+
+        private Builder(long id) {
+            game.setId(id);
+            game.setTitle("Game " + id);
+            game.setPrice(10.0);
+        }
+
+        public Builder title(String title) {
+            game.setTitle(title);
+            return this;
+        }
+
+        public Builder description(String description) {
+            game.setDescription(description);
+            return this;
+        }
+
+        public Builder genre(String genre) {
+            game.setGenre(genre);
+            return this;
+        }
+
+        public Builder tags(String... tags) {
+            game.setTags(new HashSet<>(List.of(tags)));
+            return this;
+        }
+
+        public Builder publisher(String name) {
+            Publisher publisher = new Publisher();
+            publisher.setName(name);
+            game.setPublisher(publisher);
+            return this;
+        }
+
+        public Builder price(double price) {
+            game.setPrice(price);
+            return this;
+        }
+
+        public Builder discount(double discount) {
+            game.setDiscount(discount);
+            return this;
+        }
+
+        public Builder downloads(int downloads) {
+            game.setDownloads(downloads);
+            return this;
+        }
+
+        public Builder inactive() {
+            game.setActive(false);
+            return this;
+        }
+
+        public Game build() {
+            return game;
+        }
+    }
+}
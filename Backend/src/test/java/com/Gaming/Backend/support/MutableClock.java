@@ -0,0 +1,44 @@
+package com.Gaming.Backend.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Clock for unit tests that only moves when the test advances it
+ */
+public final class MutableClock extends Clock {
+
+    private volatile Instant instant;
+    private final ZoneId zone;
+
+    public MutableClock(Instant instant) {
+        this(instant, ZoneOffset.UTC);
+    }
+
+    private MutableClock(Instant instant, ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+
+    public void advance(Duration duration) {
+        instant = instant.plus(duration);
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new MutableClock(instant, zone);
+    }
+}